@@ -98,6 +98,8 @@ public class Constants {
 
   public static final String ZTABLE_LOCKS = "/table_locks";
 
+  public static final String ZTABLET_LOCATION_CHANGES = "/tablet_location_changes";
+
   public static final String BULK_PREFIX = "b-";
   public static final String BULK_RENAME_FILE = "renames.json";
   public static final String BULK_LOAD_MAPPING = "loadmap.json";
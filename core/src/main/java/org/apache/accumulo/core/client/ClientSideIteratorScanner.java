@@ -32,6 +32,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.accumulo.core.Constants;
 import org.apache.accumulo.core.client.sample.SamplerConfiguration;
+import org.apache.accumulo.core.clientImpl.LimitedIterator;
 import org.apache.accumulo.core.clientImpl.ScannerOptions;
 import org.apache.accumulo.core.conf.IterConfigUtil;
 import org.apache.accumulo.core.conf.IterLoad;
@@ -75,6 +76,7 @@ public class ClientSideIteratorScanner extends ScannerOptions implements Scanner
   private Range range;
   private boolean isolated = false;
   private long readaheadThreshold = Constants.SCANNER_DEFAULT_READAHEAD_THRESHOLD;
+  private long limit = Long.MAX_VALUE;
   private SamplerConfiguration iteratorSamplerConfig;
 
   private class ClientSideIteratorEnvironment implements IteratorEnvironment {
@@ -270,7 +272,8 @@ public class ClientSideIteratorScanner extends ScannerOptions implements Scanner
       throw new RuntimeException(e);
     }
 
-    return new IteratorAdapter(skvi);
+    // the limit applies to what the client side iterators return, not to what they read
+    return LimitedIterator.limit(new IteratorAdapter(skvi), limit);
   }
 
   @Override
@@ -322,6 +325,19 @@ public class ClientSideIteratorScanner extends ScannerOptions implements Scanner
     this.readaheadThreshold = batches;
   }
 
+  @Override
+  public void setLimit(long entries) {
+    if (entries <= 0) {
+      throw new IllegalArgumentException("limit must be greater than zero");
+    }
+    this.limit = entries;
+  }
+
+  @Override
+  public long getLimit() {
+    return limit;
+  }
+
   private SamplerConfiguration getIteratorSamplerConfigurationInternal() {
     SamplerConfiguration scannerSamplerConfig = getSamplerConfiguration();
     if (scannerSamplerConfig != null) {
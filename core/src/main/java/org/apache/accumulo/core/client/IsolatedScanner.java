@@ -26,6 +26,7 @@ import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.accumulo.core.clientImpl.IsolationException;
+import org.apache.accumulo.core.clientImpl.LimitedIterator;
 import org.apache.accumulo.core.clientImpl.ScannerOptions;
 import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Key;
@@ -220,6 +221,7 @@ public class IsolatedScanner extends ScannerOptions implements Scanner {
   private int batchSize;
   private long readaheadThreshold;
   private RowBufferFactory bufferFactory;
+  private long limit = Long.MAX_VALUE;
 
   public IsolatedScanner(Scanner scanner) {
     this(scanner, new MemoryRowBufferFactory());
@@ -237,8 +239,9 @@ public class IsolatedScanner extends ScannerOptions implements Scanner {
 
   @Override
   public Iterator<Entry<Key,Value>> iterator() {
-    return new RowBufferingIterator(scanner, this, range, timeOut, batchSize, readaheadThreshold,
-        bufferFactory);
+    // the limit is applied here because rows may be read from the wrapped scanner more than once
+    return LimitedIterator.limit(new RowBufferingIterator(scanner, this, range, timeOut, batchSize,
+        readaheadThreshold, bufferFactory), limit);
   }
 
   @Override
@@ -286,6 +289,19 @@ public class IsolatedScanner extends ScannerOptions implements Scanner {
     this.readaheadThreshold = batches;
   }
 
+  @Override
+  public void setLimit(long entries) {
+    if (entries <= 0) {
+      throw new IllegalArgumentException("limit must be greater than zero");
+    }
+    this.limit = entries;
+  }
+
+  @Override
+  public long getLimit() {
+    return limit;
+  }
+
   @Override
   public void close() {
     scanner.close();
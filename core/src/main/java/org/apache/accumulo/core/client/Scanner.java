@@ -18,7 +18,14 @@
  */
 package org.apache.accumulo.core.client;
 
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
 
 /**
  * Scans a table over a given range.
@@ -91,4 +98,46 @@ public interface Scanner extends ScannerBase {
    * @since 1.6.0
    */
   void setReadaheadThreshold(long batches);
+
+  /**
+   * Sets the maximum number of Key/Value pairs this scanner will return. Tablet servers are never
+   * asked for more Key/Value pairs than the scan may still return and the scan session is closed
+   * as soon as the limit is reached, so a small limit avoids reading and transferring data that
+   * would be discarded. By default there is no limit.
+   *
+   * @param entries
+   *          the maximum number of Key/Value pairs to return, must be positive
+   * @since 2.1.0
+   */
+  default void setLimit(long entries) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Returns the maximum number of Key/Value pairs this scanner will return.
+   *
+   * @return the limit configured for this scanner, or {@link Long#MAX_VALUE} when there is no
+   *         limit
+   * @since 2.1.0
+   */
+  default long getLimit() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Returns a publisher that reads the range of this scanner as a stream of batches, without
+   * blocking the threads that subscribe to it or request data from it. Each batch is read from a
+   * tablet server only after a subscriber has requested it, and each subscriber gets its own
+   * independent scan using the configuration this scanner had when this method was called. Batches
+   * are read and delivered to subscribers using the given executor. Cancelling a subscription
+   * closes its scan session on the tablet server.
+   *
+   * @param executor
+   *          executor used to read batches and deliver them to subscribers
+   * @return a publisher of batches of Key/Value pairs in the range of this scanner
+   * @since 2.1.0
+   */
+  default Flow.Publisher<List<Entry<Key,Value>>> publisher(Executor executor) {
+    throw new UnsupportedOperationException();
+  }
 }
@@ -124,6 +124,42 @@ public abstract class ActiveCompaction {
    */
   public abstract long getEntriesWritten();
 
+  /**
+   * @return the estimated number of key/values in the files the compaction is reading from, or 0
+   *         when not known
+   * @since 2.1.0
+   */
+  public long getEntriesToBeCompacted() {
+    return 0;
+  }
+
+  /**
+   * @return the total size in bytes of the files the compaction is reading from, or 0 when not
+   *         known
+   * @since 2.1.0
+   */
+  public long getBytesToBeCompacted() {
+    return 0;
+  }
+
+  /**
+   * @return the estimated fraction of the input the compaction has read, between 0 and 1, or -1
+   *         when not known
+   * @since 2.1.0
+   */
+  public double getProgress() {
+    return -1;
+  }
+
+  /**
+   * @return the estimated number of milliseconds until the compaction finishes, based on the rate
+   *         it has read its input so far, or -1 when not known
+   * @since 2.1.0
+   */
+  public long getEstimatedTimeRemaining() {
+    return -1;
+  }
+
   /**
    * @return the per compaction iterators configured
    */
@@ -31,6 +31,7 @@ import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.dataImpl.TabletIdImpl;
 import org.apache.accumulo.core.dataImpl.thrift.IterInfo;
 import org.apache.accumulo.core.util.HostAndPort;
+import org.apache.accumulo.core.util.compaction.CompactionProgress;
 
 /**
  * @since 1.6.0
@@ -101,6 +102,27 @@ public class ActiveCompactionImpl extends ActiveCompaction {
     return tac.getEntriesWritten();
   }
 
+  @Override
+  public long getEntriesToBeCompacted() {
+    return tac.getEntriesToBeCompacted();
+  }
+
+  @Override
+  public long getBytesToBeCompacted() {
+    return tac.getBytesToBeCompacted();
+  }
+
+  @Override
+  public double getProgress() {
+    return CompactionProgress.getProgress(tac.getEntriesRead(), tac.getEntriesToBeCompacted());
+  }
+
+  @Override
+  public long getEstimatedTimeRemaining() {
+    return CompactionProgress.getEstimatedTimeRemaining(tac.getEntriesRead(),
+        tac.getEntriesToBeCompacted(), tac.getAge());
+  }
+
   @Override
   public List<IteratorSetting> getIterators() {
     ArrayList<IteratorSetting> ret = new ArrayList<>();
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Stops an iterator after a number of elements, for scanners that apply
+ * {@link org.apache.accumulo.core.client.Scanner#setLimit(long)} on the client.
+ */
+public class LimitedIterator<T> implements Iterator<T> {
+
+  private final Iterator<T> source;
+  private long remaining;
+
+  private LimitedIterator(Iterator<T> source, long limit) {
+    this.source = source;
+    this.remaining = limit;
+  }
+
+  /**
+   * @return an iterator over at most limit elements of the source, or the source itself when
+   *         limit is {@link Long#MAX_VALUE}
+   */
+  public static <T> Iterator<T> limit(Iterator<T> source, long limit) {
+    if (limit == Long.MAX_VALUE) {
+      return source;
+    }
+    return new LimitedIterator<>(source, limit);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return remaining > 0 && source.hasNext();
+  }
+
+  @Override
+  public T next() {
+    if (remaining <= 0) {
+      throw new NoSuchElementException();
+    }
+    remaining--;
+    return source.next();
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.accumulo.core.clientImpl.ThriftScanner.ScanState;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.KeyValue;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes the batches of a scan to subscribers. Reads are only done when a subscriber has
+ * outstanding demand and are run on the supplied executor, so no thread calling into the publisher
+ * or subscription ever blocks on a tablet server.
+ */
+class ScanPublisher implements Flow.Publisher<List<Entry<Key,Value>>> {
+
+  private static final Logger log = LoggerFactory.getLogger(ScanPublisher.class);
+
+  private final ClientContext context;
+  private final TableId tableId;
+  private final Authorizations authorizations;
+  private final Range range;
+  private final int size;
+  private final long limit;
+  private final long timeOut;
+  private final ScannerOptions options;
+  private final boolean isolated;
+  private final Executor executor;
+
+  ScanPublisher(ClientContext context, TableId tableId, Authorizations authorizations, Range range,
+      int size, long limit, long timeOut, ScannerOptions options, boolean isolated,
+      Executor executor) {
+    this.context = context;
+    this.tableId = tableId;
+    this.authorizations = authorizations;
+    this.size = size;
+    this.limit = limit;
+    this.timeOut = timeOut;
+    this.options = new ScannerOptions(options);
+    this.isolated = isolated;
+    this.executor = Objects.requireNonNull(executor);
+
+    if (!this.options.fetchedColumns.isEmpty()) {
+      range = range.bound(this.options.fetchedColumns.first(), this.options.fetchedColumns.last());
+    }
+    this.range = range;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super List<Entry<Key,Value>>> subscriber) {
+    Objects.requireNonNull(subscriber);
+    // read ahead is driven by subscriber demand, so the threshold is irrelevant
+    ScanState scanState = new ScanState(context, tableId, authorizations, new Range(range),
+        options.fetchedColumns, size, options.serverSideIteratorList,
+        options.serverSideIteratorOptions, isolated, Long.MAX_VALUE,
+        options.getSamplerConfiguration(), options.batchTimeOut, options.classLoaderContext,
+        options.executionHints);
+    scanState.entriesRemaining = limit;
+    ScanSubscription subscription = new ScanSubscription(scanState, subscriber);
+    subscriber.onSubscribe(subscription);
+  }
+
+  /**
+   * Reads the next batch of a scan.
+   *
+   * @return the batch, which may be empty, or null when the scan is finished
+   */
+  List<KeyValue> readBatch(ScanState scanState) throws Exception {
+    return ThriftScanner.scan(context, scanState, timeOut);
+  }
+
+  /**
+   * Closes the server side session of a scan.
+   */
+  void closeScan(ScanState scanState) throws Exception {
+    ThriftScanner.close(scanState);
+  }
+
+  private class ScanSubscription implements Flow.Subscription {
+
+    private final ScanState scanState;
+    private final Flow.Subscriber<? super List<Entry<Key,Value>>> subscriber;
+    private final AtomicLong demand = new AtomicLong(0);
+    // set by an invalid request and reported by the read loop, so signals are never concurrent
+    private final AtomicReference<Throwable> requestError = new AtomicReference<>();
+    // ensures only one read loop runs for a subscription, which keeps signals ordered
+    private final AtomicBoolean reading = new AtomicBoolean(false);
+    private volatile boolean done = false;
+
+    ScanSubscription(ScanState scanState,
+        Flow.Subscriber<? super List<Entry<Key,Value>>> subscriber) {
+      this.scanState = scanState;
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (done) {
+        return;
+      }
+
+      if (n <= 0) {
+        requestError.compareAndSet(null,
+            new IllegalArgumentException("Requested " + n + " batches"));
+      } else {
+        demand.accumulateAndGet(n, (current, more) -> {
+          long sum = current + more;
+          return sum < 0 ? Long.MAX_VALUE : sum;
+        });
+      }
+      scheduleRead();
+    }
+
+    @Override
+    public void cancel() {
+      if (!done) {
+        done = true;
+        closeScan();
+      }
+    }
+
+    private boolean hasWork() {
+      return !done && (requestError.get() != null || demand.get() > 0);
+    }
+
+    private void scheduleRead() {
+      if (hasWork() && reading.compareAndSet(false, true)) {
+        executor.execute(this::readBatches);
+      }
+    }
+
+    private void readBatches() {
+      try {
+        while (hasWork()) {
+          Throwable error = requestError.get();
+          if (error != null) {
+            fail(error);
+            break;
+          }
+
+          List<KeyValue> batch;
+          synchronized (scanState) {
+            // this is synchronized so its mutually exclusive with closing
+            batch = readBatch(scanState);
+          }
+
+          if (batch == null) {
+            done = true;
+            subscriber.onComplete();
+          } else if (!batch.isEmpty() && !done) {
+            demand.decrementAndGet();
+            subscriber.onNext(Collections.unmodifiableList(batch));
+          }
+        }
+      } catch (Exception e) {
+        fail(e);
+      } finally {
+        reading.set(false);
+      }
+
+      // demand may have arrived after the loop above checked it
+      scheduleRead();
+    }
+
+    private void fail(Throwable error) {
+      if (!done) {
+        done = true;
+        subscriber.onError(error);
+        closeScan();
+      }
+    }
+
+    private void closeScan() {
+      executor.execute(() -> {
+        synchronized (scanState) {
+          try {
+            ScanPublisher.this.closeScan(scanState);
+          } catch (Exception e) {
+            log.debug("Exception when closing scan session", e);
+          }
+        }
+      });
+    }
+  }
+}
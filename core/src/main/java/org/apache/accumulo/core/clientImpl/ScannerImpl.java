@@ -22,8 +22,11 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.accumulo.core.Constants;
@@ -59,6 +62,7 @@ public class ScannerImpl extends ScannerOptions implements Scanner {
   private Range range;
   private boolean isolated = false;
   private long readaheadThreshold = Constants.SCANNER_DEFAULT_READAHEAD_THRESHOLD;
+  private long limit = Long.MAX_VALUE;
 
   boolean closed = false;
 
@@ -151,13 +155,21 @@ public class ScannerImpl extends ScannerOptions implements Scanner {
   public synchronized Iterator<Entry<Key,Value>> iterator() {
     ensureOpen();
     ScannerIterator iter = new ScannerIterator(context, tableId, authorizations, range, size,
-        getTimeout(TimeUnit.SECONDS), this, isolated, readaheadThreshold, new Reporter());
+        limit, getTimeout(TimeUnit.SECONDS), this, isolated, readaheadThreshold, new Reporter());
 
     iters.put(iter, iterCount++);
 
     return iter;
   }
 
+  @Override
+  public synchronized Flow.Publisher<List<Entry<Key,Value>>> publisher(Executor executor) {
+    ensureOpen();
+    checkArgument(executor != null, "executor is null");
+    return new ScanPublisher(context, tableId, authorizations, range, size, limit,
+        getTimeout(TimeUnit.SECONDS), this, isolated, executor);
+  }
+
   @Override
   public Authorizations getAuthorizations() {
     ensureOpen();
@@ -193,6 +205,22 @@ public class ScannerImpl extends ScannerOptions implements Scanner {
     return readaheadThreshold;
   }
 
+  @Override
+  public synchronized void setLimit(long entries) {
+    ensureOpen();
+    if (entries <= 0) {
+      throw new IllegalArgumentException("limit must be greater than zero");
+    }
+
+    limit = entries;
+  }
+
+  @Override
+  public synchronized long getLimit() {
+    ensureOpen();
+    return limit;
+  }
+
   @Override
   public synchronized void close() {
     if (!closed) {
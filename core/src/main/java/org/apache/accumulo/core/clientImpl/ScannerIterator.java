@@ -72,7 +72,7 @@ public class ScannerIterator implements Iterator<Entry<Key,Value>> {
   private boolean closed = false;
 
   ScannerIterator(ClientContext context, TableId tableId, Authorizations authorizations,
-      Range range, int size, long timeOut, ScannerOptions options, boolean isolated,
+      Range range, int size, long limit, long timeOut, ScannerOptions options, boolean isolated,
       long readaheadThreshold, ScannerImpl.Reporter reporter) {
     this.timeOut = timeOut;
     this.readaheadThreshold = readaheadThreshold;
@@ -90,6 +90,7 @@ public class ScannerIterator implements Iterator<Entry<Key,Value>> {
             size, options.serverSideIteratorList, options.serverSideIteratorOptions, isolated,
             readaheadThreshold, options.getSamplerConfiguration(), options.batchTimeOut,
             options.classLoaderContext, options.executionHints);
+    scanState.entriesRemaining = limit;
 
     // If we want to start readahead immediately, don't wait for hasNext to be called
     if (readaheadThreshold == 0L) {
@@ -96,6 +96,12 @@ public class SyncingTabletLocator extends TabletLocator {
     return syncLocator().binRanges(context, ranges, binnedRanges);
   }
 
+  @Override
+  public void prefetch(ClientContext context, List<Range> ranges)
+      throws AccumuloException, AccumuloSecurityException, TableNotFoundException {
+    syncLocator().prefetch(context, ranges);
+  }
+
   @Override
   public void invalidateCache(KeyExtent failedExtent) {
     syncLocator().invalidateCache(failedExtent);
@@ -1842,6 +1842,7 @@ public class TableOperationsImpl extends TableOperationsHelper {
     Map<String,Map<KeyExtent,List<Range>>> binnedRanges = new HashMap<>();
 
     locator.invalidateCache();
+    locator.prefetch(context, rangeList);
 
     Retry retry = Retry.builder().infiniteRetries().retryAfter(100, MILLISECONDS)
         .incrementBy(100, MILLISECONDS).maxWait(2, SECONDS).backOffFactor(1.5)
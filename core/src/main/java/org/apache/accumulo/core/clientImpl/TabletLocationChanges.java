@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.accumulo.core.Constants;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.TServerInstance;
+import org.apache.accumulo.core.util.threads.ThreadPools;
+import org.apache.accumulo.fate.zookeeper.ZooReader;
+import org.apache.accumulo.fate.zookeeper.ZooSession.ZooSessionShutdownException;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.WatchedEvent;
+import org.apache.zookeeper.Watcher;
+import org.apache.zookeeper.Watcher.Event.EventType;
+import org.apache.zookeeper.Watcher.Event.KeeperState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tablet location changes published by the manager in ZooKeeper. Each time the manager sees
+ * migrations complete it overwrites {@link Constants#ZTABLET_LOCATION_CHANGES} with the new
+ * locations of the migrated tablets. Clients that subscribe watch that node and update the
+ * locations in their {@link TabletLocator} caches, so they stop sending to the old tablet server
+ * before a write or scan fails against it.
+ *
+ * <p>
+ * Notifications are only a hint. A client that misses one, or applies one that is already stale,
+ * still finds the right location after a failed request invalidates its cache.
+ */
+public class TabletLocationChanges {
+
+  private static final Logger log = LoggerFactory.getLogger(TabletLocationChanges.class);
+
+  /**
+   * The most changes published at once, keeps the node well under the ZooKeeper size limit.
+   */
+  public static final int MAX_CHANGES = 1000;
+
+  private static final Map<String,ChangeWatcher> subscribed = new HashMap<>();
+  private static ExecutorService updateExecutor = null;
+
+  public static byte[] encode(Map<KeyExtent,TServerInstance> changes) {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(baos)) {
+      out.writeInt(changes.size());
+      for (Entry<KeyExtent,TServerInstance> entry : changes.entrySet()) {
+        entry.getKey().writeTo(out);
+        out.writeUTF(entry.getValue().getHostPortSession());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return baos.toByteArray();
+  }
+
+  public static Map<KeyExtent,TServerInstance> decode(byte[] data) throws IOException {
+    Map<KeyExtent,TServerInstance> changes = new LinkedHashMap<>();
+    if (data == null || data.length == 0) {
+      return changes;
+    }
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        KeyExtent extent = KeyExtent.readFrom(in);
+        changes.put(extent, new TServerInstance(in.readUTF()));
+      }
+    }
+    return changes;
+  }
+
+  /**
+   * Starts watching the tablet location changes of the context's instance, if nothing is already
+   * watching them.
+   */
+  static synchronized void subscribe(ClientContext context) {
+    String instanceId = context.getInstanceID();
+    if (subscribed.containsKey(instanceId)) {
+      return;
+    }
+    if (updateExecutor == null) {
+      updateExecutor = ThreadPools.createFixedThreadPool(1, "tablet location changes");
+    }
+    ChangeWatcher watcher = new ChangeWatcher(instanceId,
+        new ZooReader(context.getZooKeepers(), context.getZooKeepersSessionTimeOut()),
+        context.getZooKeeperRoot() + Constants.ZTABLET_LOCATION_CHANGES);
+    subscribed.put(instanceId, watcher);
+    updateExecutor.execute(() -> watcher.watch(false));
+    log.debug("Subscribed to tablet location changes for instance {}", instanceId);
+  }
+
+  /**
+   * Stops watching the tablet location changes of every instance and stops the update thread. A
+   * later subscribe starts it again.
+   */
+  static synchronized void unsubscribeAll() {
+    subscribed.values().forEach(ChangeWatcher::removeWatches);
+    subscribed.clear();
+    if (updateExecutor != null) {
+      updateExecutor.shutdownNow();
+      updateExecutor = null;
+    }
+  }
+
+  private static synchronized boolean isSubscribed(ChangeWatcher watcher) {
+    return subscribed.get(watcher.instanceId) == watcher;
+  }
+
+  private static synchronized void unsubscribe(ChangeWatcher watcher) {
+    subscribed.remove(watcher.instanceId, watcher);
+  }
+
+  private static synchronized void submit(Runnable task) {
+    // the executor is gone once everything was unsubscribed
+    if (updateExecutor != null) {
+      updateExecutor.execute(task);
+    }
+  }
+
+  private static class ChangeWatcher implements Watcher {
+
+    private final String instanceId;
+    private final ZooReader zooReader;
+    private final String path;
+
+    ChangeWatcher(String instanceId, ZooReader zooReader, String path) {
+      this.instanceId = instanceId;
+      this.zooReader = zooReader;
+      this.path = path;
+    }
+
+    @Override
+    public void process(WatchedEvent event) {
+      if (!isSubscribed(this)) {
+        // let the watch lapse
+        return;
+      }
+
+      // reading from ZooKeeper must not be done on the thread that delivers events
+      if (event.getType() == EventType.NodeCreated
+          || event.getType() == EventType.NodeDataChanged) {
+        submit(() -> watch(true));
+      } else if (event.getType() == EventType.NodeDeleted
+          || event.getState() == KeeperState.Expired) {
+        submit(() -> watch(false));
+      }
+    }
+
+    /**
+     * Sets a watch on the node, and applies its changes if requested.
+     */
+    void watch(boolean apply) {
+      try {
+        byte[] data;
+        try {
+          data = zooReader.getData(path, this);
+        } catch (KeeperException.NoNodeException e) {
+          // nothing was published yet, watch for the node to be created
+          if (zooReader.exists(path, this)) {
+            data = zooReader.getData(path, this);
+          } else {
+            return;
+          }
+        }
+        if (apply) {
+          Map<KeyExtent,TServerInstance> changes = decode(data);
+          TabletLocator.locationsChanged(instanceId, changes);
+          log.trace("Applied {} tablet location changes", changes.size());
+        }
+      } catch (KeeperException | IOException e) {
+        // stop watching, the next locator created for the instance subscribes again
+        log.warn("Failed to watch tablet location changes at {}", path, e);
+        unsubscribe(this);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        unsubscribe(this);
+      }
+    }
+
+    /**
+     * Removes the watches this watcher set, so ZooKeeper stops holding on to it.
+     */
+    void removeWatches() {
+      try {
+        zooReader.removeWatches(path, this);
+      } catch (KeeperException.NoWatcherException | ZooSessionShutdownException e) {
+        // no watch is set, or the session and its watches are already gone
+      } catch (KeeperException e) {
+        log.debug("Failed to remove watches on {}", path, e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
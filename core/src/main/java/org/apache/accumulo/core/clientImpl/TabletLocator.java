@@ -29,6 +29,7 @@ import java.util.Map;
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.conf.ClientProperty;
 import org.apache.accumulo.core.data.Mutation;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.TableId;
@@ -36,6 +37,7 @@ import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.metadata.MetadataLocationObtainer;
 import org.apache.accumulo.core.metadata.MetadataTable;
 import org.apache.accumulo.core.metadata.RootTable;
+import org.apache.accumulo.core.metadata.TServerInstance;
 import org.apache.accumulo.core.singletons.SingletonManager;
 import org.apache.accumulo.core.singletons.SingletonService;
 import org.apache.accumulo.core.util.Interner;
@@ -66,6 +68,14 @@ public abstract class TabletLocator {
       Map<String,Map<KeyExtent,List<Range>>> binnedRanges)
       throws AccumuloException, AccumuloSecurityException, TableNotFoundException;
 
+  /**
+   * Loads the locations of all tablets overlapping the ranges into the cache, using as few metadata
+   * lookups as possible. This is useful to warm the cache before binning many mutations or ranges
+   * that would otherwise each miss the cache. Locators without a cache do nothing.
+   */
+  public void prefetch(ClientContext context, List<Range> ranges)
+      throws AccumuloException, AccumuloSecurityException, TableNotFoundException {}
+
   public abstract void invalidateCache(KeyExtent failedExtent);
 
   public abstract void invalidateCache(Collection<KeyExtent> keySet);
@@ -123,6 +133,7 @@ public abstract class TabletLocator {
 
   static synchronized void disable() {
     clearLocators();
+    TabletLocationChanges.unsubscribeAll();
     enabled = false;
   }
 
@@ -137,7 +148,7 @@ public abstract class TabletLocator {
     LocatorKey key = new LocatorKey(context.getInstanceID(), tableId);
     TabletLocator tl = locators.get(key);
     if (tl == null) {
-      MetadataLocationObtainer mlo = new MetadataLocationObtainer();
+      MetadataLocationObtainer mlo = new MetadataLocationObtainer(context);
 
       if (RootTable.ID.equals(tableId)) {
         tl = new RootTabletLocator(new ZookeeperLockChecker(context));
@@ -149,11 +160,37 @@ public abstract class TabletLocator {
             new ZookeeperLockChecker(context));
       }
       locators.put(key, tl);
+
+      if (ClientProperty.TABLET_LOCATOR_NOTIFICATIONS.getBoolean(context.getProperties())) {
+        TabletLocationChanges.subscribe(context);
+      }
     }
 
     return tl;
   }
 
+  /**
+   * Applies tablet location changes published for an instance to the locators that already exist
+   * for it.
+   */
+  static void locationsChanged(String instanceId, Map<KeyExtent,TServerInstance> changes) {
+    Map<KeyExtent,TabletLocatorImpl> targets = new HashMap<>();
+    synchronized (TabletLocator.class) {
+      for (KeyExtent extent : changes.keySet()) {
+        TabletLocator tl = locators.get(new LocatorKey(instanceId, extent.tableId()));
+        if (tl instanceof TabletLocatorImpl) {
+          targets.put(extent, (TabletLocatorImpl) tl);
+        }
+      }
+    }
+
+    // apply outside the lock, locators may need to check tablet server locks
+    targets.forEach((extent, tl) -> {
+      TServerInstance location = changes.get(extent);
+      tl.locationChanged(extent, location.getHostPort(), location.getSession());
+    });
+  }
+
   static {
     SingletonManager.register(new SingletonService() {
 
@@ -31,11 +31,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.SortedMap;
-import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
@@ -46,6 +46,7 @@ import org.apache.accumulo.core.data.PartialKey;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection;
 import org.apache.accumulo.core.util.OpTimer;
 import org.apache.accumulo.core.util.Pair;
 import org.apache.accumulo.core.util.TextUtil;
@@ -54,8 +55,6 @@ import org.apache.hadoop.io.WritableComparator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-
 public class TabletLocatorImpl extends TabletLocator {
 
   private static final Logger log = LoggerFactory.getLogger(TabletLocatorImpl.class);
@@ -77,15 +76,18 @@ public class TabletLocatorImpl extends TabletLocator {
 
   protected TableId tableId;
   protected TabletLocator parent;
-  protected TreeMap<Text,TabletLocation> metaCache = new TreeMap<>(END_ROW_COMPARATOR);
+  // Reads of the cache do not lock, so that many threads can bin mutations and ranges at once. All
+  // changes to the cache are made while holding wLock. Changes remove overlapping entries before
+  // adding new ones, so a concurrent read sees either the old or the new location of a row.
+  protected final ConcurrentSkipListMap<Text,TabletLocation> metaCache =
+      new ConcurrentSkipListMap<>(END_ROW_COMPARATOR);
   protected TabletLocationObtainer locationObtainer;
   private TabletServerLockChecker lockChecker;
   protected Text lastTabletRow;
 
-  private TreeSet<KeyExtent> badExtents = new TreeSet<>();
-  private ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
-  private final Lock rLock = rwLock.readLock();
-  private final Lock wLock = rwLock.writeLock();
+  // invalidated extents are queued here without locking and looked up together on the next use
+  private final ConcurrentSkipListSet<KeyExtent> badExtents = new ConcurrentSkipListSet<>();
+  private final ReentrantLock wLock = new ReentrantLock();
 
   public interface TabletLocationObtainer {
     /**
@@ -172,26 +174,21 @@ public class TabletLocatorImpl extends TabletLocator {
 
     LockCheckerSession lcSession = new LockCheckerSession();
 
-    rLock.lock();
-    try {
-      processInvalidated(context, lcSession);
+    processInvalidated(context, lcSession);
 
-      // for this to be efficient rows need to be in sorted order, but always sorting is slow...
-      // therefore only sort the
-      // stuff not in the cache.... it is most efficient to pass _locateTablet rows in sorted order
+    // for this to be efficient rows need to be in sorted order, but always sorting is slow...
+    // therefore only sort the
+    // stuff not in the cache.... it is most efficient to pass _locateTablet rows in sorted order
 
-      // For this to be efficient, need to avoid fine grained synchronization and fine grained
-      // logging.
-      // Therefore methods called by this are not synchronized and should not log.
+    // For this to be efficient, need to avoid fine grained synchronization and fine grained
+    // logging.
+    // Therefore methods called by this are not synchronized and should not log.
 
-      for (T mutation : mutations) {
-        row.set(mutation.getRow());
-        TabletLocation tl = locateTabletInCache(row);
-        if (tl == null || !addMutation(binnedMutations, mutation, tl, lcSession))
-          notInCache.add(mutation);
-      }
-    } finally {
-      rLock.unlock();
+    for (T mutation : mutations) {
+      row.set(mutation.getRow());
+      TabletLocation tl = locateTabletInCache(row);
+      if (tl == null || !addMutation(binnedMutations, mutation, tl, lcSession))
+        notInCache.add(mutation);
     }
 
     if (!notInCache.isEmpty()) {
@@ -341,20 +338,14 @@ public class TabletLocatorImpl extends TabletLocator {
 
     LockCheckerSession lcSession = new LockCheckerSession();
 
-    List<Range> failures;
-    rLock.lock();
-    try {
-      processInvalidated(context, lcSession);
+    processInvalidated(context, lcSession);
 
-      // for this to be optimal, need to look ranges up in sorted order when
-      // ranges are not present in cache... however do not want to always
-      // sort ranges... therefore try binning ranges using only the cache
-      // and sort whatever fails and retry
+    // for this to be optimal, need to look ranges up in sorted order when
+    // ranges are not present in cache... however do not want to always
+    // sort ranges... therefore try binning ranges using only the cache
+    // and sort whatever fails and retry
 
-      failures = binRanges(context, ranges, binnedRanges, true, lcSession);
-    } finally {
-      rLock.unlock();
-    }
+    List<Range> failures = binRanges(context, ranges, binnedRanges, true, lcSession);
 
     if (!failures.isEmpty()) {
       // sort failures by range start key
@@ -381,24 +372,14 @@ public class TabletLocatorImpl extends TabletLocator {
 
   @Override
   public void invalidateCache(KeyExtent failedExtent) {
-    wLock.lock();
-    try {
-      badExtents.add(failedExtent);
-    } finally {
-      wLock.unlock();
-    }
+    badExtents.add(failedExtent);
     if (log.isTraceEnabled())
       log.trace("Invalidated extent={}", failedExtent);
   }
 
   @Override
   public void invalidateCache(Collection<KeyExtent> keySet) {
-    wLock.lock();
-    try {
-      badExtents.addAll(keySet);
-    } finally {
-      wLock.unlock();
-    }
+    badExtents.addAll(keySet);
     if (log.isTraceEnabled())
       log.trace("Invalidated {} cache entries for table {}", keySet.size(), tableId);
   }
@@ -407,16 +388,11 @@ public class TabletLocatorImpl extends TabletLocator {
   public void invalidateCache(ClientContext context, String server) {
     int invalidatedCount = 0;
 
-    wLock.lock();
-    try {
-      for (TabletLocation cacheEntry : metaCache.values())
-        if (cacheEntry.tablet_location.equals(server)) {
-          badExtents.add(cacheEntry.tablet_extent);
-          invalidatedCount++;
-        }
-    } finally {
-      wLock.unlock();
-    }
+    for (TabletLocation cacheEntry : metaCache.values())
+      if (cacheEntry.tablet_location.equals(server)) {
+        badExtents.add(cacheEntry.tablet_extent);
+        invalidatedCount++;
+      }
 
     lockChecker.invalidateCache(server);
 
@@ -426,6 +402,35 @@ public class TabletLocatorImpl extends TabletLocator {
 
   }
 
+  /**
+   * Applies a tablet location pushed by the manager. Pushed locations may be stale or name an
+   * extent that has since split or merged, so only a cache entry for the identical extent is
+   * updated. Other cache entries are left for the metadata lookups to correct.
+   */
+  void locationChanged(KeyExtent extent, String location, String session) {
+    Text er = extent.endRow();
+    if (er == null)
+      er = MAX_TEXT;
+
+    boolean updated = false;
+    wLock.lock();
+    try {
+      TabletLocation cached = metaCache.get(er);
+      if (cached != null && cached.tablet_extent.equals(extent)) {
+        TabletLocation tl = new TabletLocation(extent, location, session);
+        if (new LockCheckerSession().checkLock(tl) != null) {
+          metaCache.put(er, tl);
+          updated = true;
+        }
+      }
+    } finally {
+      wLock.unlock();
+    }
+    if (log.isTraceEnabled())
+      log.trace("Location of {} changed to {} {}, cache updated {}", extent, location, session,
+          updated);
+  }
+
   @Override
   public void invalidateCache() {
     int invalidatedCount;
@@ -564,7 +569,7 @@ public class TabletLocatorImpl extends TabletLocator {
       removeOverlapping(badExtents, tabletLocation.tablet_extent);
   }
 
-  static void removeOverlapping(TreeMap<Text,TabletLocation> metaCache, KeyExtent nke) {
+  static void removeOverlapping(SortedMap<Text,TabletLocation> metaCache, KeyExtent nke) {
     Iterator<Entry<Text,TabletLocation>> iter = null;
 
     if (nke.prevEndRow() == null) {
@@ -599,7 +604,7 @@ public class TabletLocatorImpl extends TabletLocator {
     return row;
   }
 
-  static void removeOverlapping(TreeSet<KeyExtent> extents, KeyExtent nke) {
+  static void removeOverlapping(SortedSet<KeyExtent> extents, KeyExtent nke) {
     for (KeyExtent overlapping : KeyExtent.findOverlapping(nke, extents)) {
       extents.remove(overlapping);
     }
@@ -627,25 +632,18 @@ public class TabletLocatorImpl extends TabletLocator {
       row.append(new byte[] {0}, 0, 1);
     }
 
-    TabletLocation tl;
-
-    if (lock) {
-      rLock.lock();
-      try {
-        tl = processInvalidatedAndCheckLock(context, lcSession, row);
-      } finally {
-        rLock.unlock();
-      }
-    } else {
-      tl = processInvalidatedAndCheckLock(context, lcSession, row);
-    }
+    TabletLocation tl = processInvalidatedAndCheckLock(context, lcSession, row);
 
     if (tl == null) {
       // not in cache, so obtain info
       if (lock) {
         wLock.lock();
         try {
-          tl = lookupTabletLocationAndCheckLock(context, row, retry, lcSession);
+          // another thread may have looked up the row while this thread waited for the lock
+          tl = lcSession.checkLock(locateTabletInCache(row));
+          if (tl == null) {
+            tl = lookupTabletLocationAndCheckLock(context, row, retry, lcSession);
+          }
         } finally {
           wLock.unlock();
         }
@@ -671,22 +669,20 @@ public class TabletLocatorImpl extends TabletLocator {
     return lcSession.checkLock(locateTabletInCache(row));
   }
 
-  @SuppressFBWarnings(value = {"UL_UNRELEASED_LOCK", "UL_UNRELEASED_LOCK_EXCEPTION_PATH"},
-      justification = "locking is confusing, but probably correct")
   private void processInvalidated(ClientContext context, LockCheckerSession lcSession)
       throws AccumuloSecurityException, AccumuloException, TableNotFoundException {
 
     if (badExtents.isEmpty())
       return;
 
-    final boolean writeLockHeld = rwLock.isWriteLockedByCurrentThread();
+    final boolean writeLockHeld = wLock.isHeldByCurrentThread();
+    if (!writeLockHeld) {
+      wLock.lock();
+    }
     try {
-      if (!writeLockHeld) {
-        rLock.unlock();
-        wLock.lock();
-        if (badExtents.isEmpty())
-          return;
-      }
+      // another thread may have processed the invalidated extents while this one waited
+      if (badExtents.isEmpty())
+        return;
 
       List<Range> lookups = new ArrayList<>(badExtents.size());
 
@@ -695,30 +691,66 @@ public class TabletLocatorImpl extends TabletLocator {
         removeOverlapping(metaCache, be);
       }
 
-      lookups = Range.mergeOverlapping(lookups);
+      lookupMetadataRanges(context, Range.mergeOverlapping(lookups), lcSession);
+    } finally {
+      if (!writeLockHeld) {
+        wLock.unlock();
+      }
+    }
+  }
 
-      Map<String,Map<KeyExtent,List<Range>>> binnedRanges = new HashMap<>();
+  /**
+   * Caches the locations of all tablets in the metadata ranges, using one lookup per tablet server
+   * hosting the metadata. Must be called while holding wLock.
+   */
+  private void lookupMetadataRanges(ClientContext context, List<Range> lookups,
+      LockCheckerSession lcSession)
+      throws AccumuloSecurityException, AccumuloException, TableNotFoundException {
+    Map<String,Map<KeyExtent,List<Range>>> binnedRanges = new HashMap<>();
 
-      parent.binRanges(context, lookups, binnedRanges);
+    parent.binRanges(context, lookups, binnedRanges);
 
-      // randomize server order
-      ArrayList<String> tabletServers = new ArrayList<>(binnedRanges.keySet());
-      Collections.shuffle(tabletServers);
+    // randomize server order
+    ArrayList<String> tabletServers = new ArrayList<>(binnedRanges.keySet());
+    Collections.shuffle(tabletServers);
 
-      for (String tserver : tabletServers) {
-        List<TabletLocation> locations =
-            locationObtainer.lookupTablets(context, tserver, binnedRanges.get(tserver), parent);
+    for (String tserver : tabletServers) {
+      List<TabletLocation> locations =
+          locationObtainer.lookupTablets(context, tserver, binnedRanges.get(tserver), parent);
 
-        for (TabletLocation tabletLocation : locations) {
-          updateCache(tabletLocation, lcSession);
-        }
+      for (TabletLocation tabletLocation : locations) {
+        updateCache(tabletLocation, lcSession);
       }
+    }
+  }
+
+  @Override
+  public void prefetch(ClientContext context, List<Range> ranges)
+      throws AccumuloException, AccumuloSecurityException, TableNotFoundException {
+    List<Range> lookups = new ArrayList<>(ranges.size());
+    for (Range range : ranges) {
+      Text startRow = range.getStartKey() == null ? new Text() : range.getStartKey().getRow();
+      Text endRow = range.getEndKey() == null ? lastTabletRow
+          : TabletsSection.encodeRow(tableId, range.getEndKey().getRow());
+      lookups.add(new Range(TabletsSection.encodeRow(tableId, startRow), true, endRow, true));
+    }
+
+    LockCheckerSession lcSession = new LockCheckerSession();
+    wLock.lock();
+    try {
+      processInvalidated(context, lcSession);
+      lookupMetadataRanges(context, Range.mergeOverlapping(lookups), lcSession);
     } finally {
-      if (!writeLockHeld) {
-        rLock.lock();
-        wLock.unlock();
-      }
+      wLock.unlock();
     }
+
+    // the metadata row of the tablet containing the end of a range may sort after the ranges
+    // looked up above, binning fills in any tablets that are still missing
+    binRanges(context, ranges, new HashMap<>());
+
+    if (log.isTraceEnabled())
+      log.trace("prefetched locations for {} ranges of table {}, {} cache entries", ranges.size(),
+          tableId, metaCache.size());
   }
 
   protected static void addRange(Map<String,Map<KeyExtent,List<Range>>> binnedRanges,
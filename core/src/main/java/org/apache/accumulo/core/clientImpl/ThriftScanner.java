@@ -158,6 +158,9 @@ public class ThriftScanner {
 
     int size;
 
+    // the number of entries the scan may still return, Long.MAX_VALUE when unlimited
+    long entriesRemaining = Long.MAX_VALUE;
+
     ClientContext context;
     Authorizations authorizations;
     List<Column> columns;
@@ -233,6 +236,35 @@ public class ThriftScanner {
     return (long) (Math.min(millis * 2, maxSleep) * (.9 + random.nextDouble() / 5));
   }
 
+  /**
+   * @return the batch size to ask a tablet server for, which is never more than the scan may still
+   *         return
+   */
+  static int getBatchSize(ScanState scanState) {
+    return (int) Math.min(scanState.size, scanState.entriesRemaining);
+  }
+
+  /**
+   * @return the read ahead threshold to give a tablet server. When the rest of the scan fits in
+   *         one batch, there is no point in the server reading ahead.
+   */
+  static long getReadaheadThreshold(ScanState scanState) {
+    return scanState.entriesRemaining <= scanState.size ? Long.MAX_VALUE
+        : scanState.readaheadThreshold;
+  }
+
+  /**
+   * Drops the results beyond the limit of the scan and counts the rest against it. Batches of a
+   * scan session after the first may return more than is needed.
+   */
+  static <T> List<T> limitResults(ScanState scanState, List<T> results) {
+    if (results.size() > scanState.entriesRemaining) {
+      results = results.subList(0, (int) scanState.entriesRemaining);
+    }
+    scanState.entriesRemaining -= results.size();
+    return results;
+  }
+
   public static List<KeyValue> scan(ClientContext context, ScanState scanState, long timeOut)
       throws ScanTimedOutException, AccumuloException, AccumuloSecurityException,
       TableNotFoundException {
@@ -476,14 +508,16 @@ public class ThriftScanner {
         TabletType ttype = TabletType.type(loc.tablet_extent);
         boolean waitForWrites = !serversWaitedForWrites.get(ttype).contains(loc.tablet_location);
 
+        int size = getBatchSize(scanState);
+        long readaheadThreshold = getReadaheadThreshold(scanState);
+
         InitialScan is = client.startScan(tinfo, scanState.context.rpcCreds(),
             loc.tablet_extent.toThrift(), scanState.range.toThrift(),
-            scanState.columns.stream().map(Column::toThrift).collect(Collectors.toList()),
-            scanState.size, scanState.serverSideIteratorList, scanState.serverSideIteratorOptions,
+            scanState.columns.stream().map(Column::toThrift).collect(Collectors.toList()), size,
+            scanState.serverSideIteratorList, scanState.serverSideIteratorOptions,
             scanState.authorizations.getAuthorizationsBB(), waitForWrites, scanState.isolated,
-            scanState.readaheadThreshold,
-            SamplerConfigurationImpl.toThrift(scanState.samplerConfig), scanState.batchTimeOut,
-            scanState.classLoaderContext, scanState.executionHints);
+            readaheadThreshold, SamplerConfigurationImpl.toThrift(scanState.samplerConfig),
+            scanState.batchTimeOut, scanState.classLoaderContext, scanState.executionHints);
         if (waitForWrites)
           serversWaitedForWrites.get(ttype).add(loc.tablet_location);
 
@@ -561,8 +595,17 @@ public class ThriftScanner {
         scanState.range = new Range(new Key(sr.results.get(sr.results.size() - 1).key), false,
             scanState.range.getEndKey(), scanState.range.isEndKeyInclusive());
 
-      List<KeyValue> results = new ArrayList<>(sr.results.size());
-      for (TKeyValue tkv : sr.results)
+      List<TKeyValue> tresults = limitResults(scanState, sr.results);
+      if (scanState.entriesRemaining == 0) {
+        if (scanState.scanID != null) {
+          client.closeScan(tinfo, scanState.scanID);
+          scanState.scanID = null;
+        }
+        scanState.finished = true;
+      }
+
+      List<KeyValue> results = new ArrayList<>(tresults.size());
+      for (TKeyValue tkv : tresults)
         results.add(new KeyValue(new Key(tkv.key), tkv.value));
 
       return results;
@@ -40,7 +40,7 @@ import org.apache.hadoop.io.Text;
 public class TimeoutTabletLocator extends SyncingTabletLocator {
 
   private long timeout;
-  private Long firstFailTime = null;
+  private volatile Long firstFailTime = null;
 
   private void failed() {
     if (firstFailTime == null) {
@@ -51,7 +51,10 @@ public class TimeoutTabletLocator extends SyncingTabletLocator {
   }
 
   private void succeeded() {
-    firstFailTime = null;
+    // only write when needed, this is called by every thread on every successful call
+    if (firstFailTime != null) {
+      firstFailTime = null;
+    }
   }
 
   public TimeoutTabletLocator(long timeout, final ClientContext context, final TableId table) {
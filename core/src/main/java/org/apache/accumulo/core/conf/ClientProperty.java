@@ -95,6 +95,20 @@ public enum ClientProperty {
   BATCH_SCANNER_NUM_QUERY_THREADS("batch.scanner.num.query.threads", "3", PropertyType.COUNT,
       "Number of concurrent query threads to spawn for querying", "2.0.0", false),
 
+  // Tablet locations
+  TABLET_LOCATOR_PREFETCH("tablet.locator.prefetch", "1000", PropertyType.COUNT,
+      "The number of tablets whose locations are read from the metadata table when a tablet"
+          + " location is not cached. The locations of the tablets that follow the missing one are"
+          + " cached too, so clients that write to or scan many tablets after starting need fewer"
+          + " metadata lookups.",
+      "2.1.0", false),
+  TABLET_LOCATOR_NOTIFICATIONS("tablet.locator.notifications", "false", PropertyType.BOOLEAN,
+      "Watch for tablet migrations published by the manager and update cached tablet locations"
+          + " as soon as a migration completes, instead of waiting for a write or scan to fail"
+          + " against the old tablet server. The manager only publishes migrations when"
+          + " manager.tablet.location.notifications is set.",
+      "2.1.0", false),
+
   // Bulk load
   BULK_LOAD_THREADS("bulk.threads", ImportMappingOptions.BULK_LOAD_THREADS_DEFAULT,
       PropertyType.COUNT,
@@ -96,6 +96,14 @@ public enum Property {
           + "max value when represented as milliseconds should be no larger than "
           + Integer.MAX_VALUE,
       "1.3.5"),
+  @Experimental
+  INSTANCE_ZK_PERSISTENT_WATCHES("instance.zookeeper.watch.persistent", "false",
+      PropertyType.BOOLEAN,
+      "If true, servers cache large subtrees of ZooKeeper, such as the tablet server locks"
+          + " and the table states, using a single persistent recursive watch per subtree"
+          + " instead of a one-shot watch per node. This avoids re-registering watches after"
+          + " every change. Requires ZooKeeper 3.6 or later.",
+      "2.1.0"),
   @Sensitive
   INSTANCE_SECRET("instance.secret", "DEFAULT", PropertyType.STRING,
       "A secret unique to a given instance that all servers must know in order"
@@ -351,6 +359,14 @@ public enum Property {
       "The number of threads used to run fault-tolerant executions (FATE)."
           + " These are primarily table operations like merge.",
       "1.4.3"),
+  @Experimental
+  MANAGER_FATE_STORE_METADATA("manager.fate.store.metadata", "false", PropertyType.BOOLEAN,
+      "When true, FATE transactions are stored in the metadata table instead of ZooKeeper. Status"
+          + " changes are conditional mutations and finding work is a single scan, which scales"
+          + " to many more outstanding transactions. Only change this when no FATE transactions"
+          + " are outstanding, as transactions in the other store are not run. Admin tools and"
+          + " FATE metrics only read transactions stored in ZooKeeper.",
+      "2.1.0"),
   @Deprecated(since = "2.1.0")
   MANAGER_REPLICATION_SCAN_INTERVAL("manager.replication.status.scan.interval", "30s",
       PropertyType.TIMEDURATION,
@@ -390,6 +406,34 @@ public enum Property {
           + "indefinitely. Default is 0 to block indefinitely. Only valid when tserver available "
           + "threshold is set greater than 0. Added with version 1.10",
       "1.10.0"),
+  @Experimental
+  MANAGER_TABLET_WATCHER_INCREMENTAL("manager.tablet.watcher.incremental", "false",
+      PropertyType.BOOLEAN,
+      "If true, the manager only re-examines the tablets affected by an event, such as a"
+          + " tablet being loaded or a tablet server dying, instead of scanning the metadata of"
+          + " every tablet. Events that cannot be tied to specific tablets still cause a full"
+          + " scan, and a full scan is always done at least every"
+          + " manager.tablet.watcher.sweep.interval.",
+      "2.1.0"),
+  @Experimental
+  MANAGER_TABLET_WATCHER_SWEEP_INTERVAL("manager.tablet.watcher.sweep.interval", "5m",
+      PropertyType.TIMEDURATION,
+      "When manager.tablet.watcher.incremental is true, the longest time between full scans"
+          + " of the tablet metadata.",
+      "2.1.0"),
+  MANAGER_TABLET_WATCHER_SCAN_THREADS("manager.tablet.watcher.scan.threads", "32",
+      PropertyType.COUNT,
+      "The number of threads the manager uses to scan the tablet metadata for tablets that need"
+          + " attention. Each thread scans a different part of the metadata, so a full scan runs"
+          + " in parallel on up to this many metadata tablets.",
+      "2.1.0"),
+  MANAGER_TABLET_LOCATION_NOTIFICATIONS("manager.tablet.location.notifications", "false",
+      PropertyType.BOOLEAN,
+      "If true, the manager publishes the new locations of migrated tablets in ZooKeeper, so"
+          + " clients with tablet.locator.notifications enabled can update their cached"
+          + " locations. Leave this off unless clients use those notifications, since the"
+          + " locations are written each time the manager sees migrations complete.",
+      "2.1.0"),
   // properties that are specific to tablet server behavior
   TSERV_PREFIX("tserver.", null, PropertyType.PREFIX,
       "Properties in this category affect the behavior of the tablet servers", "1.3.5"),
@@ -409,6 +453,11 @@ public enum Property {
       "Specifies the size of the cache for RFile index blocks.", "1.3.5"),
   TSERV_SUMMARYCACHE_SIZE("tserver.cache.summary.size", "10%", PropertyType.MEMORY,
       "Specifies the size of the cache for summary data on each tablet server.", "2.0.0"),
+  TSERV_SCAN_RESULT_CACHE_SIZE("tserver.cache.scan.result.size", "0", PropertyType.MEMORY,
+      "Specifies the size of the cache for the results of small scans on each tablet server."
+          + " Only tables with table.scan.result.cache.enabled set to true use this cache."
+          + " A size of 0 disables the cache.",
+      "2.1.0"),
   TSERV_PORTSEARCH("tserver.port.search", "false", PropertyType.BOOLEAN,
       "if the ports above are in use, search higher ports until one is available", "1.3.5"),
   TSERV_CLIENTPORT("tserver.port.client", "9997", PropertyType.PORT,
@@ -623,6 +672,25 @@ public enum Property {
   TSERV_COMPACTION_WARN_TIME("tserver.compaction.warn.time", "10m", PropertyType.TIMEDURATION,
       "When a compaction has not made progress for this time period, a warning will be logged",
       "1.6.0"),
+  TSERV_COMPACTION_AUTOTUNE_ENABLED("tserver.compaction.major.rate.autotune.enabled", "false",
+      PropertyType.BOOLEAN,
+      "If true, the rate limits of compaction services are scaled based on tablet server load."
+          + " Compactions are slowed down when scans wait longer than"
+          + " tserver.compaction.major.rate.autotune.scan.latency or when writes are held, and"
+          + " sped up when scans are fast and none are queued. Only compaction services with a"
+          + " rate limit are affected.",
+      "2.1.0"),
+  TSERV_COMPACTION_AUTOTUNE_SCAN_LATENCY("tserver.compaction.major.rate.autotune.scan.latency",
+      "100ms", PropertyType.TIMEDURATION,
+      "The 99th percentile time scans may wait for a batch of results before compaction rate"
+          + " limits are lowered.",
+      "2.1.0"),
+  TSERV_COMPACTION_AUTOTUNE_MIN("tserver.compaction.major.rate.autotune.min", "0.25",
+      PropertyType.FRACTION,
+      "The smallest multiple of its rate limit a compaction service is slowed down to.", "2.1.0"),
+  TSERV_COMPACTION_AUTOTUNE_MAX("tserver.compaction.major.rate.autotune.max", "4",
+      PropertyType.FRACTION,
+      "The largest multiple of its rate limit a compaction service is sped up to.", "2.1.0"),
   TSERV_BLOOM_LOAD_MAXCONCURRENT("tserver.bloom.load.concurrent.max", "4", PropertyType.COUNT,
       "The number of concurrent threads that will load bloom filters in the background. "
           + "Setting this to zero will make bloom filters load in the foreground.",
@@ -656,6 +724,11 @@ public enum Property {
       "1.4.0"),
   TSERV_BULK_TIMEOUT("tserver.bulk.timeout", "5m", PropertyType.TIMEDURATION,
       "The time to wait for a tablet server to process a bulk import request.", "1.4.3"),
+  TSERV_BULK_LOAD_THREADS("tserver.bulk.load.threads", "8", PropertyType.COUNT,
+      "The number of threads a tablet server uses to load bulk imported files into its tablets."
+          + " The metadata updates of tablets that are loaded at the same time are written to"
+          + " the metadata table together.",
+      "2.1.0"),
   TSERV_MINTHREADS("tserver.server.threads.minimum", "20", PropertyType.COUNT,
       "The minimum number of threads to use to handle incoming requests.", "1.4.0"),
   TSERV_MINTHREADS_TIMEOUT("tserver.server.threads.timeout", "0s", PropertyType.TIMEDURATION,
@@ -889,6 +962,45 @@ public enum Property {
       "Minimum ratio of total input size to maximum input RFile size for"
           + " running a major compaction. ",
       "1.3.5"),
+  TABLE_MAJC_PARTITIONS("table.compaction.major.partitions", "1", PropertyType.COUNT,
+      "The maximum number of disjoint row ranges a major compaction of a single tablet is split"
+          + " into. The ranges are compacted concurrently and then concatenated into the output"
+          + " file of the compaction. A value of 1 disables partitioning. Each range is compacted"
+          + " by its own iterator stack, so majc iterators only see the rows of one range at a"
+          + " time. Do not partition tables whose majc iterators depend on seeing the whole"
+          + " tablet, for example iterators that aggregate or compare across rows.",
+      "2.1.0"),
+  TABLE_MAJC_PARTITION_SIZE("table.compaction.major.partition.size", "1G", PropertyType.BYTES,
+      "The minimum amount of input data per partition when a major compaction is split into"
+          + " row ranges. Compactions with less input than this are never partitioned.",
+      "2.1.0"),
+  TABLE_MAJC_LOCALITY_GROUPS_CONCURRENT("table.compaction.major.locality.groups.concurrent",
+      "false", PropertyType.BOOLEAN,
+      "If true, major compactions process all locality groups at the same time, each on its own"
+          + " thread, instead of one group after another. Each group is written to its own"
+          + " temporary file, whose blocks are then copied into the output file. Groups in"
+          + " encrypted files can not be copied and are appended entry by entry instead.",
+      "2.1.0"),
+  TABLE_MAJC_COPY_BLOCKS("table.compaction.major.copy.blocks", "false", PropertyType.BOOLEAN,
+      "If true, major compactions of files that do not overlap copy data blocks into the output"
+          + " file without decoding and compressing them again. This is only done when no"
+          + " iterators are configured for the compaction, the majc scope has no iterators other"
+          + " than the default versioning iterator, the table has no locality groups, and the"
+          + " input files are not encrypted. Tables with the versioning iterator only copy blocks"
+          + " when no input file was imported. Blocks must use the same"
+          + " compression as the output file. Blocks holding deletes or keys outside the tablet"
+          + " are compacted normally.",
+      "2.1.0"),
+  TABLE_MAJC_READ_AHEAD("table.compaction.major.readahead", "0", PropertyType.BYTES,
+      "The amount of data major compactions read ahead of their current position in each input"
+          + " file, on background threads. Compactions read their input files in order, so"
+          + " reading ahead hides the latency of each read on file systems like object stores."
+          + " Up to this much memory is used for each input file of a compaction. When a"
+          + " compaction reads a file with several readers at once, because of "
+          + TABLE_MAJC_PARTITIONS.getKey() + " or " + TABLE_MAJC_LOCALITY_GROUPS_CONCURRENT.getKey()
+          + ", the memory is divided between those readers. Minor compactions never read ahead."
+          + " A value of 0 disables reading ahead.",
+      "2.1.0"),
   @Deprecated(since = "2.1.0", forRemoval = true)
   TABLE_MAJC_COMPACTALL_IDLETIME("table.compaction.major.everything.idle", "1h",
       PropertyType.TIMEDURATION,
@@ -960,6 +1072,14 @@ public enum Property {
       "The maximum amount of memory that will be used to cache results of a client query/scan. "
           + "Once this limit is reached, the buffered data is sent to the client.",
       "1.3.5"),
+  TABLE_SCAN_RESULT_CACHE_ENABLED("table.scan.result.cache.enabled", "false",
+      PropertyType.BOOLEAN,
+      "Enables caching of scan results on the tablet server. Only scans that complete in a single"
+          + " batch are cached. Cached results are dropped whenever the data in a tablet changes,"
+          + " but iterators whose output depends on the current time (like the AgeOffFilter) may"
+          + " return stale results for repeated scans. The size of the cache is configured with"
+          + " tserver.cache.scan.result.size.",
+      "2.1.0"),
   TABLE_FILE_TYPE("table.file.type", RFile.EXTENSION, PropertyType.STRING,
       "Change the type of file a table writes", "1.3.5"),
   TABLE_LOAD_BALANCER("table.balancer", "org.apache.accumulo.core.spi.balancer.SimpleLoadBalancer",
@@ -1352,6 +1472,35 @@ public enum Property {
   COMPACTION_COORDINATOR_TSERVER_COMPACTION_CHECK_INTERVAL(
       "compaction.coordinator.tserver.check.interval", "1m", PropertyType.TIMEDURATION,
       "The interval at which to check the tservers for external compactions.", "2.1.0"),
+  @Experimental
+  COMPACTION_COORDINATOR_JOB_WAIT_MAX("compaction.coordinator.job.wait.max", "30s",
+      PropertyType.TIMEDURATION,
+      "The maximum time a request from a compactor for a job is held open waiting for work to"
+          + " show up in its queue. This must be less than general.rpc.timeout. Zero (0)"
+          + " returns immediately when there is no work.",
+      "2.1.0"),
+  @Experimental
+  COMPACTION_COORDINATOR_SPECULATIVE_ENABLED("compaction.coordinator.speculative.enabled",
+      "false", PropertyType.BOOLEAN,
+      "When true, an external compaction that runs far longer than expected is duplicated on"
+          + " another compactor and whichever copy finishes first is committed.",
+      "2.1.0"),
+  @Experimental
+  COMPACTION_COORDINATOR_SPECULATIVE_SLOWDOWN("compaction.coordinator.speculative.slowdown", "4",
+      PropertyType.FRACTION,
+      "How many times longer than expected an external compaction must run before it is"
+          + " duplicated. The expected time is based on the size of its input files and the"
+          + " throughput of recently completed compactions in the same queue.",
+      "2.1.0"),
+  @Experimental
+  COMPACTION_COORDINATOR_SPECULATIVE_MIN_RUNTIME("compaction.coordinator.speculative.runtime.min",
+      "10m", PropertyType.TIMEDURATION,
+      "External compactions that have run for less than this are never duplicated.", "2.1.0"),
+  @Experimental
+  COMPACTION_COORDINATOR_SPECULATIVE_CHECK_INTERVAL(
+      "compaction.coordinator.speculative.check.interval", "1m", PropertyType.TIMEDURATION,
+      "The interval at which to check for external compactions that should be duplicated.",
+      "2.1.0"),
   // deprecated properties grouped at the end to reference property that replaces them
   @Deprecated(since = "1.6.0")
   @ReplacedBy(property = INSTANCE_VOLUMES)
@@ -1716,7 +1865,7 @@ public enum Property {
 
       // tserver cache options
       TSERV_CACHE_MANAGER_IMPL, TSERV_DATACACHE_SIZE, TSERV_INDEXCACHE_SIZE,
-      TSERV_SUMMARYCACHE_SIZE,
+      TSERV_SUMMARYCACHE_SIZE, TSERV_SCAN_RESULT_CACHE_SIZE,
 
       // others
       TSERV_NATIVEMAP_ENABLED, TSERV_SCAN_MAX_OPENFILES);
@@ -18,7 +18,7 @@
  */
 package org.apache.accumulo.core.data;
 
-import org.apache.hadoop.io.WritableComparator;
+import java.util.Arrays;
 
 /**
  * A sequence of bytes.
@@ -115,8 +115,8 @@ public abstract class ByteSequence implements Comparable<ByteSequence> {
   @Override
   public int compareTo(ByteSequence obs) {
     if (isBackedByArray() && obs.isBackedByArray()) {
-      return WritableComparator.compareBytes(getBackingArray(), offset(), length(),
-          obs.getBackingArray(), obs.offset(), obs.length());
+      return Arrays.compareUnsigned(getBackingArray(), offset(), offset() + length(),
+          obs.getBackingArray(), obs.offset(), obs.offset() + obs.length());
     }
 
     return compareBytes(this, obs);
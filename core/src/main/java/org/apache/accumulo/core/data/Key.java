@@ -727,7 +727,7 @@ public class Key implements WritableComparable<Key>, Cloneable {
    * @return same as {@link #getRow()}.compareTo(r)
    */
   public int compareRow(Text r) {
-    return WritableComparator.compareBytes(row, 0, row.length, r.getBytes(), 0, r.getLength());
+    return Arrays.compareUnsigned(row, 0, row.length, r.getBytes(), 0, r.getLength());
   }
 
   /**
@@ -771,7 +771,7 @@ public class Key implements WritableComparable<Key>, Cloneable {
    */
 
   public int compareColumnFamily(Text cf) {
-    return WritableComparator.compareBytes(colFamily, 0, colFamily.length, cf.getBytes(), 0,
+    return Arrays.compareUnsigned(colFamily, 0, colFamily.length, cf.getBytes(), 0,
         cf.getLength());
   }
 
@@ -815,7 +815,7 @@ public class Key implements WritableComparable<Key>, Cloneable {
    * @return same as {@link #getColumnQualifier()}.compareTo(cq)
    */
   public int compareColumnQualifier(Text cq) {
-    return WritableComparator.compareBytes(colQualifier, 0, colQualifier.length, cq.getBytes(), 0,
+    return Arrays.compareUnsigned(colQualifier, 0, colQualifier.length, cq.getBytes(), 0,
         cq.getLength());
   }
 
@@ -1022,27 +1022,26 @@ public class Key implements WritableComparable<Key>, Cloneable {
    * @see #compareTo(Key)
    */
   public int compareTo(Key other, PartialKey part) {
+    // Arrays.compareUnsigned is intrinsified by the JVM to compare many bytes per instruction and
+    // returns immediately when both keys share the same array
+
     // check for matching row
-    int result =
-        WritableComparator.compareBytes(row, 0, row.length, other.row, 0, other.row.length);
+    int result = Arrays.compareUnsigned(row, other.row);
     if (result != 0 || part.equals(PartialKey.ROW))
       return result;
 
     // check for matching column family
-    result = WritableComparator.compareBytes(colFamily, 0, colFamily.length, other.colFamily, 0,
-        other.colFamily.length);
+    result = Arrays.compareUnsigned(colFamily, other.colFamily);
     if (result != 0 || part.equals(PartialKey.ROW_COLFAM))
       return result;
 
     // check for matching column qualifier
-    result = WritableComparator.compareBytes(colQualifier, 0, colQualifier.length,
-        other.colQualifier, 0, other.colQualifier.length);
+    result = Arrays.compareUnsigned(colQualifier, other.colQualifier);
     if (result != 0 || part.equals(PartialKey.ROW_COLFAM_COLQUAL))
       return result;
 
     // check for matching column visibility
-    result = WritableComparator.compareBytes(colVisibility, 0, colVisibility.length,
-        other.colVisibility, 0, other.colVisibility.length);
+    result = Arrays.compareUnsigned(colVisibility, other.colVisibility);
     if (result != 0 || part.equals(PartialKey.ROW_COLFAM_COLQUAL_COLVIS))
       return result;
 
@@ -147,6 +147,20 @@ public class BloomFilterLayer {
         bloomFilter.add(bloomKey);
     }
 
+    @Override
+    public synchronized boolean appendRawBlock(RFile.RawBlock block) throws IOException {
+      if (!writer.appendRawBlock(block)) {
+        return false;
+      }
+
+      for (org.apache.accumulo.core.data.Key key : block.getKeys()) {
+        Key bloomKey = transformer.transform(key);
+        if (bloomKey.getBytes().length > 0)
+          bloomFilter.add(bloomKey);
+      }
+      return true;
+    }
+
     @Override
     public synchronized void close() throws IOException {
 
@@ -23,6 +23,7 @@ import static org.apache.accumulo.core.file.blockfile.impl.CacheProvider.NULL_PR
 import java.io.IOException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.apache.accumulo.core.Constants;
 import org.apache.accumulo.core.conf.AccumuloConfiguration;
@@ -179,6 +180,8 @@ public abstract class FileOperations {
     public final Cache<String,Long> fileLenCache;
     public final boolean seekToBeginning;
     public final CryptoService cryptoService;
+    public final Executor readAheadExecutor;
+    public final long readAheadSize;
     // scan reader only objects
     public final Range range;
     public final Set<ByteSequence> columnFamilies;
@@ -188,7 +191,8 @@ public abstract class FileOperations {
         Configuration fsConf, RateLimiter rateLimiter, String compression,
         FSDataOutputStream outputStream, boolean enableAccumuloStart, CacheProvider cacheProvider,
         Cache<String,Long> fileLenCache, boolean seekToBeginning, CryptoService cryptoService,
-        Range range, Set<ByteSequence> columnFamilies, boolean inclusive) {
+        Executor readAheadExecutor, long readAheadSize, Range range,
+        Set<ByteSequence> columnFamilies, boolean inclusive) {
       this.tableConfiguration = tableConfiguration;
       this.filename = filename;
       this.fs = fs;
@@ -201,6 +205,8 @@ public abstract class FileOperations {
       this.fileLenCache = fileLenCache;
       this.seekToBeginning = seekToBeginning;
       this.cryptoService = Objects.requireNonNull(cryptoService);
+      this.readAheadExecutor = readAheadExecutor;
+      this.readAheadSize = readAheadSize;
       this.range = range;
       this.columnFamilies = columnFamilies;
       this.inclusive = inclusive;
@@ -254,6 +260,14 @@ public abstract class FileOperations {
       return cryptoService;
     }
 
+    public Executor getReadAheadExecutor() {
+      return readAheadExecutor;
+    }
+
+    public long getReadAheadSize() {
+      return readAheadSize;
+    }
+
     public Range getRange() {
       return range;
     }
@@ -311,25 +325,28 @@ public abstract class FileOperations {
     protected FileOptions toWriterBuilderOptions(String compression,
         FSDataOutputStream outputStream, boolean startEnabled) {
       return new FileOptions(tableConfiguration, filename, fs, fsConf, rateLimiter, compression,
-          outputStream, startEnabled, NULL_PROVIDER, null, false, cryptoService, null, null, true);
+          outputStream, startEnabled, NULL_PROVIDER, null, false, cryptoService, null, 0, null,
+          null, true);
     }
 
     protected FileOptions toReaderBuilderOptions(CacheProvider cacheProvider,
-        Cache<String,Long> fileLenCache, boolean seekToBeginning) {
+        Cache<String,Long> fileLenCache, boolean seekToBeginning, Executor readAheadExecutor,
+        long readAheadSize) {
       return new FileOptions(tableConfiguration, filename, fs, fsConf, rateLimiter, null, null,
           false, cacheProvider == null ? NULL_PROVIDER : cacheProvider, fileLenCache,
-          seekToBeginning, cryptoService, null, null, true);
+          seekToBeginning, cryptoService, readAheadExecutor, readAheadSize, null, null, true);
     }
 
     protected FileOptions toIndexReaderBuilderOptions(Cache<String,Long> fileLenCache) {
       return new FileOptions(tableConfiguration, filename, fs, fsConf, rateLimiter, null, null,
-          false, NULL_PROVIDER, fileLenCache, false, cryptoService, null, null, true);
+          false, NULL_PROVIDER, fileLenCache, false, cryptoService, null, 0, null, null, true);
     }
 
     protected FileOptions toScanReaderBuilderOptions(Range range, Set<ByteSequence> columnFamilies,
         boolean inclusive) {
       return new FileOptions(tableConfiguration, filename, fs, fsConf, rateLimiter, null, null,
-          false, NULL_PROVIDER, null, false, cryptoService, range, columnFamilies, inclusive);
+          false, NULL_PROVIDER, null, false, cryptoService, null, 0, range, columnFamilies,
+          inclusive);
     }
 
     protected AccumuloConfiguration getTableConfiguration() {
@@ -395,6 +412,8 @@ public abstract class FileOperations {
     private CacheProvider cacheProvider;
     private Cache<String,Long> fileLenCache;
     private boolean seekToBeginning = false;
+    private Executor readAheadExecutor = null;
+    private long readAheadSize = 0;
 
     public ReaderTableConfiguration forFile(String filename, FileSystem fs, Configuration fsConf,
         CryptoService cs) {
@@ -427,6 +446,17 @@ public abstract class FileOperations {
       return this;
     }
 
+    /**
+     * (Optional) Read up to {@code size} bytes ahead of the current position of the file in the
+     * background, using the given executor. Only useful for readers that read the entire file in
+     * order.
+     */
+    public ReaderBuilder withReadAhead(Executor executor, long size) {
+      this.readAheadExecutor = executor;
+      this.readAheadSize = size;
+      return this;
+    }
+
     /**
      * Seek the constructed iterator to the beginning of its domain before returning. Equivalent to
      * {@code seekToBeginning(true)}.
@@ -444,7 +474,8 @@ public abstract class FileOperations {
 
     /** Execute the operation, constructing the specified file reader. */
     public FileSKVIterator build() throws IOException {
-      return openReader(toReaderBuilderOptions(cacheProvider, fileLenCache, seekToBeginning));
+      return openReader(toReaderBuilderOptions(cacheProvider, fileLenCache, seekToBeginning,
+          readAheadExecutor, readAheadSize));
     }
   }
 
@@ -25,6 +25,7 @@ import java.util.Set;
 import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.file.rfile.RFile;
 
 public interface FileSKVWriter extends AutoCloseable {
   boolean supportsLocalityGroups();
@@ -35,6 +36,17 @@ public interface FileSKVWriter extends AutoCloseable {
 
   void append(Key key, Value value) throws IOException;
 
+  /**
+   * Copies a data block read from another file into this file without encoding and compressing its
+   * entries again. Writers that can not copy the block, because of its format or their own, return
+   * false and write nothing. Callers should then append the entries of the block.
+   *
+   * @return true if the block was copied
+   */
+  default boolean appendRawBlock(RFile.RawBlock block) throws IOException {
+    return false;
+  }
+
   DataOutputStream createMetaStore(String name) throws IOException;
 
   @Override
@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -34,6 +35,7 @@ import org.apache.accumulo.core.file.rfile.bcfile.BCFile;
 import org.apache.accumulo.core.file.rfile.bcfile.BCFile.Reader.BlockReader;
 import org.apache.accumulo.core.file.rfile.bcfile.MetaBlockDoesNotExist;
 import org.apache.accumulo.core.file.streams.RateLimitedInputStream;
+import org.apache.accumulo.core.file.streams.ReadAheadInputStream;
 import org.apache.accumulo.core.spi.cache.BlockCache;
 import org.apache.accumulo.core.spi.cache.BlockCache.Loader;
 import org.apache.accumulo.core.spi.cache.CacheEntry;
@@ -43,6 +45,7 @@ import org.apache.accumulo.core.util.ratelimit.RateLimiter;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PositionedReadable;
 import org.apache.hadoop.fs.Seekable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -76,6 +79,8 @@ public class CachableBlockFile {
     RateLimiter readLimiter = null;
     Configuration hadoopConf = null;
     CryptoService cryptoService = null;
+    Executor readAheadExecutor = null;
+    long readAheadSize = 0;
 
     public CachableBuilder conf(Configuration hadoopConf) {
       this.hadoopConf = hadoopConf;
@@ -119,6 +124,17 @@ public class CachableBlockFile {
       this.cryptoService = cryptoService;
       return this;
     }
+
+    /**
+     * Read up to {@code size} bytes ahead of the current position of the file in the background,
+     * using the given executor. This only helps readers that read a file sequentially, like
+     * compactions. A size of zero or less disables reading ahead.
+     */
+    public CachableBuilder readAhead(Executor executor, long size) {
+      this.readAheadExecutor = executor;
+      this.readAheadSize = size;
+      return this;
+    }
   }
 
   /**
@@ -134,6 +150,8 @@ public class CachableBlockFile {
     private boolean closed = false;
     private final Configuration conf;
     private final CryptoService cryptoService;
+    private final Executor readAheadExecutor;
+    private final long readAheadSize;
 
     private final IoeSupplier<InputStream> inputSupplier;
     private final IoeSupplier<Long> lengthSupplier;
@@ -147,6 +165,9 @@ public class CachableBlockFile {
     // https://stackoverflow.com/a/8381338
     private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
 
+    // the read ahead size is split into chunks so reading can continue while a chunk is consumed
+    private static final int READ_AHEAD_CHUNKS = 4;
+
     private long getCachedFileLen() throws IOException {
       try {
         return fileLenCache.get(cacheId, lengthSupplier::get);
@@ -160,7 +181,7 @@ public class CachableBlockFile {
       BCFile.Reader reader = bcfr.get();
       if (reader == null) {
         RateLimitedInputStream fsIn =
-            new RateLimitedInputStream((InputStream & Seekable) inputSupplier.get(), readLimiter);
+            new RateLimitedInputStream((InputStream & Seekable) openInput(), readLimiter);
         BCFile.Reader tmpReader = null;
         if (serializedMetadata == null) {
           if (fileLenCache == null) {
@@ -196,6 +217,17 @@ public class CachableBlockFile {
       return reader;
     }
 
+    private InputStream openInput() throws IOException {
+      InputStream in = inputSupplier.get();
+      if (readAheadExecutor != null && readAheadSize > 0 && in instanceof PositionedReadable) {
+        int chunkSize =
+            (int) Math.min(MAX_ARRAY_SIZE, Math.max(1, readAheadSize / READ_AHEAD_CHUNKS));
+        return new ReadAheadInputStream((InputStream & PositionedReadable) in, readAheadExecutor,
+            chunkSize, READ_AHEAD_CHUNKS);
+      }
+      return in;
+    }
+
     private BCFile.Reader getBCFile() throws IOException {
       BlockCache _iCache = cacheProvider.getIndexCache();
       if (_iCache != null) {
@@ -363,6 +395,8 @@ public class CachableBlockFile {
       this.readLimiter = b.readLimiter;
       this.conf = b.hadoopConf;
       this.cryptoService = Objects.requireNonNull(b.cryptoService);
+      this.readAheadExecutor = b.readAheadExecutor;
+      this.readAheadSize = b.readAheadSize;
     }
 
     /**
@@ -447,6 +481,19 @@ public class CachableBlockFile {
       return new CachedBlockRead(_currBlock);
     }
 
+    /**
+     * Reads a data block in the form it is stored in the file. This always reads from the file,
+     * since the cache only holds decompressed blocks.
+     */
+    public BCFile.RawDataBlock getRawDataBlock(long offset, long compressedSize, long rawSize)
+        throws IOException {
+      return getBCFile().getRawDataBlock(offset, compressedSize, rawSize);
+    }
+
+    public boolean isEncrypted() throws IOException {
+      return getBCFile().isEncrypted();
+    }
+
     @Override
     public synchronized void close() throws IOException {
       if (closed)
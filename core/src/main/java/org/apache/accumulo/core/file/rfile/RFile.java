@@ -364,6 +364,93 @@ public class RFile {
 
   }
 
+  /**
+   * A data block of an RFile in the form it is stored, along with its decoded entries. Copying a
+   * raw block into another file avoids encoding and compressing its entries again. The entries are
+   * still decoded because writers need them for locality group, sample, bloom filter and summary
+   * information.
+   */
+  public static class RawBlock {
+    private final BCFile.RawDataBlock data;
+    private final List<Key> keys;
+    private final List<Value> values;
+    private final boolean hasDeletes;
+
+    private RawBlock(BCFile.RawDataBlock data, List<Key> keys, List<Value> values,
+        boolean hasDeletes) {
+      this.data = data;
+      this.keys = keys;
+      this.values = values;
+      this.hasDeletes = hasDeletes;
+    }
+
+    public List<Key> getKeys() {
+      return keys;
+    }
+
+    public List<Value> getValues() {
+      return values;
+    }
+
+    public Key getFirstKey() {
+      return keys.get(0);
+    }
+
+    public Key getLastKey() {
+      return keys.get(keys.size() - 1);
+    }
+
+    /**
+     * @return true if any key in the block is a delete
+     */
+    public boolean hasDeletes() {
+      return hasDeletes;
+    }
+  }
+
+  /**
+   * Reads the data blocks of an RFile, in order, as raw blocks.
+   */
+  public static class RawBlockReader {
+    private final CachableBlockFile.Reader reader;
+    private final Iterator<IndexEntry> index;
+
+    private RawBlockReader(CachableBlockFile.Reader reader, Iterator<IndexEntry> index) {
+      this.reader = reader;
+      this.index = index;
+    }
+
+    public boolean hasNext() {
+      return index.hasNext();
+    }
+
+    public RawBlock next() throws IOException {
+      IndexEntry indexEntry = index.next();
+      BCFile.RawDataBlock data = reader.getRawDataBlock(indexEntry.getOffset(),
+          indexEntry.getCompressedSize(), indexEntry.getRawSize());
+
+      int numEntries = indexEntry.getNumEntries();
+      List<Key> keys = new ArrayList<>(numEntries);
+      List<Value> values = new ArrayList<>(numEntries);
+      boolean hasDeletes = false;
+
+      try (DataInputStream in = data.open()) {
+        // the first key in a block is not relative to anything
+        RelativeKey rk = new RelativeKey();
+        for (int i = 0; i < numEntries; i++) {
+          rk.readFields(in);
+          Value val = new Value();
+          val.readFields(in);
+          keys.add(rk.getKey());
+          values.add(val);
+          hasDeletes |= rk.getKey().isDeleted();
+        }
+      }
+
+      return new RawBlock(data, keys, values, hasDeletes);
+    }
+  }
+
   private static class SampleEntry {
     Key key;
     Value val;
@@ -438,6 +525,10 @@ public class RFile {
 
     private Key prevKey = new Key();
 
+    // The index entry of the last block copied from another file. Its held back until the next
+    // block is started, because the last block of a locality group is indexed differently.
+    private IndexEntry copiedBlock = null;
+
     private SampleLocalityGroupWriter sample;
 
     // Use windowed stats to fix ACCUMULO-4669
@@ -477,6 +568,7 @@ public class RFile {
       }
 
       if (blockWriter == null) {
+        indexCopiedBlock(false);
         blockWriter = fileWriter.prepareDataBlock();
       } else if (blockWriter.getRawSize() > blockSize) {
 
@@ -539,9 +631,73 @@ public class RFile {
       entries = 0;
     }
 
+    /**
+     * Copies a block read from another file. Any block in progress is closed first. The copied
+     * block is indexed by its last key, because the key that indexed it in its source file may not
+     * fall before the keys that follow it in this file.
+     */
+    public void appendRawBlock(RawBlock block) throws IOException {
+      if (block.getFirstKey().compareTo(prevKey) < 0) {
+        throw new IllegalArgumentException("Keys appended out-of-order.  New key "
+            + block.getFirstKey() + ", previous key " + prevKey);
+      }
+
+      List<Key> keys = block.getKeys();
+      List<Value> values = block.getValues();
+      for (int i = 0; i < keys.size(); i++) {
+        Key key = keys.get(i);
+        currentLocalityGroup.updateColumnCount(key);
+
+        if (currentLocalityGroup.getFirstKey() == null) {
+          currentLocalityGroup.setFirstKey(key);
+        }
+
+        if (sample != null) {
+          sample.append(key, values.get(i));
+        }
+
+        keyLenStats.addValue(key.getSize());
+      }
+
+      if (blockWriter != null) {
+        closeBlock(prevKey, false);
+      }
+
+      indexCopiedBlock(false);
+
+      long offset = fileWriter.appendRawDataBlock(block.data);
+      copiedBlock = new IndexEntry(block.getLastKey(), keys.size(), offset,
+          block.data.getCompressedSize(), block.data.getRawSize());
+
+      if (sample != null) {
+        sample.flushIfNeeded();
+      }
+
+      prevKey = new Key(block.getLastKey());
+      averageKeySize = 0;
+    }
+
+    private void indexCopiedBlock(boolean lastBlock) throws IOException {
+      if (copiedBlock == null) {
+        return;
+      }
+
+      if (lastBlock)
+        currentLocalityGroup.indexWriter.addLast(copiedBlock.getKey(),
+            copiedBlock.getNumEntries(), copiedBlock.getOffset(), copiedBlock.getCompressedSize(),
+            copiedBlock.getRawSize());
+      else
+        currentLocalityGroup.indexWriter.add(copiedBlock.getKey(), copiedBlock.getNumEntries(),
+            copiedBlock.getOffset(), copiedBlock.getCompressedSize(), copiedBlock.getRawSize());
+
+      copiedBlock = null;
+    }
+
     public void close() throws IOException {
       if (blockWriter != null) {
         closeBlock(lastKeyInBlock, true);
+      } else {
+        indexCopiedBlock(true);
       }
 
       if (sample != null) {
@@ -661,6 +817,21 @@ public class RFile {
       lgWriter.append(key, value);
     }
 
+    @Override
+    public boolean appendRawBlock(RawBlock block) throws IOException {
+
+      if (dataClosed) {
+        throw new IllegalStateException("Cannot append, data closed");
+      }
+
+      if (!fileWriter.canAppendRawDataBlock(block.data)) {
+        return false;
+      }
+
+      lgWriter.appendRawBlock(block);
+      return true;
+    }
+
     @Override
     public DataOutputStream createMetaStore(String name) throws IOException {
       closeData();
@@ -1457,6 +1628,21 @@ public class RFile {
       return new MultiIndexIterator(this, indexes);
     }
 
+    /**
+     * @return a reader for the data blocks of this file as raw blocks, or null if its blocks can
+     *         not be copied because the file has more than one locality group, is encrypted, or
+     *         was written before RFile version 6
+     */
+    public RawBlockReader getRawBlockReader() throws IOException {
+      if (readers.length > 1 || rfileVersion < RINDEX_VER_6 || reader.isEncrypted()) {
+        return null;
+      }
+
+      Iterator<IndexEntry> index =
+          readers.length == 0 ? Collections.emptyIterator() : readers[0].getIndex();
+      return new RawBlockReader(reader, index);
+    }
+
     @Override
     public FileSKVIterator getSample(SamplerConfigurationImpl sampleConfig) {
       requireNonNull(sampleConfig);
@@ -51,7 +51,8 @@ public class RFileOperations extends FileOperations {
         new CachableBuilder().fsPath(options.getFileSystem(), new Path(options.getFilename()))
             .conf(options.getConfiguration()).fileLen(options.getFileLenCache())
             .cacheProvider(options.cacheProvider).readLimiter(options.getRateLimiter())
-            .cryptoService(options.getCryptoService());
+            .cryptoService(options.getCryptoService())
+            .readAhead(options.getReadAheadExecutor(), options.getReadAheadSize());
     return new RFile.Reader(cb);
   }
 
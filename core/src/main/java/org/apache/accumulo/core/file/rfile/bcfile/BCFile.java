@@ -434,6 +434,42 @@ public final class BCFile {
       return ba;
     }
 
+    /**
+     * @return true if the block can be copied into this file as is, which requires that this file
+     *         is not encrypted and uses the same compression as the block
+     */
+    public boolean canAppendRawDataBlock(RawDataBlock block) {
+      return encrypter instanceof NoFileEncrypter
+          && block.compressAlgo == getDefaultCompressionAlgorithm();
+    }
+
+    /**
+     * Copies a data block read from another file into this file without decompressing it. Like
+     * {@link #prepareDataBlock()}, this can not be called while another block is in progress or
+     * after the first meta block.
+     *
+     * @return the offset of the block in this file
+     */
+    public long appendRawDataBlock(RawDataBlock block) throws IOException {
+      if (!canAppendRawDataBlock(block)) {
+        throw new IllegalArgumentException("Can not copy block compressed with "
+            + block.compressAlgo.getName() + " into an encrypted file or a file compressed with "
+            + getDefaultCompressionAlgorithm().getName());
+      }
+
+      if (blkInProgress) {
+        throw new IllegalStateException("Cannot copy Data Block until previous block is closed.");
+      }
+
+      if (metaBlkSeen) {
+        throw new IllegalStateException("Cannot copy Data Block after Meta Blocks.");
+      }
+
+      long offset = out.position();
+      out.write(block.data);
+      return offset;
+    }
+
     /**
      * Callback to make sure a meta block is added to the internal list when its stream is closed.
      */
@@ -747,6 +783,31 @@ public final class BCFile {
       return dataIndex.getBlockRegionList().get(blockIndex).getRawSize();
     }
 
+    /**
+     * @return true if the blocks of this file are encrypted, in which case they can not be read as
+     *         raw data blocks
+     */
+    public boolean isEncrypted() {
+      return !(decrypter instanceof NoFileDecrypter);
+    }
+
+    /**
+     * Reads a data block in the form it is stored in the file, without decompressing it.
+     */
+    public RawDataBlock getRawDataBlock(long offset, long compressedSize, long rawSize)
+        throws IOException {
+      if (isEncrypted()) {
+        throw new IllegalStateException("Can not read raw data blocks from an encrypted file");
+      }
+
+      byte[] data = new byte[Math.toIntExact(compressedSize)];
+      try (DataInputStream din =
+          new DataInputStream(new BoundedRangeFileInputStream(in, offset, compressedSize))) {
+        din.readFully(data);
+      }
+      return new RawDataBlock(data, rawSize, dataIndex.getDefaultCompressionAlgorithm());
+    }
+
     private BlockReader createReader(Algorithm compressAlgo, BlockRegion region)
         throws IOException {
       RBlockState rbs = new RBlockState(compressAlgo, in, region, conf, decrypter);
@@ -754,6 +815,63 @@ public final class BCFile {
     }
   }
 
+  /**
+   * A data block in the form it is stored in a file, still compressed. Raw data blocks can be
+   * copied between files that are not encrypted and that use the same compression.
+   */
+  public static final class RawDataBlock {
+    private final byte[] data;
+    private final long rawSize;
+    private final Algorithm compressAlgo;
+
+    private RawDataBlock(byte[] data, long rawSize, Algorithm compressAlgo) {
+      this.data = data;
+      this.rawSize = rawSize;
+      this.compressAlgo = compressAlgo;
+    }
+
+    public long getCompressedSize() {
+      return data.length;
+    }
+
+    public long getRawSize() {
+      return rawSize;
+    }
+
+    /**
+     * @return a stream of the uncompressed contents of the block
+     */
+    public DataInputStream open() throws IOException {
+      Decompressor decompressor = compressAlgo.getDecompressor();
+      InputStream in;
+      try {
+        // the block is already in memory, so there is no need to buffer it
+        in = compressAlgo.createDecompressionStream(new ByteArrayInputStream(data), decompressor,
+            0);
+      } catch (IOException e) {
+        compressAlgo.returnDecompressor(decompressor);
+        throw e;
+      }
+
+      return new DataInputStream(in) {
+        private boolean closed = false;
+
+        @Override
+        public void close() throws IOException {
+          if (closed) {
+            return;
+          }
+          try {
+            super.close();
+          } finally {
+            closed = true;
+            compressAlgo.returnDecompressor(decompressor);
+          }
+        }
+      };
+    }
+  }
+
   /**
    * Index for all Meta blocks.
    */
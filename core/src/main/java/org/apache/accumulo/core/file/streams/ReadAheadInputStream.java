@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.file.streams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import org.apache.hadoop.fs.PositionedReadable;
+import org.apache.hadoop.fs.Seekable;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A decorator for an {@code InputStream} which reads ahead of the current position in the
+ * background. The data after the current position is split into a fixed number of chunks, and each
+ * chunk is read with a positioned read on the supplied executor. So at most
+ * {@code chunkSize * numChunks} bytes are buffered for a stream. This is meant for streams that
+ * are read sequentially from start to end, like the inputs of a compaction, on file systems where
+ * each read has a high latency. Seeking outside of the buffered data discards it and starts
+ * reading ahead from the new position.
+ */
+public class ReadAheadInputStream extends InputStream implements Seekable {
+
+  private static class Chunk {
+    final long start;
+    final CompletableFuture<byte[]> data;
+
+    Chunk(long start, CompletableFuture<byte[]> data) {
+      this.start = start;
+      this.data = data;
+    }
+  }
+
+  private final InputStream in;
+  private final Executor executor;
+  private final int chunkSize;
+  private final int numChunks;
+  private final ArrayDeque<Chunk> chunks = new ArrayDeque<>();
+  private final byte[] oneByte = new byte[1];
+  private long pos = 0;
+  private volatile boolean closed = false;
+
+  public <StreamType extends InputStream & PositionedReadable> ReadAheadInputStream(
+      StreamType in, Executor executor, int chunkSize, int numChunks) {
+    Preconditions.checkArgument(chunkSize > 0, "chunkSize must be positive, saw %s", chunkSize);
+    Preconditions.checkArgument(numChunks > 0, "numChunks must be positive, saw %s", numChunks);
+    this.in = in;
+    this.executor = executor;
+    this.chunkSize = chunkSize;
+    this.numChunks = numChunks;
+  }
+
+  /**
+   * Reads the chunk starting at the given position, which is only shorter than the chunk size at
+   * the end of the stream.
+   */
+  private byte[] readChunk(long start) {
+    byte[] buffer = new byte[chunkSize];
+    int len = 0;
+    try {
+      while (len < chunkSize && !closed) {
+        int count = ((PositionedReadable) in).read(start + len, buffer, len, chunkSize - len);
+        if (count < 0) {
+          break;
+        }
+        len += count;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return len == chunkSize ? buffer : Arrays.copyOf(buffer, len);
+  }
+
+  private void discardChunks() {
+    chunks.forEach(chunk -> chunk.data.cancel(false));
+    chunks.clear();
+  }
+
+  /**
+   * @return the chunk containing the current position, after scheduling reads of the chunks that
+   *         follow it
+   */
+  private Chunk getChunk() {
+    while (!chunks.isEmpty() && chunks.peekFirst().start + chunkSize <= pos) {
+      chunks.removeFirst();
+    }
+
+    if (!chunks.isEmpty() && chunks.peekFirst().start > pos) {
+      // seeked backwards
+      discardChunks();
+    }
+
+    long next = chunks.isEmpty() ? pos : chunks.peekLast().start + chunkSize;
+    while (chunks.size() < numChunks) {
+      final long start = next;
+      chunks.addLast(new Chunk(start, CompletableFuture.supplyAsync(() -> readChunk(start),
+          executor)));
+      next += chunkSize;
+    }
+
+    return chunks.peekFirst();
+  }
+
+  private static byte[] getData(Chunk chunk) throws IOException {
+    try {
+      return chunk.data.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while reading ahead");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) cause).getCause();
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    int ret = read(oneByte, 0, 1);
+    if (ret == 1) {
+      return oneByte[0] & 0xff;
+    }
+    return -1;
+  }
+
+  @Override
+  public synchronized int read(byte[] b, int off, int len) throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+    if ((off | len | (off + len) | (b.length - (off + len))) < 0) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (len == 0) {
+      return 0;
+    }
+
+    Chunk chunk = getChunk();
+    byte[] data = getData(chunk);
+    int chunkOffset = (int) (pos - chunk.start);
+    if (chunkOffset >= data.length) {
+      return -1;
+    }
+
+    int count = Math.min(len, data.length - chunkOffset);
+    System.arraycopy(data, chunkOffset, b, off, count);
+    pos += count;
+    return count;
+  }
+
+  @Override
+  public synchronized void seek(long pos) throws IOException {
+    if (pos < 0) {
+      throw new IOException("Cannot seek to negative position " + pos);
+    }
+    this.pos = pos;
+  }
+
+  @Override
+  public synchronized long getPos() {
+    return pos;
+  }
+
+  @Override
+  public boolean seekToNewSource(long targetPos) {
+    return false;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      discardChunks();
+      in.close();
+    }
+  }
+}
@@ -19,18 +19,27 @@
 package org.apache.accumulo.core.iteratorsImpl.system;
 
 import java.io.IOException;
-import java.util.PriorityQueue;
+import java.util.Arrays;
 
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 
 /**
- * Constructs a {@link PriorityQueue} of multiple SortedKeyValueIterators. Provides a simple way to
- * interact with multiple SortedKeyValueIterators in sorted order.
+ * Merges multiple SortedKeyValueIterators using a binary heap. Provides a simple way to interact
+ * with multiple SortedKeyValueIterators in sorted order.
+ *
+ * <p>
+ * The source with the smallest key is kept out of the heap and is advanced until its key passes the
+ * smallest key in the heap, so skewed sources (like one large file merged with many small ones)
+ * mostly cost a single comparison per entry. When the top source does change, it replaces the root
+ * of the heap in a single sift down. The top keys of the sources in the heap are cached, since they
+ * can not change while a source is in the heap.
  */
 public abstract class HeapIterator implements SortedKeyValueIterator<Key,Value> {
-  private PriorityQueue<SortedKeyValueIterator<Key,Value>> heap;
+  private SortedKeyValueIterator<Key,Value>[] heap;
+  private Key[] heapKeys;
+  private int heapSize = 0;
   private SortedKeyValueIterator<Key,Value> topIdx = null;
   private Key nextKey;
 
@@ -42,12 +51,14 @@ public abstract class HeapIterator implements SortedKeyValueIterator<Key,Value>
     createHeap(maxSize);
   }
 
+  @SuppressWarnings("unchecked")
   protected void createHeap(int maxSize) {
     if (heap != null)
       throw new IllegalStateException("heap already exist");
 
-    heap = new PriorityQueue<>(maxSize == 0 ? 1 : maxSize,
-        (si1, si2) -> si1.getTopKey().compareTo(si2.getTopKey()));
+    int capacity = maxSize == 0 ? 1 : maxSize;
+    heap = new SortedKeyValueIterator[capacity];
+    heapKeys = new Key[capacity];
   }
 
   @Override
@@ -78,15 +89,16 @@ public abstract class HeapIterator implements SortedKeyValueIterator<Key,Value>
         return;
       }
 
-      if (nextKey.compareTo(topIdx.getTopKey()) < 0) {
-        // Grab the next top iterator and put the current top iterator back on the heap
-        // This updating of references is special-cased to save on percolation on edge cases
-        // since the current top is guaranteed to not be the minimum
-        SortedKeyValueIterator<Key,Value> nextTopIdx = heap.remove();
-        heap.add(topIdx);
+      Key topKey = topIdx.getTopKey();
+      if (nextKey.compareTo(topKey) < 0) {
+        // Grab the next top iterator and put the current top iterator in its place in the heap.
+        // Since the current top is guaranteed to not be the minimum, this only needs to sift down
+        // from the root.
+        SortedKeyValueIterator<Key,Value> nextTopIdx = heap[0];
+        siftDown(0, topIdx, topKey);
 
         topIdx = nextTopIdx;
-        nextKey = heap.peek().getTopKey();
+        nextKey = heapKeys[0];
       }
     } else {
       if (nextKey == null) {
@@ -100,28 +112,88 @@ public abstract class HeapIterator implements SortedKeyValueIterator<Key,Value>
   }
 
   private void pullReferencesFromHeap() {
-    topIdx = heap.remove();
-    if (heap.isEmpty()) {
+    topIdx = heap[0];
+
+    int last = --heapSize;
+    SortedKeyValueIterator<Key,Value> lastSource = heap[last];
+    Key lastKey = heapKeys[last];
+    heap[last] = null;
+    heapKeys[last] = null;
+
+    if (heapSize == 0) {
       nextKey = null;
     } else {
-      nextKey = heap.peek().getTopKey();
+      siftDown(0, lastSource, lastKey);
+      nextKey = heapKeys[0];
+    }
+  }
+
+  private void siftDown(int pos, SortedKeyValueIterator<Key,Value> source, Key key) {
+    int half = heapSize >>> 1;
+    while (pos < half) {
+      int child = 2 * pos + 1;
+      int right = child + 1;
+      if (right < heapSize && heapKeys[right].compareTo(heapKeys[child]) < 0) {
+        child = right;
+      }
+
+      if (key.compareTo(heapKeys[child]) <= 0) {
+        break;
+      }
+
+      heap[pos] = heap[child];
+      heapKeys[pos] = heapKeys[child];
+      pos = child;
     }
+
+    heap[pos] = source;
+    heapKeys[pos] = key;
+  }
+
+  private void addToHeap(SortedKeyValueIterator<Key,Value> source, Key key) {
+    if (heapSize == heap.length) {
+      heap = Arrays.copyOf(heap, heapSize * 2);
+      heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+    }
+
+    int pos = heapSize++;
+    while (pos > 0) {
+      int parent = (pos - 1) >>> 1;
+      if (heapKeys[parent].compareTo(key) <= 0) {
+        break;
+      }
+
+      heap[pos] = heap[parent];
+      heapKeys[pos] = heapKeys[parent];
+      pos = parent;
+    }
+
+    heap[pos] = source;
+    heapKeys[pos] = key;
   }
 
   protected final void clear() {
-    heap.clear();
+    Arrays.fill(heap, 0, heapSize, null);
+    Arrays.fill(heapKeys, 0, heapSize, null);
+    heapSize = 0;
     topIdx = null;
     nextKey = null;
   }
 
   protected final void addSource(SortedKeyValueIterator<Key,Value> source) {
     if (source.hasTop()) {
-      heap.add(source);
-      if (topIdx != null) {
-        heap.add(topIdx);
+      Key key = source.getTopKey();
+      if (topIdx == null) {
+        // when there is no top the heap is always empty
+        topIdx = source;
+      } else if (key.compareTo(topIdx.getTopKey()) < 0) {
+        addToHeap(topIdx, topIdx.getTopKey());
+        topIdx = source;
+      } else {
+        addToHeap(source, key);
       }
 
-      pullReferencesFromHeap();
+      nextKey = heapSize == 0 ? null : heapKeys[0];
     }
   }
 }
@@ -45,6 +45,7 @@ import org.apache.accumulo.core.clientImpl.TabletLocatorImpl.TabletLocationObtai
 import org.apache.accumulo.core.clientImpl.TabletServerBatchReaderIterator;
 import org.apache.accumulo.core.clientImpl.TabletServerBatchReaderIterator.ResultReceiver;
 import org.apache.accumulo.core.clientImpl.ThriftScanner;
+import org.apache.accumulo.core.conf.ClientProperty;
 import org.apache.accumulo.core.data.Column;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.PartialKey;
@@ -68,8 +69,22 @@ public class MetadataLocationObtainer implements TabletLocationObtainer {
 
   private SortedSet<Column> locCols;
   private ArrayList<Column> columns;
+  private final int prefetch;
 
   public MetadataLocationObtainer() {
+    this(Constants.SCAN_BATCH_SIZE);
+  }
+
+  /**
+   * Creates an obtainer that reads the number of tablets to look up at once from the client
+   * properties of the context.
+   */
+  public MetadataLocationObtainer(ClientContext context) {
+    this(getPrefetch(context));
+  }
+
+  private MetadataLocationObtainer(int prefetch) {
+    this.prefetch = Math.max(1, prefetch);
 
     locCols = new TreeSet<>();
     locCols.add(new Column(TextUtil.getBytes(CurrentLocationColumnFamily.NAME), null, null));
@@ -104,19 +119,27 @@ public class MetadataLocationObtainer implements TabletLocationObtainer {
       List<IterInfo> serverSideIteratorList = new ArrayList<>();
       serverSideIteratorList.add(new IterInfo(10000, WholeRowIterator.class.getName(), "WRI"));
       Map<String,Map<String,String>> serverSideIteratorOptions = Collections.emptyMap();
+
+      // read the locations of the following tablets too, each whole row is one entry
       boolean more = ThriftScanner.getBatchFromServer(context, range, src.tablet_extent,
           src.tablet_location, encodedResults, locCols, serverSideIteratorList,
-          serverSideIteratorOptions, Constants.SCAN_BATCH_SIZE, Authorizations.EMPTY, 0L, null);
+          serverSideIteratorOptions, prefetch, Authorizations.EMPTY, 0L, null);
+      int rows = encodedResults.size();
 
       decodeRows(encodedResults, results);
 
-      if (more && results.size() == 1) {
+      while (more && (results.size() == 1 || rows < prefetch)) {
         range = new Range(results.lastKey().followingKey(PartialKey.ROW_COLFAM_COLQUAL_COLVIS_TIME),
             true, new Key(stopRow).followingKey(PartialKey.ROW), false);
         encodedResults.clear();
         more = ThriftScanner.getBatchFromServer(context, range, src.tablet_extent,
             src.tablet_location, encodedResults, locCols, serverSideIteratorList,
-            serverSideIteratorOptions, Constants.SCAN_BATCH_SIZE, Authorizations.EMPTY, 0L, null);
+            serverSideIteratorOptions, Math.max(1, prefetch - rows), Authorizations.EMPTY, 0L,
+            null);
+        if (encodedResults.isEmpty()) {
+          break;
+        }
+        rows += encodedResults.size();
 
         decodeRows(encodedResults, results);
       }
@@ -146,6 +169,11 @@ public class MetadataLocationObtainer implements TabletLocationObtainer {
     return null;
   }
 
+  private static int getPrefetch(ClientContext context) {
+    Integer prefetch = ClientProperty.TABLET_LOCATOR_PREFETCH.getInteger(context.getProperties());
+    return prefetch == null ? Constants.SCAN_BATCH_SIZE : prefetch;
+  }
+
   private void decodeRows(TreeMap<Key,Value> encodedResults, TreeMap<Key,Value> results)
       throws AccumuloException {
     for (Entry<Key,Value> entry : encodedResults.entrySet()) {
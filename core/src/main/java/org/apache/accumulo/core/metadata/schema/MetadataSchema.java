@@ -466,4 +466,51 @@ public class MetadataSchema {
       return section.getRowPrefix();
     }
   }
+
+  /**
+   * Holds FATE transactions when they are stored in the metadata table instead of ZooKeeper
+   *
+   * <pre>
+   * <code>
+   * ~fate&lt;tid&gt; tx:status [] -&gt; status name
+   * ~fate&lt;tid&gt; tx:created [] -&gt; creation time in millis
+   * ~fate&lt;tid&gt; repo:&lt;sequence&gt; [] -&gt; serialized repo
+   * ~fate&lt;tid&gt; prop:&lt;name&gt; [] -&gt; property value
+   * </code>
+   * </pre>
+   */
+  public static class FateSection {
+    private static final Section section =
+        new Section(RESERVED_PREFIX + "fate", true, RESERVED_PREFIX + "fatf", false);
+
+    public static Range getRange() {
+      return section.getRange();
+    }
+
+    public static String getRowPrefix() {
+      return section.getRowPrefix();
+    }
+
+    public static String encodeRow(long tid) {
+      return section.getRowPrefix() + String.format("%016x", tid);
+    }
+
+    public static long decodeRow(String row) {
+      return Long.parseLong(row.substring(section.getRowPrefix().length()), 16);
+    }
+
+    public static class TxColumnFamily {
+      public static final Text NAME = new Text("tx");
+      public static final ColumnFQ STATUS_COLUMN = new ColumnFQ(NAME, new Text("status"));
+      public static final ColumnFQ CREATED_COLUMN = new ColumnFQ(NAME, new Text("created"));
+    }
+
+    public static class RepoColumnFamily {
+      public static final Text NAME = new Text("repo");
+    }
+
+    public static class PropertyColumnFamily {
+      public static final Text NAME = new Text("prop");
+    }
+  }
 }
@@ -414,6 +414,22 @@ import io.micrometer.core.instrument.MeterRegistry;
  * <td>The compaction service information is in a tag:
  * id={i|e}_{compactionServiceName}_{executor_name}</td>
  * </tr>
+ * <tr>
+ * <td>N/A</td>
+ * <td>N/A</td>
+ * <td>{@link #METRICS_MAJC_THROUGHPUT}</td>
+ * <td>Gauge</td>
+ * <td>Entries read per second by the internal major compactions running on the tablet
+ * server</td>
+ * </tr>
+ * <tr>
+ * <td>N/A</td>
+ * <td>N/A</td>
+ * <td>{@link #METRICS_MAJC_TIME_REMAINING}</td>
+ * <td>Gauge</td>
+ * <td>Longest estimated time remaining, in milliseconds, of the internal major compactions running
+ * on the tablet server</td>
+ * </tr>
  * <!-- minor compactions -->
  * <tr>
  * <td>Queue</td>
@@ -567,6 +583,8 @@ public interface MetricsProducer {
   String METRICS_MAJC_PREFIX = "accumulo.tserver.compactions.majc.";
   String METRICS_MAJC_QUEUED = METRICS_MAJC_PREFIX + "queued";
   String METRICS_MAJC_RUNNING = METRICS_MAJC_PREFIX + "running";
+  String METRICS_MAJC_THROUGHPUT = METRICS_MAJC_PREFIX + "throughput";
+  String METRICS_MAJC_TIME_REMAINING = METRICS_MAJC_PREFIX + "time.remaining";
 
   String METRICS_MINC_PREFIX = "accumulo.tserver.compactions.minc.";
   String METRICS_MINC_QUEUED = METRICS_MINC_PREFIX + "queued";
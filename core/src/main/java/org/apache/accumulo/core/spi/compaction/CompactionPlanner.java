@@ -19,10 +19,14 @@
 package org.apache.accumulo.core.spi.compaction;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 import org.apache.accumulo.core.client.admin.CompactionConfig;
 import org.apache.accumulo.core.client.admin.compaction.CompactableFile;
+import org.apache.accumulo.core.client.summary.SummarizerConfiguration;
+import org.apache.accumulo.core.client.summary.Summary;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.spi.common.ServiceEnvironment;
 
@@ -118,6 +122,39 @@ public interface CompactionPlanner {
      */
     Map<String,String> getExecutionHints();
 
+    /**
+     * @return the number of key values read from the tablet per second by scans. This is a
+     *         decaying average maintained by the tablet server. Returns 0 when the rate is not
+     *         known.
+     * @since 2.1.0
+     */
+    default double getScanRate() {
+      return 0;
+    }
+
+    /**
+     * @return the number of key values written to the tablet per second. This is a decaying average
+     *         maintained by the tablet server. Returns 0 when the rate is not known.
+     * @since 2.1.0
+     */
+    default double getIngestRate() {
+      return 0;
+    }
+
+    /**
+     * Reads summary information for the portion of the given files that falls within the tablet.
+     * Summaries are only available for files that were written while summarizers were configured
+     * for the table. Returns an empty collection when summaries can not be read.
+     *
+     * @param summarySelector
+     *          only summarizers that match this predicate are read
+     * @since 2.1.0
+     */
+    default Collection<Summary> getSummaries(Collection<CompactableFile> files,
+        Predicate<SummarizerConfiguration> summarySelector) {
+      return List.of();
+    }
+
     /**
      * @return A compaction plan builder that must be used to create a compaction plan.
      */
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.spi.compaction;
+
+import static org.apache.accumulo.core.client.summary.summarizers.DeletesSummarizer.DELETES_STAT;
+import static org.apache.accumulo.core.client.summary.summarizers.DeletesSummarizer.TOTAL_STAT;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.apache.accumulo.core.client.admin.compaction.CompactableFile;
+import org.apache.accumulo.core.client.summary.SummarizerConfiguration;
+import org.apache.accumulo.core.client.summary.Summary;
+import org.apache.accumulo.core.client.summary.summarizers.DeletesSummarizer;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.spi.common.ServiceEnvironment;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A planner that compacts tablets more aggressively the more expensive they are to read. It plans
+ * the same way as {@link DefaultCompactionPlanner}, but for system compactions it lowers the
+ * compaction ratio of each tablet based on the tablet's read cost and raises the priority of jobs
+ * that remove the most read cost per byte rewritten. User, selector and chop compactions are
+ * planned exactly as the default planner would.
+ *
+ * <p>
+ * The read cost of a tablet is the number of key values scans read from it per second multiplied
+ * by the number of files each scan must merge. When the {@link DeletesSummarizer} is configured
+ * for a table, the read cost is also inflated by the fraction of entries that are deletes, since
+ * scans read those but never return them. Tablets that are mostly written rather than read are
+ * left close to the configured ratio, because files that are compacted eagerly on those tablets
+ * would soon be rewritten again.
+ *
+ * <p>
+ * All of the options supported by {@link DefaultCompactionPlanner} are supported. The following
+ * additional options are supported. Replace {@code <service>} with the name of the compaction
+ * service you are configuring.
+ *
+ * <ul>
+ * <li>{@code tserver.compaction.major.service.<service>.opts.hotReadCost} The read cost at which a
+ * tablet is considered fully hot. Defaults to {@value #HOT_READ_COST_DEFAULT}.
+ * <li>{@code tserver.compaction.major.service.<service>.opts.minRatio} The compaction ratio used
+ * for fully hot tablets. Tablets between cold and fully hot use a ratio between the table's
+ * configured ratio and this. Defaults to {@value #MIN_RATIO_DEFAULT}.
+ * </ul>
+ *
+ * @since 2.1.0
+ * @see org.apache.accumulo.core.spi.compaction
+ */
+public class CostBasedCompactionPlanner extends DefaultCompactionPlanner {
+
+  public static final String HOT_READ_COST_OPT = "hotReadCost";
+  public static final String HOT_READ_COST_DEFAULT = "100000";
+  public static final String MIN_RATIO_OPT = "minRatio";
+  public static final String MIN_RATIO_DEFAULT = "1.5";
+
+  private double hotReadCost;
+  private double minRatio;
+
+  @Override
+  public void init(InitParameters params) {
+    super.init(params);
+
+    var options = params.getOptions();
+    hotReadCost =
+        Double.parseDouble(options.getOrDefault(HOT_READ_COST_OPT, HOT_READ_COST_DEFAULT));
+    minRatio = Double.parseDouble(options.getOrDefault(MIN_RATIO_OPT, MIN_RATIO_DEFAULT));
+
+    Preconditions.checkArgument(hotReadCost > 0, "%s must be positive, saw %s", HOT_READ_COST_OPT,
+        hotReadCost);
+    Preconditions.checkArgument(minRatio >= 1, "%s must be at least 1, saw %s", MIN_RATIO_OPT,
+        minRatio);
+  }
+
+  @Override
+  public CompactionPlan makePlan(PlanningParameters params) {
+    if (params.getKind() != CompactionKind.SYSTEM || params.getCandidates().isEmpty()
+        || params.getScanRate() <= 0) {
+      return super.makePlan(params);
+    }
+
+    int numFiles = params.getAll().size();
+    double readCost = readCost(params.getScanRate(), numFiles, getDeleteFraction(params));
+    double heat = heat(readCost, hotReadCost, params.getScanRate(), params.getIngestRate());
+    double ratio = adjustRatio(params.getRatio(), minRatio, heat);
+
+    CompactionPlan plan = super.makePlan(new RatioOverride(params, ratio));
+    if (plan.getJobs().isEmpty()) {
+      return plan;
+    }
+
+    var builder = params.createPlanBuilder();
+    for (CompactionJob job : plan.getJobs()) {
+      builder.addJob(adjustPriority(job.getPriority(), readCost, numFiles, job.getFiles()),
+          job.getExecutor(), job.getFiles());
+    }
+    return builder.build();
+  }
+
+  /**
+   * @return the fraction of the tablet's entries that are deletes, or 0 if the
+   *         {@link DeletesSummarizer} is not configured for the table
+   */
+  private double getDeleteFraction(PlanningParameters params) {
+    var tableConf = params.getServiceEnvironment().getConfiguration(params.getTableId());
+    var summarizers = SummarizerConfiguration
+        .fromTableProperties(tableConf.getWithPrefix(Property.TABLE_SUMMARIZER_PREFIX.getKey()));
+
+    if (summarizers.stream().map(SummarizerConfiguration::getClassName)
+        .noneMatch(DeletesSummarizer.class.getName()::equals)) {
+      return 0;
+    }
+
+    Predicate<SummarizerConfiguration> summarizerPredicate =
+        conf -> conf.getClassName().equals(DeletesSummarizer.class.getName())
+            && conf.getOptions().isEmpty();
+
+    long total = 0;
+    long deletes = 0;
+    for (Summary summary : params.getSummaries(params.getAll(), summarizerPredicate)) {
+      total += summary.getStatistics().getOrDefault(TOTAL_STAT, 0L);
+      deletes += summary.getStatistics().getOrDefault(DELETES_STAT, 0L);
+    }
+
+    return total == 0 ? 0 : deletes / (double) total;
+  }
+
+  static double readCost(double scanRate, int numFiles, double deleteFraction) {
+    return scanRate * numFiles / Math.max(.01, 1 - deleteFraction);
+  }
+
+  /**
+   * @return a value between 0 and 1 indicating how hot a tablet is to read
+   */
+  static double heat(double readCost, double hotReadCost, double scanRate, double ingestRate) {
+    double heat = Math.min(1.0, readCost / hotReadCost);
+    if (scanRate + ingestRate > 0) {
+      // scale down tablets that see more writes than reads
+      heat *= scanRate / (scanRate + ingestRate);
+    }
+    return heat;
+  }
+
+  static double adjustRatio(double ratio, double minRatio, double heat) {
+    if (ratio <= minRatio) {
+      return ratio;
+    }
+    return ratio - (ratio - minRatio) * heat;
+  }
+
+  /**
+   * Raises the priority of a system compaction by the read cost it removes per megabyte rewritten.
+   * Each file removed from a tablet saves scans from merging it.
+   */
+  static short adjustPriority(short priority, double readCost, int numFiles,
+      Collection<CompactableFile> files) {
+    long bytes = files.stream().mapToLong(CompactableFile::getEstimatedSize).sum();
+    double saved = readCost / numFiles * (files.size() - 1);
+    double savedPerMB = saved / Math.max(1.0, bytes / (double) (1 << 20));
+    long boost = Math.min(Short.MAX_VALUE, Math.round(savedPerMB));
+    // system compactions always have a negative priority so they run after user compactions
+    return (short) Math.min(-1, priority + boost);
+  }
+
+  private static class RatioOverride implements PlanningParameters {
+    private final PlanningParameters params;
+    private final double ratio;
+
+    RatioOverride(PlanningParameters params, double ratio) {
+      this.params = params;
+      this.ratio = ratio;
+    }
+
+    @Override
+    public TableId getTableId() {
+      return params.getTableId();
+    }
+
+    @Override
+    public ServiceEnvironment getServiceEnvironment() {
+      return params.getServiceEnvironment();
+    }
+
+    @Override
+    public CompactionKind getKind() {
+      return params.getKind();
+    }
+
+    @Override
+    public double getRatio() {
+      return ratio;
+    }
+
+    @Override
+    public Collection<CompactableFile> getAll() {
+      return params.getAll();
+    }
+
+    @Override
+    public Collection<CompactableFile> getCandidates() {
+      return params.getCandidates();
+    }
+
+    @Override
+    public Collection<CompactionJob> getRunningCompactions() {
+      return params.getRunningCompactions();
+    }
+
+    @Override
+    public Map<String,String> getExecutionHints() {
+      return params.getExecutionHints();
+    }
+
+    @Override
+    public double getScanRate() {
+      return params.getScanRate();
+    }
+
+    @Override
+    public double getIngestRate() {
+      return params.getIngestRate();
+    }
+
+    @Override
+    public Collection<Summary> getSummaries(Collection<CompactableFile> files,
+        Predicate<SummarizerConfiguration> summarySelector) {
+      return params.getSummaries(files, summarySelector);
+    }
+
+    @Override
+    public CompactionPlan.Builder createPlanBuilder() {
+      return params.createPlanBuilder();
+    }
+  }
+}
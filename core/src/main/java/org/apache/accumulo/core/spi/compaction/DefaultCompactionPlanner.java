@@ -209,6 +209,10 @@ public class DefaultCompactionPlanner implements CompactionPlanner {
     determineMaxFilesToCompact(params);
   }
 
+  int getMaxFilesToCompact() {
+    return maxFilesToCompact;
+  }
+
   @SuppressWarnings("removal")
   private void determineMaxFilesToCompact(InitParameters params) {
     String fqo = params.getFullyQualifiedOption("maxOpen");
@@ -316,7 +320,7 @@ public class DefaultCompactionPlanner implements CompactionPlanner {
         group.size());
   }
 
-  private long getMaxSizeToCompact(CompactionKind kind) {
+  long getMaxSizeToCompact(CompactionKind kind) {
     if (kind == CompactionKind.SYSTEM) {
       Long max = executors.get(executors.size() - 1).maxSize;
       if (max != null)
@@ -325,7 +329,7 @@ public class DefaultCompactionPlanner implements CompactionPlanner {
     return Long.MAX_VALUE;
   }
 
-  private CompactableFile getExpected(Collection<CompactableFile> files, int count) {
+  CompactableFile getExpected(Collection<CompactableFile> files, int count) {
     long size = files.stream().mapToLong(CompactableFile::getEstimatedSize).sum();
     try {
       return CompactableFile.create(
@@ -339,7 +343,7 @@ public class DefaultCompactionPlanner implements CompactionPlanner {
   /**
    * @return the expected files sizes for sets of compacting files.
    */
-  private Set<CompactableFile> getExpected(Collection<CompactionJob> compacting) {
+  Set<CompactableFile> getExpected(Collection<CompactionJob> compacting) {
 
     Set<CompactableFile> expected = new HashSet<>();
 
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.spi.compaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.accumulo.core.client.admin.compaction.CompactableFile;
+import org.apache.accumulo.core.conf.ConfigurationTypeHelper;
+import org.apache.accumulo.core.util.compaction.CompactionJobPrioritizer;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A planner that bounds how many times system compactions rewrite data. Every file in a tablet is
+ * placed in a level by its size. Level 0 holds files up to {@code levelBase} in size, and each
+ * level after that holds files up to {@code fanout} times larger than the level before it. A system
+ * compaction only ever merges files from a single level, and only once that level has
+ * {@code fanout} files. So data is rewritten at most once per level, no matter how many small
+ * files are added to the tablet. The default planner may rewrite the largest file of a tablet
+ * every time enough small files arrive to meet the compaction ratio. This planner rewrites the
+ * largest file only when the level below it is full.
+ *
+ * <p>
+ * The cost is more files per tablet. A tablet may have up to {@code fanout - 1} files in each
+ * level, so scans may have to merge more files than with the default planner.
+ *
+ * <p>
+ * User, selector and chop compactions are planned exactly as {@link DefaultCompactionPlanner}
+ * would plan them. All of the options supported by {@link DefaultCompactionPlanner} are
+ * supported. The following additional options are supported. Replace {@code <service>} with the
+ * name of the compaction service you are configuring.
+ *
+ * <ul>
+ * <li>{@code tserver.compaction.major.service.<service>.opts.levelBase} The largest file size in
+ * level 0. Can have a suffix of K,M,G. Defaults to {@value #LEVEL_BASE_DEFAULT}.
+ * <li>{@code tserver.compaction.major.service.<service>.opts.fanout} The number of files a level
+ * must have before they are compacted, and the size ratio between levels. Must be at least 2.
+ * Defaults to {@value #FANOUT_DEFAULT}.
+ * </ul>
+ *
+ * @since 2.1.0
+ * @see org.apache.accumulo.core.spi.compaction
+ */
+public class LeveledCompactionPlanner extends DefaultCompactionPlanner {
+
+  public static final String LEVEL_BASE_OPT = "levelBase";
+  public static final String LEVEL_BASE_DEFAULT = "16M";
+  public static final String FANOUT_OPT = "fanout";
+  public static final String FANOUT_DEFAULT = "8";
+
+  private long levelBase;
+  private int fanout;
+
+  @Override
+  public void init(InitParameters params) {
+    super.init(params);
+
+    var options = params.getOptions();
+    levelBase = ConfigurationTypeHelper
+        .getFixedMemoryAsBytes(options.getOrDefault(LEVEL_BASE_OPT, LEVEL_BASE_DEFAULT));
+    fanout = Integer.parseInt(options.getOrDefault(FANOUT_OPT, FANOUT_DEFAULT));
+
+    Preconditions.checkArgument(levelBase > 0, "%s must be positive, saw %s", LEVEL_BASE_OPT,
+        levelBase);
+    Preconditions.checkArgument(fanout >= 2, "%s must be at least 2, saw %s", FANOUT_OPT, fanout);
+    Preconditions.checkArgument(fanout <= getMaxFilesToCompact(),
+        "%s must not be greater than maxOpen, saw %s > %s", FANOUT_OPT, fanout,
+        getMaxFilesToCompact());
+  }
+
+  @Override
+  public CompactionPlan makePlan(PlanningParameters params) {
+    if (params.getKind() != CompactionKind.SYSTEM || params.getCandidates().isEmpty()) {
+      return super.makePlan(params);
+    }
+
+    // Files that running compactions will produce count towards the level they will land in. If a
+    // level needs to compact one of those files, then wait for the running compaction.
+    Set<CompactableFile> expected = getExpected(params.getRunningCompactions());
+    Set<CompactableFile> files = new HashSet<>(params.getCandidates());
+    files.addAll(expected);
+
+    var group = findLevelToCompact(files, levelBase, fanout,
+        getMaxSizeToCompact(params.getKind()));
+
+    if (group.isEmpty() || !Collections.disjoint(group, expected)) {
+      return params.createPlanBuilder().build();
+    }
+
+    var priority = CompactionJobPrioritizer.createPriority(params.getKind(),
+        params.getAll().size(), group.size());
+    return params.createPlanBuilder().addJob(priority, getExecutor(group), group).build();
+  }
+
+  /**
+   * @return the level a file of the given size belongs in
+   */
+  static int getLevel(long size, long levelBase, int fanout) {
+    int level = 0;
+    long levelMax = levelBase;
+    while (size > levelMax) {
+      level++;
+      if (levelMax > Long.MAX_VALUE / fanout) {
+        break;
+      }
+      levelMax *= fanout;
+    }
+    return level;
+  }
+
+  /**
+   * Finds the files of the lowest level that has at least {@code fanout} files. Lower levels are
+   * compacted first because they are cheaper and remove files from the tablet more quickly.
+   *
+   * @return the files to compact, or an empty set if no level is full
+   */
+  static Collection<CompactableFile> findLevelToCompact(Set<CompactableFile> files,
+      long levelBase, int fanout, long maxSizeToCompact) {
+    TreeMap<Integer,List<CompactableFile>> levels = new TreeMap<>();
+    for (CompactableFile file : sortByFileSize(files)) {
+      levels.computeIfAbsent(getLevel(file.getEstimatedSize(), levelBase, fanout),
+          l -> new ArrayList<>()).add(file);
+    }
+
+    for (List<CompactableFile> level : levels.values()) {
+      if (level.size() < fanout) {
+        continue;
+      }
+
+      // compact the smallest fanout files in the level that fit in the largest executor
+      List<CompactableFile> group = new ArrayList<>(fanout);
+      long sum = 0;
+      for (CompactableFile file : level) {
+        if (group.size() == fanout || sum + file.getEstimatedSize() > maxSizeToCompact) {
+          break;
+        }
+        group.add(file);
+        sum += file.getEstimatedSize();
+      }
+
+      if (group.size() == fanout) {
+        return group;
+      }
+    }
+
+    return Set.of();
+  }
+}
@@ -31,6 +31,7 @@ import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.file.FileSKVWriter;
+import org.apache.accumulo.core.file.rfile.RFile;
 import org.apache.hadoop.io.WritableUtils;
 
 public class SummaryWriter implements FileSKVWriter {
@@ -86,6 +87,22 @@ public class SummaryWriter implements FileSKVWriter {
     }
   }
 
+  @Override
+  public boolean appendRawBlock(RFile.RawBlock block) throws IOException {
+    if (!writer.appendRawBlock(block)) {
+      return false;
+    }
+
+    List<Key> keys = block.getKeys();
+    List<Value> values = block.getValues();
+    for (int i = 0; i < keys.size(); i++) {
+      for (SummarySerializer.Builder ssb : summaryStores) {
+        ssb.put(keys.get(i), values.get(i));
+      }
+    }
+    return true;
+  }
+
   @Override
   public DataOutputStream createMetaStore(String name) throws IOException {
     return writer.createMetaStore(name);
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.util.compaction;
+
+/**
+ * Estimates how far along a compaction is from the number of entries it has read and the number of
+ * entries in its input files. Input files report an estimated number of entries, so the estimates
+ * are approximate and are capped so they never go past done.
+ */
+public class CompactionProgress {
+
+  private CompactionProgress() {}
+
+  /**
+   * @return the fraction of the input read, between 0 and 1, or -1 when the amount of input is not
+   *         known
+   */
+  public static double getProgress(long entriesRead, long entriesToBeCompacted) {
+    if (entriesToBeCompacted <= 0) {
+      return -1;
+    }
+    return Math.min(1.0, entriesRead / (double) entriesToBeCompacted);
+  }
+
+  /**
+   * @return the number of entries read per second
+   */
+  public static double getEntriesPerSecond(long entriesRead, long elapsedMillis) {
+    if (elapsedMillis <= 0) {
+      return 0;
+    }
+    return entriesRead * 1000.0 / elapsedMillis;
+  }
+
+  /**
+   * Estimates the time remaining assuming the compaction keeps reading at the rate it has read so
+   * far.
+   *
+   * @return the estimated number of milliseconds remaining, or -1 when it can not be estimated
+   */
+  public static long getEstimatedTimeRemaining(long entriesRead, long entriesToBeCompacted,
+      long elapsedMillis) {
+    double progress = getProgress(entriesRead, entriesToBeCompacted);
+    if (progress <= 0 || elapsedMillis < 0) {
+      return -1;
+    }
+    return Math.round(elapsedMillis * (1 - progress) / progress);
+  }
+}
@@ -40,13 +40,15 @@ public class RunningCompactionInfo {
   public final String tableId;
   public final int numFiles;
   public final float progress;
+  public final long estimatedTimeRemaining;
   public final long duration;
   public final String status;
   public final long lastUpdate;
 
   /**
    * Info parsed about the external running compaction. Calculate the progress, which is defined as
-   * the percentage of bytesRead / bytesToBeCompacted of the last update.
+   * the percentage of bytesRead / bytesToBeCompacted of the last update, and an estimate of the
+   * time remaining based on the rate input was read up until the last update.
    */
   public RunningCompactionInfo(TExternalCompaction ec) {
     requireNonNull(ec, "Thrift external compaction is null.");
@@ -88,6 +90,7 @@ public class RunningCompactionInfo {
       log.debug("No updates found for {}", ecid);
       lastUpdate = nowMillis;
       progress = percent;
+      estimatedTimeRemaining = -1;
       status = "na";
       return;
     }
@@ -103,6 +106,10 @@ public class RunningCompactionInfo {
     lastUpdate = nowMillis - updateMillis;
     progress = percent;
 
+    long remaining = CompactionProgress.getEstimatedTimeRemaining(last.getEntriesRead(), total,
+        updateMillis - startedMillis);
+    estimatedTimeRemaining = remaining < 0 ? -1 : Math.max(0, remaining - lastUpdate);
+
     if (updates.isEmpty()) {
       status = "na";
     } else {
@@ -117,6 +124,6 @@ public class RunningCompactionInfo {
 
   @Override
   public String toString() {
-    return ecid + ": " + status + " progress: " + progress;
+    return ecid + ": " + status + " progress: " + progress + " eta: " + estimatedTimeRemaining;
   }
 }
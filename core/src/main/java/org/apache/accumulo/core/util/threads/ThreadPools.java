@@ -136,6 +136,9 @@ public class ThreadPools {
       case TSERV_ASSIGNMENT_MAXCONCURRENT:
         return createFixedThreadPool(conf.getCount(p), 0L, TimeUnit.MILLISECONDS,
             "tablet assignment");
+      case TSERV_BULK_LOAD_THREADS:
+        return createThreadPool(conf.getCount(p), conf.getCount(p), 60, TimeUnit.SECONDS,
+            "bulk loader");
       case TSERV_SUMMARY_RETRIEVAL_THREADS:
         return createThreadPool(conf.getCount(p), conf.getCount(p), 60, TimeUnit.SECONDS,
             "summary file retriever");
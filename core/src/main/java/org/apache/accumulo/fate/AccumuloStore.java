@@ -0,0 +1,425 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.fate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Serializable;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.ConditionalWriter;
+import org.apache.accumulo.core.client.ConditionalWriter.Status;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.clientImpl.ClientContext;
+import org.apache.accumulo.core.data.Condition;
+import org.apache.accumulo.core.data.ConditionalMutation;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.FateSection;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.FateSection.PropertyColumnFamily;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.FateSection.RepoColumnFamily;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.FateSection.TxColumnFamily;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.accumulo.core.util.ColumnFQ;
+import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A transaction store that keeps each transaction in a row of an Accumulo table, laid out as
+ * described by {@link FateSection}. Creating a transaction and changing its status are done with
+ * conditional mutations, so a transaction id is never handed out twice and a late status change can
+ * not bring back a deleted transaction. Finding work to reserve is a single scan of the status
+ * column instead of a read per transaction.
+ *
+ * <p>
+ * Like {@link ZooStore}, reservations are only kept in memory, so a table must only be used by one
+ * store at a time. The table must use logical time, as the metadata table does, so that a repo that
+ * is popped and pushed again is not hidden by its own delete.
+ *
+ * <p>
+ * The writers of the store are kept open between calls and must be released with {@link #close()}.
+ */
+public class AccumuloStore<T> implements TStore<T>, AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(AccumuloStore.class);
+  private static final SecureRandom random = new SecureRandom();
+  private static final int MAX_REPOS = 100;
+
+  private final ClientContext context;
+  private final String tableName;
+  private ConditionalWriter conditionalWriter;
+  private BatchWriter writer;
+
+  private final Reservations reservations;
+
+  public AccumuloStore(ClientContext context, String tableName) {
+    this.context = context;
+    this.tableName = tableName;
+    this.reservations = new Reservations(this::listRunnable, this::_getStatus);
+  }
+
+  private synchronized ConditionalWriter getConditionalWriter() throws TableNotFoundException {
+    if (conditionalWriter == null) {
+      conditionalWriter = context.createConditionalWriter(tableName);
+    }
+    return conditionalWriter;
+  }
+
+  private synchronized BatchWriter getWriter() throws TableNotFoundException {
+    if (writer == null) {
+      writer = context.createBatchWriter(tableName);
+    }
+    return writer;
+  }
+
+  /**
+   * Releases the writers of the store. They are created again if the store is used after this.
+   */
+  @Override
+  public synchronized void close() {
+    if (conditionalWriter != null) {
+      conditionalWriter.close();
+      conditionalWriter = null;
+    }
+    if (writer != null) {
+      try {
+        writer.close();
+      } catch (MutationsRejectedException e) {
+        log.warn("Failed to close FATE writer", e);
+      }
+      writer = null;
+    }
+  }
+
+  void write(Mutation m) {
+    try {
+      BatchWriter bw = getWriter();
+      bw.addMutation(m);
+      bw.flush();
+    } catch (TableNotFoundException | MutationsRejectedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * @return ACCEPTED, REJECTED or UNKNOWN if it is not known if the mutation was written
+   */
+  Status write(ConditionalMutation cm) {
+    try {
+      Status status = getConditionalWriter().write(cm).getStatus();
+      if (status == Status.VIOLATED || status == Status.INVISIBLE_VISIBILITY) {
+        throw new IllegalStateException("Failed to write FATE transaction " + status);
+      }
+      return status;
+    } catch (TableNotFoundException | AccumuloException | AccumuloSecurityException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Reads the entries in a range of the table.
+   *
+   * @param family
+   *          the column family to read, or null to read every column
+   * @param qualifier
+   *          the column qualifier to read within the family, or null to read the whole family
+   */
+  List<Entry<Key,Value>> read(Range range, Text family, Text qualifier) {
+    List<Entry<Key,Value>> entries = new ArrayList<>();
+    try (Scanner scanner = context.createScanner(tableName, Authorizations.EMPTY)) {
+      scanner.setRange(range);
+      if (family != null && qualifier != null) {
+        scanner.fetchColumn(family, qualifier);
+      } else if (family != null) {
+        scanner.fetchColumnFamily(family);
+      }
+      for (Entry<Key,Value> entry : scanner) {
+        entries.add(entry);
+      }
+    } catch (TableNotFoundException e) {
+      throw new RuntimeException(e);
+    }
+    return entries;
+  }
+
+  private List<Entry<Key,Value>> read(long tid, Text family, Text qualifier) {
+    return read(new Range(FateSection.encodeRow(tid)), family, qualifier);
+  }
+
+  private List<Entry<Key,Value>> read(long tid, ColumnFQ column) {
+    return read(tid, column.getColumnFamily(), column.getColumnQualifier());
+  }
+
+  long nextTid() {
+    return random.nextLong() & 0x7fffffffffffffffL;
+  }
+
+  private static ConditionalMutation newConditionalMutation(long tid, TStatus expected) {
+    Condition condition = new Condition(TxColumnFamily.STATUS_COLUMN.getColumnFamily(),
+        TxColumnFamily.STATUS_COLUMN.getColumnQualifier());
+    if (expected != null) {
+      condition.setValue(expected.name());
+    }
+    return new ConditionalMutation(FateSection.encodeRow(tid), condition);
+  }
+
+  @Override
+  public long create() {
+    while (true) {
+      long tid = nextTid();
+      ConditionalMutation cm = newConditionalMutation(tid, null);
+      TxColumnFamily.STATUS_COLUMN.put(cm, new Value(TStatus.NEW.name()));
+      TxColumnFamily.CREATED_COLUMN.put(cm, new Value(Long.toString(System.currentTimeMillis())));
+      // if the outcome is unknown, a transaction may have been left in NEW and it will be aged off
+      if (write(cm) == Status.ACCEPTED) {
+        return tid;
+      }
+      // exist, so just try another random #
+    }
+  }
+
+  @Override
+  public long reserve() {
+    return reservations.reserve();
+  }
+
+  private List<Long> listRunnable() {
+    List<Long> runnable = new ArrayList<>();
+    for (Entry<Key,Value> entry : read(FateSection.getRange(),
+        TxColumnFamily.STATUS_COLUMN.getColumnFamily(),
+        TxColumnFamily.STATUS_COLUMN.getColumnQualifier())) {
+      TStatus status = TStatus.valueOf(entry.getValue().toString());
+      if (status == TStatus.IN_PROGRESS || status == TStatus.FAILED_IN_PROGRESS) {
+        runnable.add(FateSection.decodeRow(entry.getKey().getRowData().toString()));
+      }
+    }
+    return runnable;
+  }
+
+  @Override
+  public void reserve(long tid) {
+    reservations.reserve(tid);
+  }
+
+  @Override
+  public void unreserve(long tid, long deferTime) {
+    reservations.unreserve(tid, deferTime);
+  }
+
+  private void verifyReserved(long tid) {
+    reservations.verifyReserved(tid);
+  }
+
+  /**
+   * @return the repos of a transaction by their sequence number
+   */
+  private SortedMap<String,Value> readRepos(long tid) {
+    SortedMap<String,Value> repos = new TreeMap<>();
+    for (Entry<Key,Value> entry : read(tid, RepoColumnFamily.NAME, null)) {
+      repos.put(entry.getKey().getColumnQualifierData().toString(), entry.getValue());
+    }
+    return repos;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Repo<T> top(long tid) {
+    verifyReserved(tid);
+
+    SortedMap<String,Value> repos = readRepos(tid);
+    if (repos.isEmpty()) {
+      return null;
+    }
+    return (Repo<T>) ZooStore.deserialize(repos.get(repos.lastKey()).get());
+  }
+
+  @Override
+  public void push(long tid, Repo<T> repo) throws StackOverflowException {
+    verifyReserved(tid);
+
+    SortedMap<String,Value> repos = readRepos(tid);
+    int next = repos.isEmpty() ? 0 : Integer.parseInt(repos.lastKey()) + 1;
+    if (next > MAX_REPOS) {
+      throw new StackOverflowException("Repo stack size too large");
+    }
+
+    Mutation m = new Mutation(FateSection.encodeRow(tid));
+    m.put(RepoColumnFamily.NAME, new Text(String.format("%03d", next)),
+        new Value(ZooStore.serialize(repo)));
+    write(m);
+  }
+
+  @Override
+  public void pop(long tid) {
+    verifyReserved(tid);
+
+    SortedMap<String,Value> repos = readRepos(tid);
+    if (repos.isEmpty())
+      throw new IllegalStateException("Tried to pop when empty " + FateTxId.formatTid(tid));
+
+    Mutation m = new Mutation(FateSection.encodeRow(tid));
+    m.putDelete(RepoColumnFamily.NAME, new Text(repos.lastKey()));
+    write(m);
+  }
+
+  private TStatus _getStatus(long tid) {
+    for (Entry<Key,Value> entry : read(tid, TxColumnFamily.STATUS_COLUMN)) {
+      return TStatus.valueOf(entry.getValue().toString());
+    }
+    return TStatus.UNKNOWN;
+  }
+
+  @Override
+  public TStatus getStatus(long tid) {
+    verifyReserved(tid);
+    return _getStatus(tid);
+  }
+
+  @Override
+  public TStatus waitForStatusChange(long tid, EnumSet<TStatus> expected) {
+    return reservations.waitForStatusChange(tid, expected);
+  }
+
+  @Override
+  public void setStatus(long tid, TStatus status) {
+    verifyReserved(tid);
+
+    while (true) {
+      TStatus current = _getStatus(tid);
+      if (current == TStatus.UNKNOWN) {
+        throw new IllegalStateException(
+            "Tried to set status of missing transaction " + FateTxId.formatTid(tid));
+      }
+
+      ConditionalMutation cm = newConditionalMutation(tid, current);
+      TxColumnFamily.STATUS_COLUMN.put(cm, new Value(status.name()));
+      Status result = write(cm);
+      if (result == Status.ACCEPTED || (result == Status.UNKNOWN && _getStatus(tid) == status)) {
+        break;
+      }
+      log.debug("Status of {} changed while setting it to {}, retrying",
+          FateTxId.formatTid(tid), status);
+    }
+
+    reservations.statusChanged(tid, status);
+  }
+
+  @Override
+  public void delete(long tid) {
+    verifyReserved(tid);
+
+    Mutation m = new Mutation(FateSection.encodeRow(tid));
+    for (Entry<Key,Value> entry : read(tid, null, null)) {
+      Key key = entry.getKey();
+      m.putDelete(key.getColumnFamily(), key.getColumnQualifier());
+    }
+    if (m.size() > 0) {
+      write(m);
+    }
+    reservations.deleted(tid);
+  }
+
+  @Override
+  public void setProperty(long tid, String prop, Serializable so) {
+    verifyReserved(tid);
+
+    byte[] data;
+    if (so instanceof String) {
+      data = ("S " + so).getBytes(UTF_8);
+    } else {
+      byte[] sera = ZooStore.serialize(so);
+      data = new byte[sera.length + 2];
+      System.arraycopy(sera, 0, data, 2, sera.length);
+      data[0] = 'O';
+      data[1] = ' ';
+    }
+
+    Mutation m = new Mutation(FateSection.encodeRow(tid));
+    m.put(PropertyColumnFamily.NAME, new Text(prop), new Value(data));
+    write(m);
+  }
+
+  @Override
+  public Serializable getProperty(long tid, String prop) {
+    verifyReserved(tid);
+
+    for (Entry<Key,Value> entry : read(tid, PropertyColumnFamily.NAME, new Text(prop))) {
+      byte[] data = entry.getValue().get();
+      if (data[0] == 'O') {
+        byte[] sera = new byte[data.length - 2];
+        System.arraycopy(data, 2, sera, 0, sera.length);
+        return (Serializable) ZooStore.deserialize(sera);
+      } else if (data[0] == 'S') {
+        return new String(data, 2, data.length - 2, UTF_8);
+      } else {
+        throw new IllegalStateException("Bad property data " + prop);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public List<Long> list() {
+    List<Long> l = new ArrayList<>();
+    for (Entry<Key,Value> entry : read(FateSection.getRange(),
+        TxColumnFamily.STATUS_COLUMN.getColumnFamily(),
+        TxColumnFamily.STATUS_COLUMN.getColumnQualifier())) {
+      l.add(FateSection.decodeRow(entry.getKey().getRowData().toString()));
+    }
+    return l;
+  }
+
+  @Override
+  public long timeCreated(long tid) {
+    verifyReserved(tid);
+
+    for (Entry<Key,Value> entry : read(tid, TxColumnFamily.CREATED_COLUMN)) {
+      return Long.parseLong(entry.getValue().toString());
+    }
+    return 0;
+  }
+
+  @Override
+  public List<ReadOnlyRepo<T>> getStack(long tid) {
+    List<ReadOnlyRepo<T>> dops = new ArrayList<>();
+    for (Value ser : readRepos(tid).values()) {
+      @SuppressWarnings("unchecked")
+      ReadOnlyRepo<T> repo = (ReadOnlyRepo<T>) ZooStore.deserialize(ser.get());
+      dops.add(repo);
+    }
+    // element 0 is the top of the stack
+    Collections.reverse(dops);
+    return dops;
+  }
+}
@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.fate;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.accumulo.fate.ReadOnlyTStore.TStatus;
+
+/**
+ * Tracks the reserved, deferred and runnable transactions of a {@link TStore}. A transaction is
+ * queued as soon as its status is set to something that can run or its defer time passes, so
+ * {@link #reserve()} hands out work without reading every transaction in the store. Runnable
+ * transactions are reserved in the order they were queued, and a transaction goes to the back of
+ * the queue when it is unreserved, so every transaction gets a turn.
+ *
+ * <p>
+ * The store is listed in full the first time a transaction is reserved and then every
+ * {@link #RESCAN_INTERVAL_MS}, to pick up status changes made by other processes such as the admin
+ * tools.
+ */
+class Reservations {
+
+  static final long RESCAN_INTERVAL_MS = 60_000;
+
+  interface RunnableLister {
+    /**
+     * @return the ids of the transactions in the store that are IN_PROGRESS or FAILED_IN_PROGRESS
+     */
+    List<Long> listRunnable() throws Exception;
+  }
+
+  interface StatusReader {
+    /**
+     * @return the status of the transaction, or UNKNOWN if it does not exist
+     */
+    TStatus getStatus(long tid) throws Exception;
+  }
+
+  private static class Deferral implements Comparable<Deferral> {
+    final long tid;
+    final long time;
+
+    Deferral(long tid, long time) {
+      this.tid = tid;
+      this.time = time;
+    }
+
+    @Override
+    public int compareTo(Deferral o) {
+      int cmp = Long.compare(time, o.time);
+      return cmp != 0 ? cmp : Long.compare(tid, o.tid);
+    }
+  }
+
+  private final RunnableLister lister;
+  private final StatusReader reader;
+  private final long rescanInterval;
+
+  private final Set<Long> reserved = new HashSet<>();
+  // transactions whose last known status can run
+  private final Set<Long> runnable = new HashSet<>();
+  // runnable transactions that are neither reserved nor deferred, in the order to reserve them
+  private final LinkedHashSet<Long> queue = new LinkedHashSet<>();
+  private final Map<Long,Deferral> deferred = new HashMap<>();
+  private final TreeSet<Deferral> deferrals = new TreeSet<>();
+  private long statusChangeEvents = 0;
+  private int reservationsWaiting = 0;
+  private long nextScan = 0;
+
+  Reservations(RunnableLister lister, StatusReader reader) {
+    this(lister, reader, RESCAN_INTERVAL_MS);
+  }
+
+  Reservations(RunnableLister lister, StatusReader reader, long rescanInterval) {
+    this.lister = lister;
+    this.reader = reader;
+    this.rescanInterval = rescanInterval;
+  }
+
+  private static boolean isRunnable(TStatus status) {
+    return status == TStatus.IN_PROGRESS || status == TStatus.FAILED_IN_PROGRESS;
+  }
+
+  private void enqueue(long tid) {
+    if (runnable.contains(tid) && !reserved.contains(tid) && !deferred.containsKey(tid)) {
+      queue.add(tid);
+    }
+  }
+
+  /**
+   * Reserves the next queued transaction, first queueing deferred transactions that are due.
+   *
+   * @return the reserved transaction or null if nothing is queued
+   */
+  private Long take(long now) {
+    while (!deferrals.isEmpty() && deferrals.first().time <= now) {
+      Deferral deferral = deferrals.pollFirst();
+      deferred.remove(deferral.tid);
+      enqueue(deferral.tid);
+    }
+
+    Iterator<Long> iter = queue.iterator();
+    while (iter.hasNext()) {
+      long tid = iter.next();
+      iter.remove();
+      // transactions reserved through reserve(tid) are queued again when unreserved
+      if (runnable.contains(tid) && !reserved.contains(tid)) {
+        reserved.add(tid);
+        return tid;
+      }
+    }
+    return null;
+  }
+
+  long reserve() {
+    try {
+      while (true) {
+        boolean scan;
+        synchronized (this) {
+          scan = System.currentTimeMillis() >= nextScan;
+          if (scan) {
+            nextScan = System.currentTimeMillis() + rescanInterval;
+          }
+        }
+
+        if (scan) {
+          List<Long> found = lister.listRunnable();
+          synchronized (this) {
+            runnable.addAll(found);
+            found.forEach(this::enqueue);
+            this.notifyAll();
+          }
+        }
+
+        long tid;
+        synchronized (this) {
+          long now = System.currentTimeMillis();
+          Long next = take(now);
+          if (next == null) {
+            long wakeTime = deferrals.isEmpty() ? nextScan
+                : Math.min(nextScan, deferrals.first().time);
+            if (wakeTime > now) {
+              this.wait(wakeTime - now);
+            }
+            continue;
+          }
+          tid = next;
+        }
+
+        // have reserved id, status should not change, but it may have changed since it was queued
+        try {
+          TStatus status = reader.getStatus(tid);
+          if (isRunnable(status)) {
+            return tid;
+          }
+          synchronized (this) {
+            runnable.remove(tid);
+          }
+          unreserve(tid);
+        } catch (Exception e) {
+          unreserve(tid);
+          throw e;
+        }
+      }
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  void reserve(long tid) {
+    synchronized (this) {
+      reservationsWaiting++;
+      try {
+        while (reserved.contains(tid))
+          try {
+            this.wait(1000);
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+
+        reserved.add(tid);
+      } finally {
+        reservationsWaiting--;
+      }
+    }
+  }
+
+  private void unreserve(long tid) {
+    synchronized (this) {
+      if (!reserved.remove(tid))
+        throw new IllegalStateException(
+            "Tried to unreserve id that was not reserved " + FateTxId.formatTid(tid));
+
+      // only wake up threads when something external has called reserve(tid)
+      if (reservationsWaiting > 0)
+        this.notifyAll();
+    }
+  }
+
+  void unreserve(long tid, long deferTime) {
+
+    if (deferTime < 0)
+      throw new IllegalArgumentException("deferTime < 0 : " + deferTime);
+
+    synchronized (this) {
+      if (!reserved.remove(tid))
+        throw new IllegalStateException(
+            "Tried to unreserve id that was not reserved " + FateTxId.formatTid(tid));
+
+      if (deferTime > 0) {
+        Deferral deferral = new Deferral(tid, System.currentTimeMillis() + deferTime);
+        Deferral previous = deferred.put(tid, deferral);
+        if (previous != null) {
+          deferrals.remove(previous);
+        }
+        deferrals.add(deferral);
+      } else {
+        enqueue(tid);
+      }
+
+      this.notifyAll();
+    }
+  }
+
+  void verifyReserved(long tid) {
+    synchronized (this) {
+      if (!reserved.contains(tid))
+        throw new IllegalStateException(
+            "Tried to operate on unreserved transaction " + FateTxId.formatTid(tid));
+    }
+  }
+
+  /**
+   * Called by the store after it changed the status of a transaction.
+   */
+  void statusChanged(long tid, TStatus status) {
+    synchronized (this) {
+      statusChangeEvents++;
+      if (isRunnable(status)) {
+        runnable.add(tid);
+        enqueue(tid);
+      } else {
+        runnable.remove(tid);
+      }
+      this.notifyAll();
+    }
+  }
+
+  /**
+   * Called by the store after it deleted a transaction.
+   */
+  void deleted(long tid) {
+    synchronized (this) {
+      runnable.remove(tid);
+      queue.remove(tid);
+      Deferral deferral = deferred.remove(tid);
+      if (deferral != null) {
+        deferrals.remove(deferral);
+      }
+    }
+  }
+
+  TStatus waitForStatusChange(long tid, EnumSet<TStatus> expected) {
+    while (true) {
+      long events;
+      synchronized (this) {
+        events = statusChangeEvents;
+      }
+
+      TStatus status;
+      try {
+        status = reader.getStatus(tid);
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+      if (expected.contains(status))
+        return status;
+
+      synchronized (this) {
+        // suppress lgtm alert - synchronized variable is not always true
+        if (events == statusChangeEvents) { // lgtm [java/constant-comparison]
+          try {
+            this.wait(5000);
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+        }
+      }
+    }
+  }
+}
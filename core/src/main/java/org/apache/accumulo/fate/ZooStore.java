@@ -31,11 +31,7 @@ import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.accumulo.fate.zookeeper.ZooReaderWriter;
@@ -59,14 +55,10 @@ public class ZooStore<T> implements TStore<T> {
   private static final Logger log = LoggerFactory.getLogger(ZooStore.class);
   private String path;
   private ZooReaderWriter zk;
-  private String lastReserved = "";
-  private Set<Long> reserved;
-  private Map<Long,Long> defered;
+  private final Reservations reservations;
   private static final SecureRandom random = new SecureRandom();
-  private long statusChangeEvents = 0;
-  private int reservationsWaiting = 0;
 
-  private byte[] serialize(Object o) {
+  static byte[] serialize(Object o) {
 
     try {
       ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -83,7 +75,7 @@ public class ZooStore<T> implements TStore<T> {
   @SuppressFBWarnings(value = "OBJECT_DESERIALIZATION",
       justification = "unsafe to store arbitrary serialized objects like this, but needed for now"
           + " for backwards compatibility")
-  private Object deserialize(byte[] ser) {
+  static Object deserialize(byte[] ser) {
     try {
       ByteArrayInputStream bais = new ByteArrayInputStream(ser);
       ObjectInputStream ois = new ObjectInputStream(bais);
@@ -105,8 +97,7 @@ public class ZooStore<T> implements TStore<T> {
 
     this.path = path;
     this.zk = zk;
-    this.reserved = new HashSet<>();
-    this.defered = new HashMap<>();
+    this.reservations = new Reservations(this::listRunnable, this::_getStatus);
 
     zk.putPersistentData(path, new byte[0], NodeExistsPolicy.SKIP);
   }
@@ -130,141 +121,35 @@ public class ZooStore<T> implements TStore<T> {
 
   @Override
   public long reserve() {
-    try {
-      while (true) {
-
-        long events;
-        synchronized (this) {
-          events = statusChangeEvents;
-        }
-
-        List<String> txdirs = new ArrayList<>(zk.getChildren(path));
-        Collections.sort(txdirs);
-
-        synchronized (this) {
-          if (!txdirs.isEmpty() && txdirs.get(txdirs.size() - 1).compareTo(lastReserved) <= 0)
-            lastReserved = "";
-        }
-
-        for (String txdir : txdirs) {
-          long tid = parseTid(txdir);
-
-          synchronized (this) {
-            // this check makes reserve pick up where it left off, so that it cycles through all as
-            // it is repeatedly called.... failing to do so can lead to
-            // starvation where fate ops that sort higher and hold a lock are never reserved.
-            if (txdir.compareTo(lastReserved) <= 0)
-              continue;
-
-            if (defered.containsKey(tid)) {
-              if (defered.get(tid) < System.currentTimeMillis())
-                defered.remove(tid);
-              else
-                continue;
-            }
-            if (reserved.contains(tid))
-              continue;
-            else {
-              reserved.add(tid);
-              lastReserved = txdir;
-            }
-          }
-
-          // have reserved id, status should not change
-
-          try {
-            TStatus status = TStatus.valueOf(new String(zk.getData(path + "/" + txdir), UTF_8));
-            if (status == TStatus.IN_PROGRESS || status == TStatus.FAILED_IN_PROGRESS) {
-              return tid;
-            } else {
-              unreserve(tid);
-            }
-          } catch (NoNodeException nne) {
-            // node deleted after we got the list of children, its ok
-            unreserve(tid);
-          } catch (Exception e) {
-            unreserve(tid);
-            throw e;
-          }
-        }
+    return reservations.reserve();
+  }
 
-        synchronized (this) {
-          // suppress lgtm alert - synchronized variable is not always true
-          if (events == statusChangeEvents) { // lgtm [java/constant-comparison]
-            if (defered.isEmpty())
-              this.wait(5000);
-            else {
-              Long minTime = Collections.min(defered.values());
-              long waitTime = minTime - System.currentTimeMillis();
-              if (waitTime > 0)
-                this.wait(Math.min(waitTime, 5000));
-            }
-          }
-        }
+  private List<Long> listRunnable() throws KeeperException, InterruptedException {
+    List<Long> runnable = new ArrayList<>();
+    List<String> txdirs = new ArrayList<>(zk.getChildren(path));
+    Collections.sort(txdirs);
+    for (String txdir : txdirs) {
+      long tid = parseTid(txdir);
+      TStatus status = _getStatus(tid);
+      if (status == TStatus.IN_PROGRESS || status == TStatus.FAILED_IN_PROGRESS) {
+        runnable.add(tid);
       }
-    } catch (Exception e) {
-      throw new RuntimeException(e);
     }
+    return runnable;
   }
 
   @Override
   public void reserve(long tid) {
-    synchronized (this) {
-      reservationsWaiting++;
-      try {
-        while (reserved.contains(tid))
-          try {
-            this.wait(1000);
-          } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-          }
-
-        reserved.add(tid);
-      } finally {
-        reservationsWaiting--;
-      }
-    }
-  }
-
-  private void unreserve(long tid) {
-    synchronized (this) {
-      if (!reserved.remove(tid))
-        throw new IllegalStateException(
-            "Tried to unreserve id that was not reserved " + FateTxId.formatTid(tid));
-
-      // do not want this unreserve to unesc wake up threads in reserve()... this leads to infinite
-      // loop when tx is stuck in NEW...
-      // only do this when something external has called reserve(tid)...
-      if (reservationsWaiting > 0)
-        this.notifyAll();
-    }
+    reservations.reserve(tid);
   }
 
   @Override
   public void unreserve(long tid, long deferTime) {
-
-    if (deferTime < 0)
-      throw new IllegalArgumentException("deferTime < 0 : " + deferTime);
-
-    synchronized (this) {
-      if (!reserved.remove(tid))
-        throw new IllegalStateException(
-            "Tried to unreserve id that was not reserved " + FateTxId.formatTid(tid));
-
-      if (deferTime > 0)
-        defered.put(tid, System.currentTimeMillis() + deferTime);
-
-      this.notifyAll();
-    }
-
+    reservations.unreserve(tid, deferTime);
   }
 
   private void verifyReserved(long tid) {
-    synchronized (this) {
-      if (!reserved.contains(tid))
-        throw new IllegalStateException(
-            "Tried to operate on unreserved transaction " + FateTxId.formatTid(tid));
-    }
+    reservations.verifyReserved(tid);
   }
 
   private static final int RETRIES = 10;
@@ -369,27 +254,7 @@ public class ZooStore<T> implements TStore<T> {
 
   @Override
   public TStatus waitForStatusChange(long tid, EnumSet<TStatus> expected) {
-    while (true) {
-      long events;
-      synchronized (this) {
-        events = statusChangeEvents;
-      }
-
-      TStatus status = _getStatus(tid);
-      if (expected.contains(status))
-        return status;
-
-      synchronized (this) {
-        // suppress lgtm alert - synchronized variable is not always true
-        if (events == statusChangeEvents) { // lgtm [java/constant-comparison]
-          try {
-            this.wait(5000);
-          } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-          }
-        }
-      }
-    }
+    return reservations.waitForStatusChange(tid, expected);
   }
 
   @Override
@@ -403,10 +268,7 @@ public class ZooStore<T> implements TStore<T> {
       throw new RuntimeException(e);
     }
 
-    synchronized (this) {
-      statusChangeEvents++;
-    }
-
+    reservations.statusChanged(tid, status);
   }
 
   @Override
@@ -418,6 +280,7 @@ public class ZooStore<T> implements TStore<T> {
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
+    reservations.deleted(tid);
   }
 
   @Override
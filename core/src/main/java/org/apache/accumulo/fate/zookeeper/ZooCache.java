@@ -21,21 +21,23 @@ package org.apache.accumulo.fate.zookeeper;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.security.SecureRandom;
-import java.util.Collections;
 import java.util.ConcurrentModificationException;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.LockSupport;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.accumulo.fate.zookeeper.ServiceLock.ServiceLockPath;
+import org.apache.zookeeper.AddWatchMode;
 import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.KeeperException.Code;
 import org.apache.zookeeper.WatchedEvent;
 import org.apache.zookeeper.Watcher;
+import org.apache.zookeeper.Watcher.Event.EventType;
+import org.apache.zookeeper.Watcher.Event.KeeperState;
 import org.apache.zookeeper.ZooKeeper;
 import org.apache.zookeeper.data.Stat;
 import org.slf4j.Logger;
@@ -46,20 +48,32 @@ import com.google.common.base.Preconditions;
 
 /**
  * A cache for values stored in ZooKeeper. Values are kept up to date as they change.
+ *
+ * <p>
+ * Reads of cached values do not lock. Updates are serialized by a lock, are made to a concurrent
+ * map in place, and bump the update count only after the map has changed. So a caller that reads
+ * {@link #getUpdateCount()} before reading values and sees the same count later knows that none of
+ * the values it read have changed since.
+ *
+ * <p>
+ * By default a one-shot watch is set on every node that is read. Subtrees given as persistent watch
+ * roots are instead covered by a single persistent recursive watch each, so no watches are set or
+ * re-registered when nodes under them are read or change. The external watcher sees the same events
+ * in both modes: events for nodes this cache has read, and a children changed event when a child of
+ * a node whose children were read is created or deleted.
  */
 public class ZooCache {
   private static final Logger log = LoggerFactory.getLogger(ZooCache.class);
 
   private final ZCacheWatcher watcher = new ZCacheWatcher();
   private final Watcher externalWatcher;
+  private final Set<String> persistentWatchRoots;
+  // the session the persistent watches were added to, guarded by cacheWriteLock
+  private ZooKeeper persistentWatchSession = null;
 
-  private final ReadWriteLock cacheLock = new ReentrantReadWriteLock(false);
-  private final Lock cacheWriteLock = cacheLock.writeLock();
-  private final Lock cacheReadLock = cacheLock.readLock();
+  private final Lock cacheWriteLock = new ReentrantLock(false);
 
-  private final HashMap<String,byte[]> cache;
-  private final HashMap<String,ZcStat> statCache;
-  private final HashMap<String,List<String>> childrenCache;
+  private final ConcurrentHashMap<String,ZcNode> nodeCache;
 
   private final ZooReader zReader;
   private static final SecureRandom random = new SecureRandom();
@@ -96,46 +110,62 @@ public class ZooCache {
     }
   }
 
-  private static class ImmutableCacheCopies {
-    final Map<String,byte[]> cache;
-    final Map<String,ZcStat> statCache;
-    final Map<String,List<String>> childrenCache;
-    final long updateCount;
-
-    ImmutableCacheCopies(long updateCount) {
-      this.updateCount = updateCount;
-      cache = Collections.emptyMap();
-      statCache = Collections.emptyMap();
-      childrenCache = Collections.emptyMap();
+  /**
+   * An immutable snapshot of what is cached for a single node. The data and stat of a node are
+   * always replaced together so readers never see the data of one version with the stat of another.
+   */
+  private static class ZcNode {
+    final byte[] data;
+    final ZcStat stat;
+    final boolean dataSet;
+    final List<String> children;
+    final boolean childrenSet;
+
+    private ZcNode(byte[] data, ZcStat stat, boolean dataSet, List<String> children,
+        boolean childrenSet) {
+      this.data = data;
+      this.stat = stat;
+      this.dataSet = dataSet;
+      this.children = children;
+      this.childrenSet = childrenSet;
     }
 
-    ImmutableCacheCopies(long updateCount, Map<String,byte[]> cache, Map<String,ZcStat> statCache,
-        Map<String,List<String>> childrenCache) {
-      this.updateCount = updateCount;
-      this.cache = Collections.unmodifiableMap(new HashMap<>(cache));
-      this.statCache = Collections.unmodifiableMap(new HashMap<>(statCache));
-      this.childrenCache = Collections.unmodifiableMap(new HashMap<>(childrenCache));
+    static ZcNode withData(ZcNode existing, byte[] data, ZcStat stat) {
+      if (existing == null) {
+        return new ZcNode(data, stat, true, null, false);
+      }
+      return new ZcNode(data, stat, true, existing.children, existing.childrenSet);
     }
 
-    ImmutableCacheCopies(long updateCount, ImmutableCacheCopies prev,
-        Map<String,List<String>> childrenCache) {
-      this.updateCount = updateCount;
-      this.cache = prev.cache;
-      this.statCache = prev.statCache;
-      this.childrenCache = Collections.unmodifiableMap(new HashMap<>(childrenCache));
+    /**
+     * @return the node with its data dropped, or null if nothing else about it is cached
+     */
+    static ZcNode withoutData(ZcNode existing) {
+      if (!existing.childrenSet) {
+        return null;
+      }
+      return new ZcNode(null, null, false, existing.children, true);
     }
 
-    ImmutableCacheCopies(long updateCount, Map<String,byte[]> cache, Map<String,ZcStat> statCache,
-        ImmutableCacheCopies prev) {
-      this.updateCount = updateCount;
-      this.cache = Collections.unmodifiableMap(new HashMap<>(cache));
-      this.statCache = Collections.unmodifiableMap(new HashMap<>(statCache));
-      this.childrenCache = prev.childrenCache;
+    /**
+     * @return the node with its children dropped, or null if nothing else about it is cached
+     */
+    static ZcNode withoutChildren(ZcNode existing) {
+      if (!existing.dataSet) {
+        return null;
+      }
+      return new ZcNode(existing.data, existing.stat, true, null, false);
+    }
+
+    static ZcNode withChildren(ZcNode existing, List<String> children) {
+      if (existing == null) {
+        return new ZcNode(null, null, false, children, true);
+      }
+      return new ZcNode(existing.data, existing.stat, existing.dataSet, children, true);
     }
   }
 
-  private volatile ImmutableCacheCopies immutableCache = new ImmutableCacheCopies(0);
-  private long updateCount = 0;
+  private final AtomicLong updateCount = new AtomicLong(0);
 
   /**
    * Returns a ZooKeeper session. Calls should be made within run of ZooRunnable after caches are
@@ -146,8 +176,59 @@ public class ZooCache {
    *
    * @return ZooKeeper session.
    */
-  private ZooKeeper getZooKeeper() {
-    return zReader.getZooKeeper();
+  private ZooKeeper getZooKeeper() throws KeeperException, InterruptedException {
+    ZooKeeper zooKeeper = zReader.getZooKeeper();
+    if (!persistentWatchRoots.isEmpty() && zooKeeper != persistentWatchSession) {
+      addPersistentWatches(zooKeeper);
+    }
+    return zooKeeper;
+  }
+
+  /**
+   * Adds the persistent recursive watches to a new session. Anything cached under the watch roots
+   * by a previous session is no longer watched, so it is dropped.
+   */
+  private void addPersistentWatches(ZooKeeper zooKeeper)
+      throws KeeperException, InterruptedException {
+    cacheWriteLock.lock();
+    try {
+      if (persistentWatchSession != null) {
+        nodeCache.keySet().removeIf(this::isPersistentlyWatched);
+        updateCount.incrementAndGet();
+      }
+      for (String root : persistentWatchRoots) {
+        zooKeeper.addWatch(root, watcher, AddWatchMode.PERSISTENT_RECURSIVE);
+        log.debug("Added persistent recursive watch on {}", root);
+      }
+      persistentWatchSession = zooKeeper;
+    } finally {
+      cacheWriteLock.unlock();
+    }
+  }
+
+  private void replace(String zPath, ZcNode node) {
+    if (node == null) {
+      nodeCache.remove(zPath);
+    } else {
+      nodeCache.put(zPath, node);
+    }
+  }
+
+  private boolean isPersistentlyWatched(String zPath) {
+    for (String root : persistentWatchRoots) {
+      if (zPath.equals(root) || zPath.startsWith(root + "/")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the watcher to set when reading a node, or null if the node is already covered by a
+   *         persistent watch
+   */
+  private Watcher watcherFor(String zPath) {
+    return isPersistentlyWatched(zPath) ? null : watcher;
   }
 
   private class ZCacheWatcher implements Watcher {
@@ -157,6 +238,12 @@ public class ZooCache {
         log.trace("{}", event);
       }
 
+      if (event.getType() != EventType.None && event.getPath() != null
+          && isPersistentlyWatched(event.getPath())) {
+        processPersistentEvent(event);
+        return;
+      }
+
       switch (event.getType()) {
         case NodeDataChanged:
         case NodeChildrenChanged:
@@ -198,6 +285,63 @@ public class ZooCache {
         externalWatcher.process(event);
       }
     }
+
+    /**
+     * Handles an event from a persistent recursive watch. Only what the event changed is dropped
+     * from the cache, and the event is passed on only if a one-shot watch would have fired for it.
+     */
+    private void processPersistentEvent(WatchedEvent event) {
+      final String zPath = event.getPath();
+      final int slash = zPath.lastIndexOf('/');
+      final String parent = slash > 0 ? zPath.substring(0, slash) : null;
+      boolean nodeWatched = false;
+      boolean parentWatched = false;
+
+      cacheWriteLock.lock();
+      try {
+        ZcNode node = nodeCache.get(zPath);
+        switch (event.getType()) {
+          case NodeDataChanged:
+            nodeWatched = node != null && node.dataSet;
+            if (nodeWatched) {
+              replace(zPath, ZcNode.withoutData(node));
+            }
+            break;
+          case NodeCreated:
+          case NodeDeleted:
+            nodeWatched = nodeCache.remove(zPath) != null;
+            if (parent != null && isPersistentlyWatched(parent)) {
+              ZcNode parentNode = nodeCache.get(parent);
+              parentWatched = parentNode != null && parentNode.childrenSet;
+              if (parentWatched) {
+                replace(parent, ZcNode.withoutChildren(parentNode));
+              }
+            }
+            break;
+          case PersistentWatchRemoved:
+            log.debug("Persistent watch removed: {}", event);
+            nodeCache.keySet().removeIf(ZooCache.this::isPersistentlyWatched);
+            persistentWatchSession = null;
+            break;
+          default:
+            log.warn("Unhandled: {}", event);
+            break;
+        }
+        updateCount.incrementAndGet();
+      } finally {
+        cacheWriteLock.unlock();
+      }
+
+      if (externalWatcher != null) {
+        if (nodeWatched) {
+          externalWatcher.process(event);
+        }
+        if (parentWatched) {
+          externalWatcher.process(
+              new WatchedEvent(EventType.NodeChildrenChanged, KeeperState.SyncConnected, parent));
+        }
+      }
+    }
   }
 
   /**
@@ -239,11 +383,26 @@ public class ZooCache {
    *          watcher object
    */
   public ZooCache(ZooReader reader, Watcher watcher) {
+    this(reader, watcher, Set.of());
+  }
+
+  /**
+   * Creates a new cache that uses a persistent recursive watch for each of the given subtrees
+   * instead of setting one-shot watches on the nodes under them. Persistent watches require
+   * ZooKeeper 3.6 or later. The given watcher is called whenever a watched node changes.
+   *
+   * @param reader
+   *          ZooKeeper reader
+   * @param watcher
+   *          watcher object
+   * @param persistentWatchRoots
+   *          paths of the subtrees to watch persistently
+   */
+  public ZooCache(ZooReader reader, Watcher watcher, Set<String> persistentWatchRoots) {
     this.zReader = reader;
-    this.cache = new HashMap<>();
-    this.statCache = new HashMap<>();
-    this.childrenCache = new HashMap<>();
+    this.nodeCache = new ConcurrentHashMap<>();
     this.externalWatcher = watcher;
+    this.persistentWatchRoots = Set.copyOf(persistentWatchRoots);
   }
 
   private abstract class ZooRunnable<T> {
@@ -324,26 +483,26 @@ public class ZooCache {
       @Override
       public List<String> run() throws KeeperException, InterruptedException {
 
-        // only read volatile once for consistency
-        ImmutableCacheCopies lic = immutableCache;
-        if (lic.childrenCache.containsKey(zPath)) {
-          return lic.childrenCache.get(zPath);
+        ZcNode node = nodeCache.get(zPath);
+        if (node != null && node.childrenSet) {
+          return node.children;
         }
 
         cacheWriteLock.lock();
         try {
-          if (childrenCache.containsKey(zPath)) {
-            return childrenCache.get(zPath);
+          node = nodeCache.get(zPath);
+          if (node != null && node.childrenSet) {
+            return node.children;
           }
 
           final ZooKeeper zooKeeper = getZooKeeper();
 
-          List<String> children = zooKeeper.getChildren(zPath, watcher);
+          List<String> children = zooKeeper.getChildren(zPath, watcherFor(zPath));
           if (children != null) {
             children = List.copyOf(children);
           }
-          childrenCache.put(zPath, children);
-          immutableCache = new ImmutableCacheCopies(++updateCount, immutableCache, childrenCache);
+          nodeCache.put(zPath, ZcNode.withChildren(node, children));
+          updateCount.incrementAndGet();
           return children;
         } catch (KeeperException ke) {
           if (ke.code() != Code.NONODE) {
@@ -390,15 +549,11 @@ public class ZooCache {
       public byte[] run() throws KeeperException, InterruptedException {
         ZcStat zstat = null;
 
-        // only read volatile once so following code works with a consistent snapshot
-        ImmutableCacheCopies lic = immutableCache;
-        byte[] val = lic.cache.get(zPath);
-        if (val != null || lic.cache.containsKey(zPath)) {
-          if (status != null) {
-            zstat = lic.statCache.get(zPath);
-            copyStats(status, zstat);
-          }
-          return val;
+        // only read the node once so the data and stat are from the same version
+        ZcNode node = nodeCache.get(zPath);
+        if (node != null && node.dataSet) {
+          copyStats(status, node.stat);
+          return node.data;
         }
 
         /*
@@ -412,7 +567,7 @@ public class ZooCache {
         cacheWriteLock.lock();
         try {
           final ZooKeeper zooKeeper = getZooKeeper();
-          Stat stat = zooKeeper.exists(zPath, watcher);
+          Stat stat = zooKeeper.exists(zPath, watcherFor(zPath));
           byte[] data = null;
           if (stat == null) {
             if (log.isTraceEnabled()) {
@@ -420,7 +575,7 @@ public class ZooCache {
             }
           } else {
             try {
-              data = zooKeeper.getData(zPath, watcher, stat);
+              data = zooKeeper.getData(zPath, watcherFor(zPath), stat);
               zstat = new ZcStat(stat);
             } catch (KeeperException.BadVersionException | KeeperException.NoNodeException e1) {
               throw new ConcurrentModificationException();
@@ -460,10 +615,8 @@ public class ZooCache {
   private void put(String zPath, byte[] data, ZcStat stat) {
     cacheWriteLock.lock();
     try {
-      cache.put(zPath, data);
-      statCache.put(zPath, stat);
-
-      immutableCache = new ImmutableCacheCopies(++updateCount, cache, statCache, immutableCache);
+      nodeCache.put(zPath, ZcNode.withData(nodeCache.get(zPath), data, stat));
+      updateCount.incrementAndGet();
     } finally {
       cacheWriteLock.unlock();
     }
@@ -472,11 +625,8 @@ public class ZooCache {
   private void remove(String zPath) {
     cacheWriteLock.lock();
     try {
-      cache.remove(zPath);
-      childrenCache.remove(zPath);
-      statCache.remove(zPath);
-
-      immutableCache = new ImmutableCacheCopies(++updateCount, cache, statCache, childrenCache);
+      nodeCache.remove(zPath);
+      updateCount.incrementAndGet();
     } finally {
       cacheWriteLock.unlock();
     }
@@ -489,11 +639,8 @@ public class ZooCache {
     Preconditions.checkState(!closed);
     cacheWriteLock.lock();
     try {
-      cache.clear();
-      childrenCache.clear();
-      statCache.clear();
-
-      immutableCache = new ImmutableCacheCopies(++updateCount);
+      nodeCache.clear();
+      updateCount.incrementAndGet();
     } finally {
       cacheWriteLock.unlock();
     }
@@ -509,7 +656,7 @@ public class ZooCache {
    */
   public long getUpdateCount() {
     Preconditions.checkState(!closed);
-    return immutableCache.updateCount;
+    return updateCount.get();
   }
 
   /**
@@ -521,12 +668,8 @@ public class ZooCache {
    */
   @VisibleForTesting
   boolean dataCached(String zPath) {
-    cacheReadLock.lock();
-    try {
-      return immutableCache.cache.containsKey(zPath) && cache.containsKey(zPath);
-    } finally {
-      cacheReadLock.unlock();
-    }
+    ZcNode node = nodeCache.get(zPath);
+    return node != null && node.dataSet;
   }
 
   /**
@@ -538,12 +681,8 @@ public class ZooCache {
    */
   @VisibleForTesting
   boolean childrenCached(String zPath) {
-    cacheReadLock.lock();
-    try {
-      return immutableCache.childrenCache.containsKey(zPath) && childrenCache.containsKey(zPath);
-    } finally {
-      cacheReadLock.unlock();
-    }
+    ZcNode node = nodeCache.get(zPath);
+    return node != null && node.childrenSet;
   }
 
   /**
@@ -556,11 +695,8 @@ public class ZooCache {
     Preconditions.checkState(!closed);
     cacheWriteLock.lock();
     try {
-      cache.keySet().removeIf(path -> path.startsWith(zPath));
-      childrenCache.keySet().removeIf(path -> path.startsWith(zPath));
-      statCache.keySet().removeIf(path -> path.startsWith(zPath));
-
-      immutableCache = new ImmutableCacheCopies(++updateCount, cache, statCache, childrenCache);
+      nodeCache.keySet().removeIf(path -> path.startsWith(zPath));
+      updateCount.incrementAndGet();
     } finally {
       cacheWriteLock.unlock();
     }
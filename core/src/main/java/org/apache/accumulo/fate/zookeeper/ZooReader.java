@@ -33,6 +33,7 @@ import org.apache.accumulo.fate.util.Retry.RetryFactory;
 import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.KeeperException.Code;
 import org.apache.zookeeper.Watcher;
+import org.apache.zookeeper.Watcher.WatcherType;
 import org.apache.zookeeper.ZooKeeper;
 import org.apache.zookeeper.data.Stat;
 import org.slf4j.Logger;
@@ -101,6 +102,15 @@ public class ZooReader {
     return getStatus(zPath, watcher) != null;
   }
 
+  /**
+   * Removes the watches the watcher has set on the path from the local session, without waiting
+   * for the server.
+   */
+  public void removeWatches(String zPath, Watcher watcher)
+      throws KeeperException, InterruptedException {
+    getZooKeeper().removeWatches(zPath, watcher, WatcherType.Any, true);
+  }
+
   public void sync(final String path) throws KeeperException, InterruptedException {
     final AtomicInteger rc = new AtomicInteger();
     final CountDownLatch waiter = new CountDownLatch(1);
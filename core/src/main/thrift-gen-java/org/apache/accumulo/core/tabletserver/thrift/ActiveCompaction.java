@@ -39,6 +39,8 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
   private static final org.apache.thrift.protocol.TField ENTRIES_WRITTEN_FIELD_DESC = new org.apache.thrift.protocol.TField("entriesWritten", org.apache.thrift.protocol.TType.I64, (short)9);
   private static final org.apache.thrift.protocol.TField SSI_LIST_FIELD_DESC = new org.apache.thrift.protocol.TField("ssiList", org.apache.thrift.protocol.TType.LIST, (short)10);
   private static final org.apache.thrift.protocol.TField SSIO_FIELD_DESC = new org.apache.thrift.protocol.TField("ssio", org.apache.thrift.protocol.TType.MAP, (short)11);
+  private static final org.apache.thrift.protocol.TField ENTRIES_TO_BE_COMPACTED_FIELD_DESC = new org.apache.thrift.protocol.TField("entriesToBeCompacted", org.apache.thrift.protocol.TType.I64, (short)12);
+  private static final org.apache.thrift.protocol.TField BYTES_TO_BE_COMPACTED_FIELD_DESC = new org.apache.thrift.protocol.TField("bytesToBeCompacted", org.apache.thrift.protocol.TType.I64, (short)13);
 
   private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new ActiveCompactionStandardSchemeFactory();
   private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new ActiveCompactionTupleSchemeFactory();
@@ -62,6 +64,8 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
   public long entriesWritten; // required
   public @org.apache.thrift.annotation.Nullable java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList; // required
   public @org.apache.thrift.annotation.Nullable java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio; // required
+  public long entriesToBeCompacted; // required
+  public long bytesToBeCompacted; // required
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -83,7 +87,9 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
     ENTRIES_READ((short)8, "entriesRead"),
     ENTRIES_WRITTEN((short)9, "entriesWritten"),
     SSI_LIST((short)10, "ssiList"),
-    SSIO((short)11, "ssio");
+    SSIO((short)11, "ssio"),
+    ENTRIES_TO_BE_COMPACTED((short)12, "entriesToBeCompacted"),
+    BYTES_TO_BE_COMPACTED((short)13, "bytesToBeCompacted");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -121,6 +127,10 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
           return SSI_LIST;
         case 11: // SSIO
           return SSIO;
+        case 12: // ENTRIES_TO_BE_COMPACTED
+          return ENTRIES_TO_BE_COMPACTED;
+        case 13: // BYTES_TO_BE_COMPACTED
+          return BYTES_TO_BE_COMPACTED;
         default:
           return null;
       }
@@ -165,6 +175,8 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
   private static final int __AGE_ISSET_ID = 0;
   private static final int __ENTRIESREAD_ISSET_ID = 1;
   private static final int __ENTRIESWRITTEN_ISSET_ID = 2;
+  private static final int __ENTRIESTOBECOMPACTED_ISSET_ID = 3;
+  private static final int __BYTESTOBECOMPACTED_ISSET_ID = 4;
   private byte __isset_bitfield = 0;
   public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
@@ -197,6 +209,10 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
             new org.apache.thrift.meta_data.MapMetaData(org.apache.thrift.protocol.TType.MAP, 
                 new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING), 
                 new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)))));
+    tmpMap.put(_Fields.ENTRIES_TO_BE_COMPACTED, new org.apache.thrift.meta_data.FieldMetaData("entriesToBeCompacted", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.BYTES_TO_BE_COMPACTED, new org.apache.thrift.meta_data.FieldMetaData("bytesToBeCompacted", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(ActiveCompaction.class, metaDataMap);
   }
@@ -215,7 +231,9 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
     long entriesRead,
     long entriesWritten,
     java.util.List<org.apache.accumulo.core.dataImpl.thrift.IterInfo> ssiList,
-    java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio)
+    java.util.Map<java.lang.String,java.util.Map<java.lang.String,java.lang.String>> ssio,
+    long entriesToBeCompacted,
+    long bytesToBeCompacted)
   {
     this();
     this.extent = extent;
@@ -232,6 +250,10 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
     setEntriesWrittenIsSet(true);
     this.ssiList = ssiList;
     this.ssio = ssio;
+    this.entriesToBeCompacted = entriesToBeCompacted;
+    setEntriesToBeCompactedIsSet(true);
+    this.bytesToBeCompacted = bytesToBeCompacted;
+    setBytesToBeCompactedIsSet(true);
   }
 
   /**
@@ -283,6 +305,8 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
       }
       this.ssio = __this__ssio;
     }
+    this.entriesToBeCompacted = other.entriesToBeCompacted;
+    this.bytesToBeCompacted = other.bytesToBeCompacted;
   }
 
   public ActiveCompaction deepCopy() {
@@ -305,6 +329,10 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
     this.entriesWritten = 0;
     this.ssiList = null;
     this.ssio = null;
+    setEntriesToBeCompactedIsSet(false);
+    this.entriesToBeCompacted = 0;
+    setBytesToBeCompactedIsSet(false);
+    this.bytesToBeCompacted = 0;
   }
 
   @org.apache.thrift.annotation.Nullable
@@ -635,6 +663,52 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
     }
   }
 
+  public long getEntriesToBeCompacted() {
+    return this.entriesToBeCompacted;
+  }
+
+  public ActiveCompaction setEntriesToBeCompacted(long entriesToBeCompacted) {
+    this.entriesToBeCompacted = entriesToBeCompacted;
+    setEntriesToBeCompactedIsSet(true);
+    return this;
+  }
+
+  public void unsetEntriesToBeCompacted() {
+    __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __ENTRIESTOBECOMPACTED_ISSET_ID);
+  }
+
+  /** Returns true if field entriesToBeCompacted is set (has been assigned a value) and false otherwise */
+  public boolean isSetEntriesToBeCompacted() {
+    return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __ENTRIESTOBECOMPACTED_ISSET_ID);
+  }
+
+  public void setEntriesToBeCompactedIsSet(boolean value) {
+    __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __ENTRIESTOBECOMPACTED_ISSET_ID, value);
+  }
+
+  public long getBytesToBeCompacted() {
+    return this.bytesToBeCompacted;
+  }
+
+  public ActiveCompaction setBytesToBeCompacted(long bytesToBeCompacted) {
+    this.bytesToBeCompacted = bytesToBeCompacted;
+    setBytesToBeCompactedIsSet(true);
+    return this;
+  }
+
+  public void unsetBytesToBeCompacted() {
+    __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __BYTESTOBECOMPACTED_ISSET_ID);
+  }
+
+  /** Returns true if field bytesToBeCompacted is set (has been assigned a value) and false otherwise */
+  public boolean isSetBytesToBeCompacted() {
+    return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __BYTESTOBECOMPACTED_ISSET_ID);
+  }
+
+  public void setBytesToBeCompactedIsSet(boolean value) {
+    __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __BYTESTOBECOMPACTED_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
     case EXTENT:
@@ -725,6 +799,22 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
       }
       break;
 
+    case ENTRIES_TO_BE_COMPACTED:
+      if (value == null) {
+        unsetEntriesToBeCompacted();
+      } else {
+        setEntriesToBeCompacted((java.lang.Long)value);
+      }
+      break;
+
+    case BYTES_TO_BE_COMPACTED:
+      if (value == null) {
+        unsetBytesToBeCompacted();
+      } else {
+        setBytesToBeCompacted((java.lang.Long)value);
+      }
+      break;
+
     }
   }
 
@@ -764,6 +854,12 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
     case SSIO:
       return getSsio();
 
+    case ENTRIES_TO_BE_COMPACTED:
+      return getEntriesToBeCompacted();
+
+    case BYTES_TO_BE_COMPACTED:
+      return getBytesToBeCompacted();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -797,6 +893,10 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
       return isSetSsiList();
     case SSIO:
       return isSetSsio();
+    case ENTRIES_TO_BE_COMPACTED:
+      return isSetEntriesToBeCompacted();
+    case BYTES_TO_BE_COMPACTED:
+      return isSetBytesToBeCompacted();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -913,6 +1013,24 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
         return false;
     }
 
+    boolean this_present_entriesToBeCompacted = true;
+    boolean that_present_entriesToBeCompacted = true;
+    if (this_present_entriesToBeCompacted || that_present_entriesToBeCompacted) {
+      if (!(this_present_entriesToBeCompacted && that_present_entriesToBeCompacted))
+        return false;
+      if (this.entriesToBeCompacted != that.entriesToBeCompacted)
+        return false;
+    }
+
+    boolean this_present_bytesToBeCompacted = true;
+    boolean that_present_bytesToBeCompacted = true;
+    if (this_present_bytesToBeCompacted || that_present_bytesToBeCompacted) {
+      if (!(this_present_bytesToBeCompacted && that_present_bytesToBeCompacted))
+        return false;
+      if (this.bytesToBeCompacted != that.bytesToBeCompacted)
+        return false;
+    }
+
     return true;
   }
 
@@ -958,6 +1076,10 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
     if (isSetSsio())
       hashCode = hashCode * 8191 + ssio.hashCode();
 
+    hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(entriesToBeCompacted);
+
+    hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(bytesToBeCompacted);
+
     return hashCode;
   }
 
@@ -1079,6 +1201,26 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.compare(isSetEntriesToBeCompacted(), other.isSetEntriesToBeCompacted());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetEntriesToBeCompacted()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.entriesToBeCompacted, other.entriesToBeCompacted);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.compare(isSetBytesToBeCompacted(), other.isSetBytesToBeCompacted());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetBytesToBeCompacted()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.bytesToBeCompacted, other.bytesToBeCompacted);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -1175,6 +1317,14 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
       sb.append(this.ssio);
     }
     first = false;
+    if (!first) sb.append(", ");
+    sb.append("entriesToBeCompacted:");
+    sb.append(this.entriesToBeCompacted);
+    first = false;
+    if (!first) sb.append(", ");
+    sb.append("bytesToBeCompacted:");
+    sb.append(this.bytesToBeCompacted);
+    first = false;
     sb.append(")");
     return sb.toString();
   }
@@ -1357,6 +1507,22 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 12: // ENTRIES_TO_BE_COMPACTED
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.entriesToBeCompacted = iprot.readI64();
+              struct.setEntriesToBeCompactedIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 13: // BYTES_TO_BE_COMPACTED
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.bytesToBeCompacted = iprot.readI64();
+              struct.setBytesToBeCompactedIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -1451,6 +1617,12 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
         }
         oprot.writeFieldEnd();
       }
+      oprot.writeFieldBegin(ENTRIES_TO_BE_COMPACTED_FIELD_DESC);
+      oprot.writeI64(struct.entriesToBeCompacted);
+      oprot.writeFieldEnd();
+      oprot.writeFieldBegin(BYTES_TO_BE_COMPACTED_FIELD_DESC);
+      oprot.writeI64(struct.bytesToBeCompacted);
+      oprot.writeFieldEnd();
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -1502,7 +1674,13 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
       if (struct.isSetSsio()) {
         optionals.set(10);
       }
-      oprot.writeBitSet(optionals, 11);
+      if (struct.isSetEntriesToBeCompacted()) {
+        optionals.set(11);
+      }
+      if (struct.isSetBytesToBeCompacted()) {
+        optionals.set(12);
+      }
+      oprot.writeBitSet(optionals, 13);
       if (struct.isSetExtent()) {
         struct.extent.write(oprot);
       }
@@ -1562,12 +1740,18 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
           }
         }
       }
+      if (struct.isSetEntriesToBeCompacted()) {
+        oprot.writeI64(struct.entriesToBeCompacted);
+      }
+      if (struct.isSetBytesToBeCompacted()) {
+        oprot.writeI64(struct.bytesToBeCompacted);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, ActiveCompaction struct) throws org.apache.thrift.TException {
       org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-      java.util.BitSet incoming = iprot.readBitSet(11);
+      java.util.BitSet incoming = iprot.readBitSet(13);
       if (incoming.get(0)) {
         struct.extent = new org.apache.accumulo.core.dataImpl.thrift.TKeyExtent();
         struct.extent.read(iprot);
@@ -1654,6 +1838,14 @@ public class ActiveCompaction implements org.apache.thrift.TBase<ActiveCompactio
         }
         struct.setSsioIsSet(true);
       }
+      if (incoming.get(11)) {
+        struct.entriesToBeCompacted = iprot.readI64();
+        struct.setEntriesToBeCompactedIsSet(true);
+      }
+      if (incoming.get(12)) {
+        struct.bytesToBeCompacted = iprot.readI64();
+        struct.setBytesToBeCompactedIsSet(true);
+      }
     }
   }
 
@@ -37,6 +37,7 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
   private static final org.apache.thrift.protocol.TField KIND_FIELD_DESC = new org.apache.thrift.protocol.TField("kind", org.apache.thrift.protocol.TType.I32, (short)7);
   private static final org.apache.thrift.protocol.TField USER_COMPACTION_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("userCompactionId", org.apache.thrift.protocol.TType.I64, (short)8);
   private static final org.apache.thrift.protocol.TField OVERRIDES_FIELD_DESC = new org.apache.thrift.protocol.TField("overrides", org.apache.thrift.protocol.TType.MAP, (short)9);
+  private static final org.apache.thrift.protocol.TField DUPLICATE_OF_FIELD_DESC = new org.apache.thrift.protocol.TField("duplicateOf", org.apache.thrift.protocol.TType.STRING, (short)10);
 
   private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new TExternalCompactionJobStandardSchemeFactory();
   private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new TExternalCompactionJobTupleSchemeFactory();
@@ -50,6 +51,7 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
   public @org.apache.thrift.annotation.Nullable TCompactionKind kind; // required
   public long userCompactionId; // required
   public @org.apache.thrift.annotation.Nullable java.util.Map<java.lang.String,java.lang.String> overrides; // required
+  public @org.apache.thrift.annotation.Nullable java.lang.String duplicateOf; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -61,7 +63,8 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
     PROPAGATE_DELETES((short)6, "propagateDeletes"),
     KIND((short)7, "kind"),
     USER_COMPACTION_ID((short)8, "userCompactionId"),
-    OVERRIDES((short)9, "overrides");
+    OVERRIDES((short)9, "overrides"),
+    DUPLICATE_OF((short)10, "duplicateOf");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -95,6 +98,8 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
           return USER_COMPACTION_ID;
         case 9: // OVERRIDES
           return OVERRIDES;
+        case 10: // DUPLICATE_OF
+          return DUPLICATE_OF;
         default:
           return null;
       }
@@ -139,6 +144,7 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
   private static final int __PROPAGATEDELETES_ISSET_ID = 0;
   private static final int __USERCOMPACTIONID_ISSET_ID = 1;
   private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.DUPLICATE_OF};
   public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -163,6 +169,8 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
         new org.apache.thrift.meta_data.MapMetaData(org.apache.thrift.protocol.TType.MAP, 
             new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING), 
             new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
+    tmpMap.put(_Fields.DUPLICATE_OF, new org.apache.thrift.meta_data.FieldMetaData("duplicateOf", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TExternalCompactionJob.class, metaDataMap);
   }
@@ -228,6 +236,9 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
       java.util.Map<java.lang.String,java.lang.String> __this__overrides = new java.util.HashMap<java.lang.String,java.lang.String>(other.overrides);
       this.overrides = __this__overrides;
     }
+    if (other.isSetDuplicateOf()) {
+      this.duplicateOf = other.duplicateOf;
+    }
   }
 
   public TExternalCompactionJob deepCopy() {
@@ -247,6 +258,7 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
     setUserCompactionIdIsSet(false);
     this.userCompactionId = 0;
     this.overrides = null;
+    this.duplicateOf = null;
   }
 
   @org.apache.thrift.annotation.Nullable
@@ -497,6 +509,31 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
     }
   }
 
+  @org.apache.thrift.annotation.Nullable
+  public java.lang.String getDuplicateOf() {
+    return this.duplicateOf;
+  }
+
+  public TExternalCompactionJob setDuplicateOf(@org.apache.thrift.annotation.Nullable java.lang.String duplicateOf) {
+    this.duplicateOf = duplicateOf;
+    return this;
+  }
+
+  public void unsetDuplicateOf() {
+    this.duplicateOf = null;
+  }
+
+  /** Returns true if field duplicateOf is set (has been assigned a value) and false otherwise */
+  public boolean isSetDuplicateOf() {
+    return this.duplicateOf != null;
+  }
+
+  public void setDuplicateOfIsSet(boolean value) {
+    if (!value) {
+      this.duplicateOf = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
     case EXTERNAL_COMPACTION_ID:
@@ -571,6 +608,14 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
       }
       break;
 
+    case DUPLICATE_OF:
+      if (value == null) {
+        unsetDuplicateOf();
+      } else {
+        setDuplicateOf((java.lang.String)value);
+      }
+      break;
+
     }
   }
 
@@ -604,6 +649,9 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
     case OVERRIDES:
       return getOverrides();
 
+    case DUPLICATE_OF:
+      return getDuplicateOf();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -633,6 +681,8 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
       return isSetUserCompactionId();
     case OVERRIDES:
       return isSetOverrides();
+    case DUPLICATE_OF:
+      return isSetDuplicateOf();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -731,6 +781,15 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
         return false;
     }
 
+    boolean this_present_duplicateOf = true && this.isSetDuplicateOf();
+    boolean that_present_duplicateOf = true && that.isSetDuplicateOf();
+    if (this_present_duplicateOf || that_present_duplicateOf) {
+      if (!(this_present_duplicateOf && that_present_duplicateOf))
+        return false;
+      if (!this.duplicateOf.equals(that.duplicateOf))
+        return false;
+    }
+
     return true;
   }
 
@@ -770,6 +829,10 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
     if (isSetOverrides())
       hashCode = hashCode * 8191 + overrides.hashCode();
 
+    hashCode = hashCode * 8191 + ((isSetDuplicateOf()) ? 131071 : 524287);
+    if (isSetDuplicateOf())
+      hashCode = hashCode * 8191 + duplicateOf.hashCode();
+
     return hashCode;
   }
 
@@ -871,6 +934,16 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.compare(isSetDuplicateOf(), other.isSetDuplicateOf());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetDuplicateOf()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.duplicateOf, other.duplicateOf);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -955,6 +1028,16 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
       sb.append(this.overrides);
     }
     first = false;
+    if (isSetDuplicateOf()) {
+      if (!first) sb.append(", ");
+      sb.append("duplicateOf:");
+      if (this.duplicateOf == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.duplicateOf);
+      }
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -1103,6 +1186,14 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 10: // DUPLICATE_OF
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.duplicateOf = iprot.readString();
+              struct.setDuplicateOfIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -1174,6 +1265,13 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
         }
         oprot.writeFieldEnd();
       }
+      if (struct.duplicateOf != null) {
+        if (struct.isSetDuplicateOf()) {
+          oprot.writeFieldBegin(DUPLICATE_OF_FIELD_DESC);
+          oprot.writeString(struct.duplicateOf);
+          oprot.writeFieldEnd();
+        }
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -1219,7 +1317,10 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
       if (struct.isSetOverrides()) {
         optionals.set(8);
       }
-      oprot.writeBitSet(optionals, 9);
+      if (struct.isSetDuplicateOf()) {
+        optionals.set(9);
+      }
+      oprot.writeBitSet(optionals, 10);
       if (struct.isSetExternalCompactionId()) {
         oprot.writeString(struct.externalCompactionId);
       }
@@ -1260,12 +1361,15 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
           }
         }
       }
+      if (struct.isSetDuplicateOf()) {
+        oprot.writeString(struct.duplicateOf);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TExternalCompactionJob struct) throws org.apache.thrift.TException {
       org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-      java.util.BitSet incoming = iprot.readBitSet(9);
+      java.util.BitSet incoming = iprot.readBitSet(10);
       if (incoming.get(0)) {
         struct.externalCompactionId = iprot.readString();
         struct.setExternalCompactionIdIsSet(true);
@@ -1325,6 +1429,10 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
         }
         struct.setOverridesIsSet(true);
       }
+      if (incoming.get(9)) {
+        struct.duplicateOf = iprot.readString();
+        struct.setDuplicateOfIsSet(true);
+      }
     }
   }
 
@@ -134,6 +134,8 @@ struct ActiveCompaction {
   9:i64 entriesWritten
   10:list<data.IterInfo> ssiList
   11:map<string, map<string, string>> ssio
+  12:i64 entriesToBeCompacted
+  13:i64 bytesToBeCompacted
 }
 
 struct TIteratorSetting {
@@ -176,6 +178,7 @@ struct TExternalCompactionJob {
   7:TCompactionKind kind
   8:i64 userCompactionId
   9:map<string, string> overrides
+  10:optional string duplicateOf
 }
 
 enum TCompactionKind {
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+public class LimitedIteratorTest {
+
+  private static List<Integer> drain(Iterator<Integer> iter) {
+    List<Integer> result = new ArrayList<>();
+    iter.forEachRemaining(result::add);
+    return result;
+  }
+
+  @Test
+  public void testLimit() {
+    List<Integer> source = List.of(1, 2, 3, 4, 5);
+    assertEquals(List.of(1, 2), drain(LimitedIterator.limit(source.iterator(), 2)));
+    assertEquals(source, drain(LimitedIterator.limit(source.iterator(), 5)));
+    assertEquals(source, drain(LimitedIterator.limit(source.iterator(), 6)));
+
+    Iterator<Integer> iter = LimitedIterator.limit(source.iterator(), 1);
+    assertEquals(1, (int) iter.next());
+    assertFalse(iter.hasNext());
+    assertThrows(NoSuchElementException.class, iter::next);
+  }
+
+  @Test
+  public void testNoLimit() {
+    Iterator<Integer> source = List.of(1, 2, 3).iterator();
+    assertSame(source, LimitedIterator.limit(source, Long.MAX_VALUE));
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+import org.apache.accumulo.core.clientImpl.ThriftScanner.ScanState;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.KeyValue;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.junit.Test;
+
+public class ScanPublisherTest {
+
+  /**
+   * Runs tasks when the test asks for it, so the test controls which thread signals.
+   */
+  private static class QueueExecutor implements Executor {
+    final Deque<Runnable> tasks = new ArrayDeque<>();
+
+    @Override
+    public void execute(Runnable command) {
+      tasks.add(command);
+    }
+
+    void runAll() {
+      while (!tasks.isEmpty()) {
+        tasks.removeFirst().run();
+      }
+    }
+  }
+
+  /**
+   * Publishes a fixed number of single entry batches instead of reading from a tablet server.
+   */
+  private static class TestPublisher extends ScanPublisher {
+    final int batches;
+    int reads = 0;
+    int closes = 0;
+    Exception failure = null;
+
+    TestPublisher(int batches, Executor executor) {
+      super(null, TableId.of("1"), Authorizations.EMPTY, new Range(), 1000, Long.MAX_VALUE,
+          Long.MAX_VALUE, new ScannerOptions(), false, executor);
+      this.batches = batches;
+    }
+
+    @Override
+    List<KeyValue> readBatch(ScanState scanState) throws Exception {
+      if (failure != null) {
+        throw failure;
+      }
+      if (reads == batches) {
+        return null;
+      }
+      reads++;
+      return List.of(new KeyValue(new Key(String.format("r%03d", reads)), new Value("v")));
+    }
+
+    @Override
+    void closeScan(ScanState scanState) {
+      closes++;
+    }
+  }
+
+  private static class TestSubscriber implements Flow.Subscriber<List<Entry<Key,Value>>> {
+    final List<String> rows = new ArrayList<>();
+    Flow.Subscription subscription;
+    Throwable error;
+    boolean complete = false;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(List<Entry<Key,Value>> item) {
+      item.forEach(e -> rows.add(e.getKey().getRow().toString()));
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      assertNull(error);
+      error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      assertFalse(complete);
+      complete = true;
+    }
+  }
+
+  @Test
+  public void testDemand() {
+    QueueExecutor executor = new QueueExecutor();
+    TestPublisher publisher = new TestPublisher(5, executor);
+    TestSubscriber subscriber = new TestSubscriber();
+    publisher.subscribe(subscriber);
+
+    executor.runAll();
+    assertEquals(0, publisher.reads);
+
+    // nothing is read on the requesting thread
+    subscriber.subscription.request(2);
+    assertEquals(0, publisher.reads);
+    executor.runAll();
+    assertEquals(List.of("r001", "r002"), subscriber.rows);
+    assertEquals(2, publisher.reads);
+
+    subscriber.subscription.request(1);
+    executor.runAll();
+    assertEquals(List.of("r001", "r002", "r003"), subscriber.rows);
+    assertEquals(3, publisher.reads);
+    assertFalse(subscriber.complete);
+
+    subscriber.subscription.request(10);
+    executor.runAll();
+    assertEquals(List.of("r001", "r002", "r003", "r004", "r005"), subscriber.rows);
+    assertTrue(subscriber.complete);
+    assertNull(subscriber.error);
+  }
+
+  @Test
+  public void testDemandFromOnNext() {
+    // a subscriber that requests the next batch from onNext, on a direct executor
+    TestPublisher publisher = new TestPublisher(20, Runnable::run);
+    TestSubscriber subscriber = new TestSubscriber() {
+      @Override
+      public void onNext(List<Entry<Key,Value>> item) {
+        super.onNext(item);
+        subscription.request(1);
+      }
+    };
+    publisher.subscribe(subscriber);
+    subscriber.subscription.request(1);
+
+    assertEquals(20, subscriber.rows.size());
+    for (int i = 0; i < 20; i++) {
+      assertEquals(String.format("r%03d", i + 1), subscriber.rows.get(i));
+    }
+    assertTrue(subscriber.complete);
+  }
+
+  @Test
+  public void testCancel() {
+    QueueExecutor executor = new QueueExecutor();
+    TestPublisher publisher = new TestPublisher(5, executor);
+    TestSubscriber subscriber = new TestSubscriber();
+    publisher.subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+    executor.runAll();
+    assertEquals(List.of("r001"), subscriber.rows);
+
+    subscriber.subscription.cancel();
+    executor.runAll();
+    assertEquals(1, publisher.closes);
+
+    subscriber.subscription.request(5);
+    subscriber.subscription.cancel();
+    executor.runAll();
+    assertEquals(1, publisher.reads);
+    assertEquals(1, publisher.closes);
+    assertFalse(subscriber.complete);
+    assertNull(subscriber.error);
+  }
+
+  @Test
+  public void testInvalidRequest() {
+    QueueExecutor executor = new QueueExecutor();
+    TestPublisher publisher = new TestPublisher(5, executor);
+    TestSubscriber subscriber = new TestSubscriber();
+    publisher.subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+    subscriber.subscription.request(0);
+    // the error is signalled by the read loop, not the requesting thread
+    assertNull(subscriber.error);
+
+    executor.runAll();
+    assertTrue(subscriber.error instanceof IllegalArgumentException);
+    assertEquals(0, publisher.reads);
+    assertEquals(1, publisher.closes);
+
+    subscriber.subscription.request(1);
+    executor.runAll();
+    assertEquals(0, publisher.reads);
+    assertTrue(subscriber.rows.isEmpty());
+  }
+
+  @Test
+  public void testReadFailure() {
+    QueueExecutor executor = new QueueExecutor();
+    TestPublisher publisher = new TestPublisher(5, executor);
+    TestSubscriber subscriber = new TestSubscriber();
+    publisher.subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+    executor.runAll();
+    publisher.failure = new IllegalStateException("read failed");
+    subscriber.subscription.request(1);
+    executor.runAll();
+
+    assertEquals(List.of("r001"), subscriber.rows);
+    assertEquals(publisher.failure, subscriber.error);
+    assertEquals(1, publisher.closes);
+    assertFalse(subscriber.complete);
+  }
+}
@@ -20,8 +20,16 @@ package org.apache.accumulo.core.clientImpl;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.security.Authorizations;
 import org.easymock.EasyMock;
 import org.junit.Before;
@@ -54,6 +62,18 @@ public class ScannerImplTest {
     }
   }
 
+  @Test
+  public void testLimit() {
+    try (var s = new ScannerImpl(context, TableId.of("foo"), Authorizations.EMPTY)) {
+      assertEquals(Long.MAX_VALUE, s.getLimit());
+      s.setLimit(25);
+      assertEquals(25, s.getLimit());
+      assertThrows(IllegalArgumentException.class, () -> s.setLimit(0));
+      assertThrows(IllegalArgumentException.class, () -> s.setLimit(-1));
+      assertEquals(25, s.getLimit());
+    }
+  }
+
   @Test
   public void testGetAuthorizations() {
     Authorizations expected = new Authorizations("a,b");
@@ -68,4 +88,36 @@ public class ScannerImplTest {
         () -> new ScannerImpl(context, TableId.of("foo"), null));
   }
 
+  @Test
+  public void testPublisherInvalidRequest() {
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    try (var s = new ScannerImpl(context, TableId.of("foo"), Authorizations.EMPTY)) {
+      s.publisher(Runnable::run).subscribe(new Flow.Subscriber<List<Entry<Key,Value>>>() {
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+          subscription.request(0);
+        }
+
+        @Override
+        public void onNext(List<Entry<Key,Value>> item) {}
+
+        @Override
+        public void onError(Throwable throwable) {
+          error.set(throwable);
+        }
+
+        @Override
+        public void onComplete() {}
+      });
+    }
+    assertTrue(error.get() instanceof IllegalArgumentException);
+  }
+
+  @Test
+  public void testPublisherNullExecutorFails() {
+    try (var s = new ScannerImpl(context, TableId.of("foo"), Authorizations.EMPTY)) {
+      assertThrows(IllegalArgumentException.class, () -> s.publisher(null));
+    }
+  }
+
 }
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.TServerInstance;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+public class TabletLocationChangesTest {
+
+  @Test
+  public void testEncodeDecode() throws Exception {
+    Map<KeyExtent,TServerInstance> changes = new HashMap<>();
+    changes.put(new KeyExtent(TableId.of("1"), null, null),
+        new TServerInstance("host1:9997[1234abcd]"));
+    changes.put(new KeyExtent(TableId.of("2"), new Text("m"), null),
+        new TServerInstance("host2:9997[5678]"));
+    changes.put(new KeyExtent(TableId.of("2"), null, new Text("m")),
+        new TServerInstance("host3:9998[9abc]"));
+
+    assertEquals(changes, TabletLocationChanges.decode(TabletLocationChanges.encode(changes)));
+  }
+
+  @Test
+  public void testDecodeEmpty() throws Exception {
+    assertTrue(TabletLocationChanges.decode(null).isEmpty());
+    assertTrue(TabletLocationChanges.decode(new byte[0]).isEmpty());
+    assertTrue(TabletLocationChanges.decode(TabletLocationChanges.encode(Map.of())).isEmpty());
+  }
+}
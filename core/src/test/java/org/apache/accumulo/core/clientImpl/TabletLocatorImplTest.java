@@ -35,6 +35,9 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.accumulo.core.clientImpl.TabletLocator.TabletLocation;
 import org.apache.accumulo.core.clientImpl.TabletLocator.TabletLocations;
@@ -1102,6 +1105,97 @@ public class TabletLocatorImplTest {
     runTest(metaCache, ml, emb, "t");
   }
 
+  @Test
+  public void testPrefetch() throws Exception {
+    KeyExtent ke1 = nke("foo", "h", null);
+    KeyExtent ke2 = nke("foo", "t", "h");
+    KeyExtent ke3 = nke("foo", null, "t");
+
+    TServers tservers = new TServers();
+    TabletLocatorImpl metaCache = createLocators(tservers, "tserver1", "tserver2", "foo", ke1,
+        "l1", ke2, "l2", ke3, "l3");
+
+    metaCache.prefetch(context, nrl(new Range(new Text("a"), new Text("i"))));
+
+    // the metadata tablet is gone, so only the prefetched locations can be used
+    deleteServer(tservers, "tserver2");
+
+    List<Mutation> ml = nml(nm("a", "cf1:cq1=v1"), nm("i", "cf1:cq1=v2"), nm("w", "cf1:cq1=v3"));
+    Map<String,Map<KeyExtent,List<String>>> emb = cemb(nol("a", "l1", ke1), nol("i", "l2", ke2));
+    runTest(metaCache, ml, emb, "w");
+
+    tservers = new TServers();
+    metaCache = createLocators(tservers, "tserver1", "tserver2", "foo", ke1, "l1", ke2, "l2", ke3,
+        "l3");
+    metaCache.prefetch(context, nrl(new Range()));
+    deleteServer(tservers, "tserver2");
+
+    emb = cemb(nol("a", "l1", ke1), nol("i", "l2", ke2), nol("w", "l3", ke3));
+    runTest(metaCache, ml, emb);
+  }
+
+  @Test
+  public void testLocationChanged() throws Exception {
+    KeyExtent ke1 = nke("foo", "h", null);
+    KeyExtent ke2 = nke("foo", null, "h");
+
+    TServers tservers = new TServers();
+    TabletLocatorImpl metaCache =
+        createLocators(tservers, "tserver1", "tserver2", "foo", ke1, "l1", ke2, "l2");
+
+    List<Mutation> ml = nml(nm("a", "cf1:cq1=v1"), nm("w", "cf1:cq1=v2"));
+    runTest(metaCache, ml, cemb(nol("a", "l1", ke1), nol("w", "l2", ke2)));
+
+    // the metadata tablet is gone, so only pushed locations can change the cache
+    deleteServer(tservers, "tserver2");
+
+    metaCache.locationChanged(ke1, "l3", "");
+    runTest(metaCache, ml, cemb(nol("a", "l3", ke1), nol("w", "l2", ke2)));
+
+    // pushed locations for extents that are not cached do not evict the cached tablets
+    metaCache.locationChanged(nke("foo", "m", "h"), "l4", "");
+    metaCache.locationChanged(nke("foo", null, null), "l4", "");
+    runTest(metaCache, ml, cemb(nol("a", "l3", ke1), nol("w", "l2", ke2)));
+  }
+
+  @Test
+  public void testConcurrentBinMutations() throws Exception {
+    KeyExtent ke1 = nke("foo", "h", null);
+    KeyExtent ke2 = nke("foo", "t", "h");
+    KeyExtent ke3 = nke("foo", null, "t");
+
+    TabletLocatorImpl metaCache = createLocators("foo", ke1, "l1", ke2, "l2", ke3, "l3");
+
+    List<Mutation> ml = nml(nm("a", "cf1:cq1=v1"), nm("i", "cf1:cq1=v2"), nm("w", "cf1:cq1=v3"));
+    Map<String,Map<KeyExtent,List<String>>> emb =
+        cemb(nol("a", "l1", ke1), nol("i", "l2", ke2), nol("w", "l3", ke3));
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < 1000; j++) {
+            runTest(metaCache, ml, emb);
+          }
+          return null;
+        }));
+      }
+
+      // cache entries are removed and looked up again while other threads read the cache
+      List<KeyExtent> extents = List.of(ke1, ke2, ke3);
+      for (int j = 0; j < 1000; j++) {
+        metaCache.invalidateCache(extents.get(j % extents.size()));
+      }
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void testBinSplit() throws Exception {
     // try binning mutations and ranges when a tablet splits
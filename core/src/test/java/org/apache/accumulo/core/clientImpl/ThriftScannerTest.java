@@ -18,8 +18,19 @@
  */
 package org.apache.accumulo.core.clientImpl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.apache.accumulo.core.clientImpl.ThriftScanner.ScanState;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.security.Authorizations;
 import org.junit.Test;
 
 /**
@@ -46,4 +57,51 @@ public class ThriftScannerTest {
     assertTrue("New pause should be within [0,2], but was " + nextPause,
         withinTenPercent(maxPause, nextPause));
   }
+
+  private static ScanState createScanState(int size, long readaheadThreshold, long limit) {
+    ScanState scanState = new ScanState(null, TableId.of("1"), Authorizations.EMPTY, new Range(),
+        new TreeSet<>(), size, List.of(), Map.of(), false, readaheadThreshold, null,
+        Long.MAX_VALUE, null, null);
+    scanState.entriesRemaining = limit;
+    return scanState;
+  }
+
+  @Test
+  public void testNoLimit() {
+    ScanState scanState = createScanState(1000, 3, Long.MAX_VALUE);
+    assertEquals(1000, ThriftScanner.getBatchSize(scanState));
+    assertEquals(3, ThriftScanner.getReadaheadThreshold(scanState));
+
+    List<Integer> results = List.of(1, 2, 3);
+    assertEquals(results, ThriftScanner.limitResults(scanState, results));
+    assertEquals(1000, ThriftScanner.getBatchSize(scanState));
+  }
+
+  @Test
+  public void testLimit() {
+    ScanState scanState = createScanState(1000, 3, 2500);
+    assertEquals(1000, ThriftScanner.getBatchSize(scanState));
+    assertEquals(3, ThriftScanner.getReadaheadThreshold(scanState));
+
+    ThriftScanner.limitResults(scanState, new ArrayList<>(Collections.nCopies(1000, 0)));
+    ThriftScanner.limitResults(scanState, new ArrayList<>(Collections.nCopies(1000, 0)));
+    assertEquals(500, scanState.entriesRemaining);
+
+    // the rest of the scan fits in one batch, so the batch is capped and read ahead is skipped
+    assertEquals(500, ThriftScanner.getBatchSize(scanState));
+    assertEquals(Long.MAX_VALUE, ThriftScanner.getReadaheadThreshold(scanState));
+
+    // a batch read ahead by the server before the cap may hold more than is needed
+    List<Integer> results = ThriftScanner.limitResults(scanState,
+        new ArrayList<>(Collections.nCopies(1000, 0)));
+    assertEquals(500, results.size());
+    assertEquals(0, scanState.entriesRemaining);
+  }
+
+  @Test
+  public void testLimitSmallerThanBatch() {
+    ScanState scanState = createScanState(1000, 0, 10);
+    assertEquals(10, ThriftScanner.getBatchSize(scanState));
+    assertEquals(Long.MAX_VALUE, ThriftScanner.getReadaheadThreshold(scanState));
+  }
 }
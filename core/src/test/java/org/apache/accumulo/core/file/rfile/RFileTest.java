@@ -682,6 +682,87 @@ public class RFileTest {
     trf.closeReader();
   }
 
+  @Test
+  public void testRawBlockCopy() throws IOException {
+    // two source files with disjoint rows and many small blocks
+    TestRFile src1 = new TestRFile(conf);
+    src1.openWriter(true, 100);
+    for (int i = 0; i < 200; i++) {
+      src1.writer.append(newKey(formatString("r_", i), "cf1", "cq1", "L1", 55),
+          newValue("foo" + i));
+    }
+    src1.closeWriter();
+
+    TestRFile src2 = new TestRFile(conf);
+    src2.openWriter(true, 100);
+    for (int i = 300; i < 500; i++) {
+      src2.writer.append(newKey(formatString("r_", i), "cf1", "cq1", "L1", 55),
+          newValue("foo" + i));
+    }
+    src2.closeWriter();
+
+    // copy the blocks of both files, with some entries appended normally in between
+    TestRFile trf = new TestRFile(conf);
+    trf.openWriter(true, 100);
+
+    src1.openReader();
+    RFile.RawBlockReader blocks = src1.reader.getRawBlockReader();
+    assertNotNull(blocks);
+    int numBlocks = 0;
+    while (blocks.hasNext()) {
+      assertTrue(trf.writer.appendRawBlock(blocks.next()));
+      numBlocks++;
+    }
+    assertTrue(numBlocks > 1);
+    src1.closeReader();
+
+    for (int i = 200; i < 300; i++) {
+      trf.writer.append(newKey(formatString("r_", i), "cf1", "cq1", "L1", 55),
+          newValue("foo" + i));
+    }
+
+    src2.openReader();
+    blocks = src2.reader.getRawBlockReader();
+    RFile.RawBlock last = null;
+    while (blocks.hasNext()) {
+      last = blocks.next();
+      assertTrue(trf.writer.appendRawBlock(last));
+    }
+    src2.closeReader();
+
+    // blocks must be appended in order
+    try {
+      trf.writer.appendRawBlock(last);
+      fail("Appending a block out of order should fail");
+    } catch (IllegalArgumentException e) {}
+
+    trf.closeWriter();
+
+    trf.openReader();
+    checkIndex(trf.reader);
+
+    trf.iter.seek(new Range(), EMPTY_COL_FAMS, false);
+    for (int i = 0; i < 500; i++) {
+      assertTrue(trf.iter.hasTop());
+      assertEquals(newKey(formatString("r_", i), "cf1", "cq1", "L1", 55), trf.iter.getTopKey());
+      assertEquals(newValue("foo" + i), trf.iter.getTopValue());
+      trf.iter.next();
+    }
+    assertFalse(trf.iter.hasTop());
+
+    // seek into copied and appended blocks
+    for (int i : new int[] {5, 150, 250, 350, 499}) {
+      trf.seek(newKey(formatString("r_", i), "cf1", "cq1", "L1", 55));
+      assertTrue(trf.iter.hasTop());
+      assertEquals(newKey(formatString("r_", i), "cf1", "cq1", "L1", 55), trf.iter.getTopKey());
+    }
+
+    assertEquals(newKey(formatString("r_", 0), "cf1", "cq1", "L1", 55), trf.reader.getFirstKey());
+    assertEquals(newKey(formatString("r_", 499), "cf1", "cq1", "L1", 55), trf.reader.getLastKey());
+
+    trf.closeReader();
+  }
+
   @Test
   public void test7() throws IOException {
     // these tests exercise setting the end key of a range
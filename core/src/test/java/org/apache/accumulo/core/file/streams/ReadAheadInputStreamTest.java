@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.file.streams;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.hadoop.fs.PositionedReadable;
+import org.junit.Test;
+
+public class ReadAheadInputStreamTest {
+
+  private static final SecureRandom random = new SecureRandom();
+
+  @Test
+  public void testReadAndSeek() throws Exception {
+    byte[] data = new byte[10_000];
+    random.nextBytes(data);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try (ReadAheadInputStream in =
+        new ReadAheadInputStream(new PositionedInputStream(data), executor, 128, 3)) {
+
+      // read the whole stream with reads that do not line up with chunks
+      byte[] read = new byte[data.length];
+      int pos = 0;
+      while (pos < data.length) {
+        int count = in.read(read, pos, Math.min(77, data.length - pos));
+        assertEquals(pos + count, in.getPos());
+        pos += count;
+      }
+      assertArrayEquals(data, read);
+      assertEquals(-1, in.read());
+      assertEquals(-1, in.read(read, 0, 10));
+
+      // seek backwards, forwards and within buffered data
+      for (int seek : new int[] {5000, 9999, 0, 130, 127, 3000}) {
+        in.seek(seek);
+        assertEquals(data[seek] & 0xff, in.read());
+        assertEquals(seek + 1, in.getPos());
+      }
+
+      in.seek(9990);
+      byte[] end = new byte[100];
+      assertEquals(10, in.read(end, 0, 100));
+      assertArrayEquals(Arrays.copyOfRange(data, 9990, 10_000), Arrays.copyOf(end, 10));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static class PositionedInputStream extends ByteArrayInputStream
+      implements PositionedReadable {
+
+    PositionedInputStream(byte[] data) {
+      super(data);
+    }
+
+    @Override
+    public int read(long position, byte[] buffer, int offset, int length) {
+      if (position >= buf.length) {
+        return -1;
+      }
+      int len = (int) Math.min(length, buf.length - position);
+      System.arraycopy(buf, (int) position, buffer, offset, len);
+      return len;
+    }
+
+    @Override
+    public void readFully(long position, byte[] buffer, int offset, int length)
+        throws IOException {
+      if (read(position, buffer, offset, length) != length) {
+        throw new EOFException();
+      }
+    }
+
+    @Override
+    public void readFully(long position, byte[] buffer) throws IOException {
+      readFully(position, buffer, 0, buffer.length);
+    }
+  }
+}
@@ -411,4 +411,45 @@ public class MultiIteratorTest {
     mi.seek(r7, EMPTY_COL_FAMS, false);
     assertFalse(mi.hasTop());
   }
+
+  @Test
+  public void testManySkewedSources() throws IOException {
+    // one large source merged with many small sources, with the small sources interleaved at
+    // varying rates so that the top source changes in many different ways
+    List<SortedKeyValueIterator<Key,Value>> iters = new ArrayList<>();
+    TreeMap<Key,Value> expected = new TreeMap<>();
+
+    TreeMap<Key,Value> large = new TreeMap<>();
+    for (int i = 0; i < 1000; i++) {
+      newKeyValue(large, i * 3, 0, false, "l" + i);
+    }
+    expected.putAll(large);
+    iters.add(new SortedMapIterator(large));
+
+    for (int s = 1; s <= 25; s++) {
+      TreeMap<Key,Value> small = new TreeMap<>();
+      for (int i = s; i < 3000; i += 37 * s) {
+        newKeyValue(small, i, s, false, "s" + s + "_" + i);
+      }
+      expected.putAll(small);
+      iters.add(new SortedMapIterator(small));
+    }
+
+    MultiIterator mi = new MultiIterator(iters, true);
+
+    for (Key seekKey : List.of(new Key(), newKey(1500, 0), newKey(2999, 0))) {
+      mi.seek(new Range(seekKey, null), EMPTY_COL_FAMS, false);
+      TreeMap<Key,Value> actual = new TreeMap<>();
+      Key prev = null;
+      while (mi.hasTop()) {
+        if (prev != null) {
+          assertTrue(prev.compareTo(mi.getTopKey()) < 0);
+        }
+        prev = new Key(mi.getTopKey());
+        actual.put(prev, new Value(mi.getTopValue()));
+        mi.next();
+      }
+      assertEquals(expected.tailMap(seekKey), actual);
+    }
+  }
 }
@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.spi.compaction;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.apache.accumulo.core.client.admin.compaction.CompactableFile;
+import org.apache.accumulo.core.client.summary.SummarizerConfiguration;
+import org.apache.accumulo.core.client.summary.Summary;
+import org.apache.accumulo.core.conf.ConfigurationTypeHelper;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.spi.common.ServiceEnvironment;
+import org.apache.accumulo.core.spi.common.ServiceEnvironment.Configuration;
+import org.apache.accumulo.core.spi.compaction.CompactionPlan.Builder;
+import org.apache.accumulo.core.util.compaction.CompactionExecutorIdImpl;
+import org.apache.accumulo.core.util.compaction.CompactionPlanImpl;
+import org.easymock.EasyMock;
+
+/**
+ * Fixtures shared by the compaction planner tests.
+ */
+class CompactionPlannerTestUtil {
+
+  /**
+   * A small executor for files up to 32M and a large executor for everything else.
+   */
+  static final String EXECUTORS =
+      "[{'name':'small','type':'internal','maxSize':'32M','numThreads':1},"
+          + "{'name':'large','type':'internal','numThreads':2}]";
+
+  private CompactionPlannerTestUtil() {}
+
+  static Set<CompactableFile> createCFs(String... namesSizePairs) {
+    Set<CompactableFile> files = new HashSet<>();
+
+    for (int i = 0; i < namesSizePairs.length; i += 2) {
+      String name = namesSizePairs[i];
+      long size = ConfigurationTypeHelper.getFixedMemoryAsBytes(namesSizePairs[i + 1]);
+      try {
+        files.add(CompactableFile
+            .create(new URI("hdfs://fake/accumulo/tables/1/t-0000000z/" + name + ".rf"), size, 0));
+      } catch (URISyntaxException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    return files;
+  }
+
+  /**
+   * Planning parameters for table 42. The service environment and summaries are only available
+   * when set by a test.
+   */
+  static class TestPlanningParameters implements CompactionPlanner.PlanningParameters {
+
+    private final Set<CompactableFile> all;
+    private final Set<CompactableFile> candidates;
+    private final Collection<CompactionJob> running;
+    private final double ratio;
+    private final CompactionKind kind;
+    private ServiceEnvironment senv = null;
+    private double scanRate = 0;
+    private double ingestRate = 0;
+    private Collection<Summary> summaries = null;
+
+    TestPlanningParameters(Set<CompactableFile> all, Set<CompactableFile> candidates,
+        Collection<CompactionJob> running, double ratio, CompactionKind kind) {
+      this.all = all;
+      this.candidates = candidates;
+      this.running = running;
+      this.ratio = ratio;
+      this.kind = kind;
+    }
+
+    TestPlanningParameters setServiceEnvironment(ServiceEnvironment senv) {
+      this.senv = senv;
+      return this;
+    }
+
+    TestPlanningParameters setRates(double scanRate, double ingestRate) {
+      this.scanRate = scanRate;
+      this.ingestRate = ingestRate;
+      return this;
+    }
+
+    TestPlanningParameters setSummaries(Collection<Summary> summaries) {
+      this.summaries = summaries;
+      return this;
+    }
+
+    @Override
+    public TableId getTableId() {
+      return TableId.of("42");
+    }
+
+    @Override
+    public ServiceEnvironment getServiceEnvironment() {
+      if (senv == null) {
+        throw new UnsupportedOperationException();
+      }
+      return senv;
+    }
+
+    @Override
+    public Collection<CompactionJob> getRunningCompactions() {
+      return running;
+    }
+
+    @Override
+    public double getRatio() {
+      return ratio;
+    }
+
+    @Override
+    public CompactionKind getKind() {
+      return kind;
+    }
+
+    @Override
+    public Map<String,String> getExecutionHints() {
+      return Map.of();
+    }
+
+    @Override
+    public Collection<CompactableFile> getCandidates() {
+      return candidates;
+    }
+
+    @Override
+    public Collection<CompactableFile> getAll() {
+      return all;
+    }
+
+    @Override
+    public double getScanRate() {
+      return scanRate;
+    }
+
+    @Override
+    public double getIngestRate() {
+      return ingestRate;
+    }
+
+    @Override
+    public Collection<Summary> getSummaries(Collection<CompactableFile> files,
+        Predicate<SummarizerConfiguration> summarySelector) {
+      if (summaries == null) {
+        throw new UnsupportedOperationException();
+      }
+      return summaries;
+    }
+
+    @Override
+    public Builder createPlanBuilder() {
+      return new CompactionPlanImpl.BuilderImpl(kind, all, candidates);
+    }
+  }
+
+  static TestPlanningParameters createPlanningParams(Set<CompactableFile> all,
+      Set<CompactableFile> candidates, Collection<CompactionJob> running, double ratio,
+      CompactionKind kind) {
+    return new TestPlanningParameters(all, candidates, running, ratio, kind);
+  }
+
+  /**
+   * @return a service environment where no property is set
+   */
+  static ServiceEnvironment createServiceEnvironment() {
+    Configuration conf = EasyMock.createMock(Configuration.class);
+    EasyMock.expect(conf.isSet(EasyMock.anyString())).andReturn(false).anyTimes();
+    ServiceEnvironment senv = EasyMock.createMock(ServiceEnvironment.class);
+    EasyMock.expect(senv.getConfiguration()).andReturn(conf).anyTimes();
+    EasyMock.replay(conf, senv);
+    return senv;
+  }
+
+  /**
+   * Initializes a planner with {@link #EXECUTORS} and the given options.
+   */
+  static <P extends CompactionPlanner> P createPlanner(P planner, Map<String,String> options) {
+    ServiceEnvironment senv = createServiceEnvironment();
+
+    planner.init(new CompactionPlanner.InitParameters() {
+
+      @Override
+      public ServiceEnvironment getServiceEnvironment() {
+        return senv;
+      }
+
+      @Override
+      public Map<String,String> getOptions() {
+        var opts = new HashMap<>(options);
+        opts.put("executors", EXECUTORS.replaceAll("'", "\""));
+        return opts;
+      }
+
+      @Override
+      public String getFullyQualifiedOption(String key) {
+        return "tserver.compaction.major.service.cs1.planner.opts." + key;
+      }
+
+      @Override
+      public ExecutorManager getExecutorManager() {
+        return new ExecutorManager() {
+          @Override
+          public CompactionExecutorId createExecutor(String name, int threads) {
+            return CompactionExecutorIdImpl.externalId(name);
+          }
+
+          @Override
+          public CompactionExecutorId getExternalExecutor(String name) {
+            throw new UnsupportedOperationException();
+          }
+        };
+      }
+    });
+    return planner;
+  }
+}
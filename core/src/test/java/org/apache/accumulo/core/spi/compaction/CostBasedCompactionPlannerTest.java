@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.spi.compaction;
+
+import static org.apache.accumulo.core.client.summary.summarizers.DeletesSummarizer.DELETES_STAT;
+import static org.apache.accumulo.core.client.summary.summarizers.DeletesSummarizer.TOTAL_STAT;
+import static org.apache.accumulo.core.spi.compaction.CompactionPlannerTestUtil.createCFs;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.accumulo.core.client.admin.compaction.CompactableFile;
+import org.apache.accumulo.core.client.summary.SummarizerConfiguration;
+import org.apache.accumulo.core.client.summary.Summary;
+import org.apache.accumulo.core.client.summary.summarizers.DeletesSummarizer;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.spi.common.ServiceEnvironment;
+import org.apache.accumulo.core.spi.common.ServiceEnvironment.Configuration;
+import org.easymock.EasyMock;
+import org.junit.Test;
+
+public class CostBasedCompactionPlannerTest {
+
+  private static final double DELTA = 0.000001;
+
+  @Test
+  public void testAdjustRatio() {
+    assertEquals(3.0, CostBasedCompactionPlanner.adjustRatio(3.0, 1.5, 0), DELTA);
+    assertEquals(2.25, CostBasedCompactionPlanner.adjustRatio(3.0, 1.5, .5), DELTA);
+    assertEquals(1.5, CostBasedCompactionPlanner.adjustRatio(3.0, 1.5, 1), DELTA);
+    // never raise a ratio that is already below the minimum
+    assertEquals(1.2, CostBasedCompactionPlanner.adjustRatio(1.2, 1.5, 1), DELTA);
+  }
+
+  @Test
+  public void testHeat() {
+    assertEquals(0, CostBasedCompactionPlanner.heat(0, 1000, 0, 0), DELTA);
+    assertEquals(.5, CostBasedCompactionPlanner.heat(500, 1000, 100, 0), DELTA);
+    assertEquals(1, CostBasedCompactionPlanner.heat(5000, 1000, 100, 0), DELTA);
+    // tablets written as much as they are read are only half as hot
+    assertEquals(.5, CostBasedCompactionPlanner.heat(5000, 1000, 100, 100), DELTA);
+
+    // deletes make reads more expensive
+    assertEquals(1000, CostBasedCompactionPlanner.readCost(100, 10, 0), DELTA);
+    assertEquals(2000, CostBasedCompactionPlanner.readCost(100, 10, .5), DELTA);
+  }
+
+  @Test
+  public void testAdjustPriority() {
+    var files = createCFs("F1", "1M", "F2", "1M", "F3", "2M");
+    short prio = -32000;
+    // removes 2 of 4 files from a tablet with a read cost of 4000 while rewriting 4MB
+    assertEquals(-32000 + 500, CostBasedCompactionPlanner.adjustPriority(prio, 4000, 4, files));
+    assertEquals(prio, CostBasedCompactionPlanner.adjustPriority(prio, 0, 4, files));
+    assertEquals(-1, CostBasedCompactionPlanner.adjustPriority(prio, 1e12, 4, files));
+  }
+
+  @Test
+  public void testHotTablet() {
+    var planner = createPlanner();
+    var all = createCFs("F1", "9M", "F2", "10M", "F3", "10M");
+
+    // a cold tablet does not meet the compaction ratio
+    var plan = planner.makePlan(createPlanningParams(all, 0, 0));
+    assertTrue(plan.getJobs().isEmpty());
+
+    // a hot tablet uses the lower ratio and compacts
+    plan = planner.makePlan(createPlanningParams(all, 1_000_000, 0));
+    var job = plan.getJobs().iterator().next();
+    assertEquals(all, job.getFiles());
+    assertTrue(job.getPriority() < 0);
+
+    // a tablet that is written much more than it is read stays close to the configured ratio
+    plan = planner.makePlan(createPlanningParams(all, 1_000_000, 100_000_000));
+    assertTrue(plan.getJobs().isEmpty());
+  }
+
+  @Test
+  public void testDeletesRaiseReadCost() {
+    var planner = createPlanner();
+    var all = createCFs("F1", "9M", "F2", "10M", "F3", "10M");
+    var tableProps = SummarizerConfiguration.builder(DeletesSummarizer.class).build()
+        .toTableProperties();
+
+    // without deletes the tablet is not read enough to lower the ratio below what the files need
+    var summary = createDeletesSummary(1000, 0);
+    var plan = planner.makePlan(createPlanningParams(all, 1000, 0, tableProps, List.of(summary)));
+    assertTrue(plan.getJobs().isEmpty());
+
+    // scans read through the deletes without returning them, so the tablet is more costly to read
+    summary = createDeletesSummary(1000, 750);
+    plan = planner.makePlan(createPlanningParams(all, 1000, 0, tableProps, List.of(summary)));
+    var job = plan.getJobs().iterator().next();
+    assertEquals(all, job.getFiles());
+
+    // summaries are ignored when the summarizer is not configured for the table
+    plan = planner.makePlan(createPlanningParams(all, 1000, 0, Map.of(), List.of(summary)));
+    assertTrue(plan.getJobs().isEmpty());
+  }
+
+  private static Summary createDeletesSummary(long total, long deletes) {
+    return new Summary(Map.of(TOTAL_STAT, total, DELETES_STAT, deletes),
+        SummarizerConfiguration.builder(DeletesSummarizer.class).build(), 3, 0, 0, 0, 0);
+  }
+
+  private static CompactionPlanner.PlanningParameters createPlanningParams(
+      Set<CompactableFile> files, double scanRate, double ingestRate) {
+    return createPlanningParams(files, scanRate, ingestRate, Map.of(), List.of());
+  }
+
+  private static CompactionPlanner.PlanningParameters createPlanningParams(
+      Set<CompactableFile> files, double scanRate, double ingestRate,
+      Map<String,String> tableProps, Collection<Summary> summaries) {
+    Configuration tableConf = EasyMock.createMock(Configuration.class);
+    EasyMock.expect(tableConf.getWithPrefix(EasyMock.anyString())).andReturn(tableProps)
+        .anyTimes();
+    ServiceEnvironment senv = EasyMock.createMock(ServiceEnvironment.class);
+    EasyMock.expect(senv.getConfiguration(TableId.of("42"))).andReturn(tableConf).anyTimes();
+    EasyMock.replay(tableConf, senv);
+
+    var params = CompactionPlannerTestUtil.createPlanningParams(files, files, List.of(), 3.0,
+        CompactionKind.SYSTEM);
+    return params.setServiceEnvironment(senv).setRates(scanRate, ingestRate)
+        .setSummaries(summaries);
+  }
+
+  private static CostBasedCompactionPlanner createPlanner() {
+    return CompactionPlannerTestUtil.createPlanner(new CostBasedCompactionPlanner(),
+        Map.of("minRatio", "1.5"));
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.spi.compaction;
+
+import static org.apache.accumulo.core.spi.compaction.CompactionPlannerTestUtil.createCFs;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.accumulo.core.client.admin.compaction.CompactableFile;
+import org.apache.accumulo.core.util.compaction.CompactionExecutorIdImpl;
+import org.apache.accumulo.core.util.compaction.CompactionPlanImpl;
+import org.junit.Test;
+
+public class LeveledCompactionPlannerTest {
+
+  private static final long MB = 1 << 20;
+
+  @Test
+  public void testGetLevel() {
+    assertEquals(0, LeveledCompactionPlanner.getLevel(0, 10 * MB, 4));
+    assertEquals(0, LeveledCompactionPlanner.getLevel(10 * MB, 10 * MB, 4));
+    assertEquals(1, LeveledCompactionPlanner.getLevel(10 * MB + 1, 10 * MB, 4));
+    assertEquals(1, LeveledCompactionPlanner.getLevel(40 * MB, 10 * MB, 4));
+    assertEquals(2, LeveledCompactionPlanner.getLevel(41 * MB, 10 * MB, 4));
+    assertEquals(2, LeveledCompactionPlanner.getLevel(160 * MB, 10 * MB, 4));
+    assertEquals(3, LeveledCompactionPlanner.getLevel(161 * MB, 10 * MB, 4));
+    // should not overflow
+    assertTrue(LeveledCompactionPlanner.getLevel(Long.MAX_VALUE, 10 * MB, 4) > 0);
+  }
+
+  @Test
+  public void testFindLevelToCompact() {
+    // level 1 has 3 files and level 0 has 4, so only level 0 is full
+    var files = createCFs("F1", "1M", "F2", "2M", "F3", "3M", "F4", "4M", "F5", "20M", "F6", "30M",
+        "F7", "35M", "F8", "1G");
+    var group = LeveledCompactionPlanner.findLevelToCompact(files, 10 * MB, 4, Long.MAX_VALUE);
+    assertEquals(createCFs("F1", "1M", "F2", "2M", "F3", "3M", "F4", "4M"), Set.copyOf(group));
+
+    // level 0 is not full, level 1 is. The large file in level 3 is never included.
+    files = createCFs("F1", "1M", "F2", "2M", "F5", "20M", "F6", "30M", "F7", "35M", "F9", "39M",
+        "F8", "1G");
+    group = LeveledCompactionPlanner.findLevelToCompact(files, 10 * MB, 4, Long.MAX_VALUE);
+    assertEquals(createCFs("F5", "20M", "F6", "30M", "F7", "35M", "F9", "39M"),
+        Set.copyOf(group));
+
+    // when a level has more than fanout files, the smallest are compacted
+    files = createCFs("F1", "1M", "F2", "2M", "F3", "3M", "F4", "4M", "F5", "5M");
+    group = LeveledCompactionPlanner.findLevelToCompact(files, 10 * MB, 4, Long.MAX_VALUE);
+    assertEquals(createCFs("F1", "1M", "F2", "2M", "F3", "3M", "F4", "4M"), Set.copyOf(group));
+
+    // a full level that does not fit in the largest executor is not compacted
+    files = createCFs("F5", "20M", "F6", "30M", "F7", "35M", "F9", "39M");
+    group = LeveledCompactionPlanner.findLevelToCompact(files, 10 * MB, 4, 100 * MB);
+    assertTrue(group.isEmpty());
+
+    // no level is full
+    files = createCFs("F1", "1M", "F2", "2M", "F5", "20M", "F6", "30M", "F8", "1G");
+    group = LeveledCompactionPlanner.findLevelToCompact(files, 10 * MB, 4, Long.MAX_VALUE);
+    assertTrue(group.isEmpty());
+  }
+
+  @Test
+  public void testRunningCompaction() {
+    var planner = createPlanner(Map.of());
+
+    // files in level 0 with the default options
+    var candidates = createCFs("F1", "1M", "F2", "2M", "F3", "3M", "F4", "4M", "F5", "5M", "F6",
+        "6M", "F7", "7M", "F8", "8M");
+    var plan = planner.makePlan(createPlanningParams(candidates, candidates, Set.of()));
+    var job = plan.getJobs().iterator().next();
+    assertEquals(candidates, job.getFiles());
+
+    // a running compaction will produce another level 0 file, so wait for it
+    var running = createCFs("F9", "1M", "F10", "1M");
+    var all = new HashSet<>(candidates);
+    all.addAll(running);
+    plan = planner.makePlan(createPlanningParams(all, candidates, Set.of(createJob(running))));
+    assertTrue(plan.getJobs().isEmpty());
+  }
+
+  @Test
+  public void testInvalidOptions() {
+    assertThrows(IllegalArgumentException.class, () -> createPlanner(Map.of("fanout", "1")));
+    assertThrows(IllegalArgumentException.class,
+        () -> createPlanner(Map.of("fanout", "20", "maxOpen", "10")));
+    assertThrows(IllegalArgumentException.class, () -> createPlanner(Map.of("levelBase", "0")));
+  }
+
+  private static CompactionJob createJob(Set<CompactableFile> files) {
+    return new CompactionPlanImpl.BuilderImpl(CompactionKind.SYSTEM, files, files)
+        .addJob((short) -32000, CompactionExecutorIdImpl.externalId("small"), files).build()
+        .getJobs().iterator().next();
+  }
+
+  private static CompactionPlanner.PlanningParameters createPlanningParams(
+      Set<CompactableFile> all, Set<CompactableFile> candidates,
+      Collection<CompactionJob> running) {
+    return CompactionPlannerTestUtil.createPlanningParams(all, candidates, running, 3.0,
+        CompactionKind.SYSTEM);
+  }
+
+  private static LeveledCompactionPlanner createPlanner(Map<String,String> options) {
+    return CompactionPlannerTestUtil.createPlanner(new LeveledCompactionPlanner(), options);
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.util.compaction;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class CompactionProgressTest {
+
+  private static final double DELTA = 0.000001;
+
+  @Test
+  public void testProgress() {
+    assertEquals(-1, CompactionProgress.getProgress(10, 0), DELTA);
+    assertEquals(0, CompactionProgress.getProgress(0, 100), DELTA);
+    assertEquals(.25, CompactionProgress.getProgress(25, 100), DELTA);
+    // input entry counts are estimates, so more may be read than expected
+    assertEquals(1, CompactionProgress.getProgress(150, 100), DELTA);
+
+    assertEquals(0, CompactionProgress.getEntriesPerSecond(100, 0), DELTA);
+    assertEquals(50, CompactionProgress.getEntriesPerSecond(100, 2000), DELTA);
+  }
+
+  @Test
+  public void testEstimatedTimeRemaining() {
+    assertEquals(-1, CompactionProgress.getEstimatedTimeRemaining(10, 0, 1000));
+    assertEquals(-1, CompactionProgress.getEstimatedTimeRemaining(0, 100, 1000));
+    assertEquals(3000, CompactionProgress.getEstimatedTimeRemaining(25, 100, 1000));
+    assertEquals(1000, CompactionProgress.getEstimatedTimeRemaining(50, 100, 1000));
+    assertEquals(0, CompactionProgress.getEstimatedTimeRemaining(150, 100, 1000));
+  }
+}
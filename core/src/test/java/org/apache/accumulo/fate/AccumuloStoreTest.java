@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.fate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.apache.accumulo.core.client.ConditionalWriter.Status;
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ColumnUpdate;
+import org.apache.accumulo.core.data.Condition;
+import org.apache.accumulo.core.data.ConditionalMutation;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.fate.ReadOnlyTStore.TStatus;
+import org.apache.hadoop.io.Text;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AccumuloStoreTest {
+
+  /**
+   * A store that keeps its table in memory. Conditional mutations are checked against the current
+   * value of each condition column, like a tablet server would.
+   */
+  private static class TestStore extends AccumuloStore<String> {
+    final TreeMap<Key,Value> table = new TreeMap<>();
+    final Deque<Long> tids = new ArrayDeque<>();
+    int unknownWrites = 0;
+    boolean applyUnknownWrites = true;
+
+    TestStore() {
+      super(null, "fate");
+    }
+
+    @Override
+    List<Entry<Key,Value>> read(Range range, Text family, Text qualifier) {
+      List<Entry<Key,Value>> entries = new ArrayList<>();
+      for (Entry<Key,Value> entry : table.entrySet()) {
+        Key key = entry.getKey();
+        if (range.contains(key) && (family == null || key.getColumnFamily().equals(family))
+            && (qualifier == null || key.getColumnQualifier().equals(qualifier))) {
+          entries.add(entry);
+        }
+      }
+      return entries;
+    }
+
+    @Override
+    void write(Mutation m) {
+      for (ColumnUpdate update : m.getUpdates()) {
+        Key key = new Key(m.getRow(), update.getColumnFamily(), update.getColumnQualifier(),
+            new byte[0], 0);
+        if (update.isDeleted()) {
+          table.remove(key);
+        } else {
+          table.put(key, new Value(update.getValue()));
+        }
+      }
+    }
+
+    private boolean check(byte[] row, Condition condition) {
+      Key key = new Key(row, condition.getFamily().toArray(), condition.getQualifier().toArray(),
+          new byte[0], 0);
+      Value current = table.get(key);
+      if (condition.getValue() == null) {
+        return current == null;
+      }
+      return current != null
+          && condition.getValue().equals(new ArrayByteSequence(current.get()));
+    }
+
+    @Override
+    Status write(ConditionalMutation cm) {
+      boolean pass = cm.getConditions().stream().allMatch(c -> check(cm.getRow(), c));
+      if (unknownWrites > 0) {
+        unknownWrites--;
+        if (pass && applyUnknownWrites) {
+          write((Mutation) cm);
+        }
+        return Status.UNKNOWN;
+      }
+      if (pass) {
+        write((Mutation) cm);
+        return Status.ACCEPTED;
+      }
+      return Status.REJECTED;
+    }
+
+    @Override
+    long nextTid() {
+      return tids.removeFirst();
+    }
+  }
+
+  private static class TestRepo implements Repo<String> {
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+
+    TestRepo(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public long isReady(long tid, String environment) {
+      return 0;
+    }
+
+    @Override
+    public String getDescription() {
+      return name;
+    }
+
+    @Override
+    public Repo<String> call(long tid, String environment) {
+      return null;
+    }
+
+    @Override
+    public void undo(long tid, String environment) {}
+
+    @Override
+    public String getReturn() {
+      return null;
+    }
+  }
+
+  private TestStore store;
+
+  @Before
+  public void setUp() {
+    store = new TestStore();
+  }
+
+  @Test
+  public void testCreateCollision() {
+    store.tids.add(5L);
+    assertEquals(5L, store.create());
+
+    // the first id is taken, so create should move on to the next one
+    store.tids.add(5L);
+    store.tids.add(7L);
+    assertEquals(7L, store.create());
+    assertTrue(store.tids.isEmpty());
+
+    store.reserve(5L);
+    store.reserve(7L);
+    assertEquals(TStatus.NEW, store.getStatus(5L));
+    assertEquals(TStatus.NEW, store.getStatus(7L));
+    assertEquals(List.of(5L, 7L), store.list());
+  }
+
+  @Test
+  public void testCreateUnknown() {
+    // an id whose write had an unknown outcome is not used, even if the write went through
+    store.tids.add(5L);
+    store.tids.add(7L);
+    store.unknownWrites = 1;
+    assertEquals(7L, store.create());
+  }
+
+  @Test
+  public void testSetStatus() {
+    store.reserve(5L);
+    assertThrows(IllegalStateException.class, () -> store.setStatus(5L, TStatus.IN_PROGRESS));
+    assertEquals(TStatus.UNKNOWN, store.getStatus(5L));
+
+    store.tids.add(5L);
+    store.create();
+    store.setStatus(5L, TStatus.IN_PROGRESS);
+    assertEquals(TStatus.IN_PROGRESS, store.getStatus(5L));
+
+    // the write went through, but the writer could not tell
+    store.unknownWrites = 1;
+    store.setStatus(5L, TStatus.FAILED_IN_PROGRESS);
+    assertEquals(TStatus.FAILED_IN_PROGRESS, store.getStatus(5L));
+    assertEquals(0, store.unknownWrites);
+
+    // the write did not go through and the writer could not tell, so it is tried again
+    store.unknownWrites = 1;
+    store.applyUnknownWrites = false;
+    store.setStatus(5L, TStatus.FAILED);
+    assertEquals(TStatus.FAILED, store.getStatus(5L));
+    assertEquals(0, store.unknownWrites);
+  }
+
+  @Test
+  public void testPushPop() throws Exception {
+    store.tids.add(5L);
+    store.create();
+    store.reserve(5L);
+    assertNull(store.top(5L));
+    assertThrows(IllegalStateException.class, () -> store.pop(5L));
+
+    store.push(5L, new TestRepo("a"));
+    store.push(5L, new TestRepo("b"));
+    assertEquals("b", store.top(5L).getDescription());
+
+    // the next push reuses the sequence number of the popped repo
+    store.pop(5L);
+    assertEquals("a", store.top(5L).getDescription());
+    store.push(5L, new TestRepo("c"));
+    assertEquals("c", store.top(5L).getDescription());
+
+    List<ReadOnlyRepo<String>> stack = store.getStack(5L);
+    assertEquals(2, stack.size());
+    assertEquals("c", stack.get(0).getDescription());
+    assertEquals("a", stack.get(1).getDescription());
+
+    store.pop(5L);
+    store.pop(5L);
+    assertNull(store.top(5L));
+    assertTrue(store.getStack(5L).isEmpty());
+  }
+
+  @Test
+  public void testProperties() {
+    store.tids.add(5L);
+    store.create();
+    store.reserve(5L);
+    assertNull(store.getProperty(5L, "p1"));
+
+    store.setProperty(5L, "p1", "v1");
+    store.setProperty(5L, "p2", 42L);
+    assertEquals("v1", store.getProperty(5L, "p1"));
+    assertEquals(42L, store.getProperty(5L, "p2"));
+  }
+
+  @Test
+  public void testDelete() throws Exception {
+    store.tids.add(5L);
+    store.tids.add(7L);
+    store.create();
+    store.create();
+    store.reserve(5L);
+    store.setStatus(5L, TStatus.IN_PROGRESS);
+    store.push(5L, new TestRepo("a"));
+    store.setProperty(5L, "p1", "v1");
+
+    store.delete(5L);
+    assertEquals(TStatus.UNKNOWN, store.getStatus(5L));
+    assertNull(store.top(5L));
+    assertNull(store.getProperty(5L, "p1"));
+    assertEquals(List.of(7L), store.list());
+
+    // a late status change can not bring back a deleted transaction
+    assertThrows(IllegalStateException.class, () -> store.setStatus(5L, TStatus.SUCCESSFUL));
+    assertEquals(TStatus.UNKNOWN, store.getStatus(5L));
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.fate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.fate.ReadOnlyTStore.TStatus;
+import org.junit.Test;
+
+public class ReservationsTest {
+
+  private final Map<Long,TStatus> statuses = new ConcurrentHashMap<>();
+
+  private List<Long> listRunnable() {
+    List<Long> runnable = new ArrayList<>();
+    statuses.forEach((tid, status) -> {
+      if (status == TStatus.IN_PROGRESS || status == TStatus.FAILED_IN_PROGRESS) {
+        runnable.add(tid);
+      }
+    });
+    runnable.sort(null);
+    return runnable;
+  }
+
+  private TStatus getStatus(long tid) {
+    return statuses.getOrDefault(tid, TStatus.UNKNOWN);
+  }
+
+  private void setStatus(Reservations reservations, long tid, TStatus status) {
+    statuses.put(tid, status);
+    reservations.statusChanged(tid, status);
+  }
+
+  @Test
+  public void testRoundRobin() {
+    statuses.put(1L, TStatus.IN_PROGRESS);
+    statuses.put(2L, TStatus.FAILED_IN_PROGRESS);
+    statuses.put(3L, TStatus.NEW);
+    Reservations reservations = new Reservations(this::listRunnable, this::getStatus);
+
+    assertEquals(1, reservations.reserve());
+    reservations.unreserve(1, 0);
+    assertEquals(2, reservations.reserve());
+    reservations.unreserve(2, 0);
+    assertEquals(1, reservations.reserve());
+
+    // a transaction that finishes is not reserved again
+    setStatus(reservations, 1, TStatus.SUCCESSFUL);
+    reservations.unreserve(1, 0);
+    assertEquals(2, reservations.reserve());
+    reservations.unreserve(2, 0);
+    assertEquals(2, reservations.reserve());
+    reservations.unreserve(2, 0);
+
+    // a transaction that is seeded is queued right away
+    reservations.reserve(3);
+    setStatus(reservations, 3, TStatus.IN_PROGRESS);
+    reservations.unreserve(3, 0);
+    assertEquals(2, reservations.reserve());
+    assertEquals(3, reservations.reserve());
+  }
+
+  @Test
+  public void testStatusChangedWhileQueued() {
+    statuses.put(1L, TStatus.IN_PROGRESS);
+    statuses.put(2L, TStatus.IN_PROGRESS);
+    Reservations reservations = new Reservations(this::listRunnable, this::getStatus);
+
+    assertEquals(1, reservations.reserve());
+
+    // changed by another process, reserve should check the status before returning it
+    statuses.put(2L, TStatus.FAILED);
+    reservations.unreserve(1, 0);
+    assertEquals(1, reservations.reserve());
+  }
+
+  @Test(timeout = 30_000)
+  public void testWakeUp() throws Exception {
+    statuses.put(1L, TStatus.IN_PROGRESS);
+    statuses.put(2L, TStatus.NEW);
+    Reservations reservations = new Reservations(this::listRunnable, this::getStatus);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      assertEquals(1, reservations.reserve());
+      long start = System.currentTimeMillis();
+      reservations.unreserve(1, 1000);
+
+      // the deferred transaction is reserved when it is due and not before
+      assertEquals(1, reservations.reserve());
+      long elapsed = System.currentTimeMillis() - start;
+      assertTrue("elapsed " + elapsed, elapsed >= 1000 && elapsed < 5000);
+
+      // a thread waiting for work gets a transaction as soon as it becomes runnable
+      Future<Long> waiting = executor.submit(() -> reservations.reserve());
+      Thread.sleep(100);
+      reservations.reserve(2);
+      setStatus(reservations, 2, TStatus.IN_PROGRESS);
+      reservations.unreserve(2, 0);
+      assertEquals(2L, (long) waiting.get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testRescan() throws Exception {
+    Reservations reservations = new Reservations(this::listRunnable, this::getStatus, 100);
+    statuses.put(1L, TStatus.IN_PROGRESS);
+    assertEquals(1, reservations.reserve());
+
+    // set by another process, so only seen when the store is listed again
+    statuses.put(2L, TStatus.FAILED_IN_PROGRESS);
+    assertEquals(2, reservations.reserve());
+
+    setStatus(reservations, 1, TStatus.SUCCESSFUL);
+    reservations.unreserve(1, 0);
+    reservations.deleted(1);
+    statuses.remove(1L);
+    reservations.unreserve(2, 0);
+    assertEquals(2, reservations.reserve());
+  }
+}
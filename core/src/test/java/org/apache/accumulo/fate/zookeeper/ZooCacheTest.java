@@ -25,6 +25,7 @@ import static org.easymock.EasyMock.createStrictMock;
 import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.isNull;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 import static org.junit.Assert.assertArrayEquals;
@@ -34,9 +35,12 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.accumulo.fate.zookeeper.ZooCache.ZcStat;
+import org.apache.zookeeper.AddWatchMode;
 import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.WatchedEvent;
 import org.apache.zookeeper.Watcher;
@@ -199,6 +203,37 @@ public class ZooCacheTest {
     assertNull(zc.getChildren(ZPATH)); // cache hit
   }
 
+  @Test
+  public void testDataAndChildren_UpdateCount() throws Exception {
+    Stat existsStat = new Stat();
+    expect(zk.exists(eq(ZPATH), anyObject(Watcher.class))).andReturn(existsStat);
+    expect(zk.getData(eq(ZPATH), anyObject(Watcher.class), eq(existsStat))).andReturn(DATA);
+    expect(zk.getChildren(eq(ZPATH), anyObject(Watcher.class))).andReturn(CHILDREN);
+    replay(zk);
+
+    long count = zc.getUpdateCount();
+    assertArrayEquals(DATA, zc.get(ZPATH));
+    assertTrue(zc.getUpdateCount() > count);
+
+    count = zc.getUpdateCount();
+    assertEquals(CHILDREN, zc.getChildren(ZPATH));
+    assertTrue(zc.getUpdateCount() > count);
+    verify(zk);
+
+    // caching the children of a node keeps its data cached and cache hits do not count as updates
+    count = zc.getUpdateCount();
+    assertTrue(zc.dataCached(ZPATH));
+    assertTrue(zc.childrenCached(ZPATH));
+    assertSame(DATA, zc.get(ZPATH));
+    assertEquals(CHILDREN, zc.getChildren(ZPATH));
+    assertEquals(count, zc.getUpdateCount());
+
+    zc.clear("/some/path");
+    assertFalse(zc.dataCached(ZPATH));
+    assertFalse(zc.childrenCached(ZPATH));
+    assertTrue(zc.getUpdateCount() > count);
+  }
+
   @Test
   public void testGetChildren_Retry() throws Exception {
     expect(zk.getChildren(eq(ZPATH), anyObject(Watcher.class)))
@@ -220,6 +255,47 @@ public class ZooCacheTest {
     verify(zk);
   }
 
+  @Test
+  public void testPersistentWatch() throws Exception {
+    List<WatchedEvent> events = new ArrayList<>();
+    zc = new ZooCache(zr, events::add, Set.of("/some/path"));
+
+    Capture<Watcher> cw = EasyMock.newCapture();
+    Stat existsStat = new Stat();
+    zk.addWatch(eq("/some/path"), capture(cw), eq(AddWatchMode.PERSISTENT_RECURSIVE));
+    expect(zk.exists(eq(ZPATH), isNull())).andReturn(existsStat);
+    expect(zk.getData(eq(ZPATH), isNull(), eq(existsStat))).andReturn(DATA);
+    expect(zk.getChildren(eq(ZPATH), isNull())).andReturn(CHILDREN);
+    replay(zk);
+
+    assertArrayEquals(DATA, zc.get(ZPATH));
+    assertEquals(CHILDREN, zc.getChildren(ZPATH));
+    verify(zk);
+    Watcher w = cw.getValue();
+
+    // a data change only drops the data of the node
+    WatchedEvent dataChanged = new WatchedEvent(Watcher.Event.EventType.NodeDataChanged,
+        Watcher.Event.KeeperState.SyncConnected, ZPATH);
+    w.process(dataChanged);
+    assertFalse(zc.dataCached(ZPATH));
+    assertTrue(zc.childrenCached(ZPATH));
+    assertEquals(List.of(dataChanged), events);
+
+    // creating a child is passed on as a change to the children of the cached parent
+    events.clear();
+    w.process(new WatchedEvent(Watcher.Event.EventType.NodeCreated,
+        Watcher.Event.KeeperState.SyncConnected, ZPATH + "/scrooge"));
+    assertFalse(zc.childrenCached(ZPATH));
+    assertEquals(1, events.size());
+    assertEquals(Watcher.Event.EventType.NodeChildrenChanged, events.get(0).getType());
+    assertEquals(ZPATH, events.get(0).getPath());
+
+    // events for nodes that are not cached are not passed on
+    events.clear();
+    w.process(dataChanged);
+    assertTrue(events.isEmpty());
+  }
+
   private static class TestWatcher implements Watcher {
     private final WatchedEvent expectedEvent;
     private boolean wasCalled;
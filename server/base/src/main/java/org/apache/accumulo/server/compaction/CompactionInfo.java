@@ -31,6 +31,7 @@ import org.apache.accumulo.core.metadata.StoredTabletFile;
 import org.apache.accumulo.core.tabletserver.thrift.ActiveCompaction;
 import org.apache.accumulo.core.tabletserver.thrift.TCompactionReason;
 import org.apache.accumulo.core.tabletserver.thrift.TCompactionType;
+import org.apache.accumulo.core.util.compaction.CompactionProgress;
 
 public class CompactionInfo {
 
@@ -38,12 +39,24 @@ public class CompactionInfo {
   private final String localityGroup;
   private final long entriesRead;
   private final long entriesWritten;
+  private final long entriesToBeCompacted;
+  private final long bytesToBeCompacted;
+  private final int localityGroupsCompleted;
+  private final int localityGroupCount;
+  private final long age;
   private final TCompactionReason reason;
 
   CompactionInfo(FileCompactor compactor) {
-    this.localityGroup = compactor.getCurrentLocalityGroup();
+    synchronized (compactor) {
+      this.localityGroup = compactor.getCurrentLocalityGroup();
+      this.localityGroupCount = compactor.getLocalityGroupCount();
+    }
+    this.localityGroupsCompleted = compactor.getLocalityGroupsCompleted();
     this.entriesRead = compactor.getEntriesRead();
     this.entriesWritten = compactor.getEntriesWritten();
+    this.entriesToBeCompacted = compactor.getEntriesToBeCompacted();
+    this.bytesToBeCompacted = compactor.getBytesToBeCompacted();
+    this.age = System.currentTimeMillis() - compactor.getStartTime();
     this.reason = compactor.getReason();
     this.compactor = compactor;
   }
@@ -64,6 +77,63 @@ public class CompactionInfo {
     return entriesWritten;
   }
 
+  /**
+   * @return the estimated number of entries in the input files
+   */
+  public long getEntriesToBeCompacted() {
+    return entriesToBeCompacted;
+  }
+
+  /**
+   * @return the size of the input files
+   */
+  public long getBytesToBeCompacted() {
+    return bytesToBeCompacted;
+  }
+
+  /**
+   * @return an estimate of how much of the input files have been read, based on the fraction of
+   *         entries read
+   */
+  public long getEstimatedBytesRead() {
+    double progress = getProgress();
+    return progress < 0 ? 0 : Math.round(bytesToBeCompacted * progress);
+  }
+
+  /**
+   * @return the fraction of the input read, or -1 when it is not known
+   */
+  public double getProgress() {
+    return CompactionProgress.getProgress(entriesRead, entriesToBeCompacted);
+  }
+
+  public double getEntriesPerSecond() {
+    return CompactionProgress.getEntriesPerSecond(entriesRead, age);
+  }
+
+  /**
+   * @return the estimated milliseconds until the compaction finishes, or -1 when it is not known
+   */
+  public long getEstimatedTimeRemaining() {
+    return CompactionProgress.getEstimatedTimeRemaining(entriesRead, entriesToBeCompacted, age);
+  }
+
+  /**
+   * @return the number of locality groups whose input has been fully read. When locality groups
+   *         are compacted concurrently, any number of the other groups may be in progress.
+   */
+  public int getLocalityGroupsCompleted() {
+    return localityGroupsCompleted;
+  }
+
+  public int getLocalityGroupCount() {
+    return localityGroupCount;
+  }
+
+  public long getAge() {
+    return age;
+  }
+
   public Thread getThread() {
     return compactor.thread;
   }
@@ -96,8 +166,8 @@ public class CompactionInfo {
     }
     List<String> files = compactor.getFilesToCompact().stream().map(StoredTabletFile::getPathStr)
         .collect(Collectors.toList());
-    return new ActiveCompaction(compactor.extent.toThrift(),
-        System.currentTimeMillis() - compactor.getStartTime(), files, compactor.getOutputFile(),
-        type, reason, localityGroup, entriesRead, entriesWritten, iiList, iterOptions);
+    return new ActiveCompaction(compactor.extent.toThrift(), age, files,
+        compactor.getOutputFile(), type, reason, localityGroup, entriesRead, entriesWritten, iiList,
+        iterOptions, entriesToBeCompacted, bytesToBeCompacted);
   }
 }
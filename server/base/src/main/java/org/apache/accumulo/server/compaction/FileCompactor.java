@@ -24,28 +24,44 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.conf.AccumuloConfiguration;
 import org.apache.accumulo.core.conf.IterConfigUtil;
+import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.PartialKey;
+import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.dataImpl.thrift.IterInfo;
 import org.apache.accumulo.core.file.FileOperations;
 import org.apache.accumulo.core.file.FileSKVIterator;
 import org.apache.accumulo.core.file.FileSKVWriter;
+import org.apache.accumulo.core.file.blockfile.impl.CachableBlockFile.CachableBuilder;
+import org.apache.accumulo.core.file.rfile.RFile;
 import org.apache.accumulo.core.iterators.IteratorUtil.IteratorScope;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.user.VersioningIterator;
 import org.apache.accumulo.core.iteratorsImpl.system.ColumnFamilySkippingIterator;
 import org.apache.accumulo.core.iteratorsImpl.system.DeletingIterator;
 import org.apache.accumulo.core.iteratorsImpl.system.MultiIterator;
@@ -58,6 +74,7 @@ import org.apache.accumulo.core.trace.TraceUtil;
 import org.apache.accumulo.core.util.LocalityGroupUtil;
 import org.apache.accumulo.core.util.LocalityGroupUtil.LocalityGroupConfigurationError;
 import org.apache.accumulo.core.util.ratelimit.RateLimiter;
+import org.apache.accumulo.core.util.threads.ThreadPools;
 import org.apache.accumulo.server.ServerContext;
 import org.apache.accumulo.server.fs.VolumeManager;
 import org.apache.accumulo.server.iterators.SystemIteratorEnvironment;
@@ -66,6 +83,8 @@ import org.apache.accumulo.server.problems.ProblemReportingIterator;
 import org.apache.accumulo.server.problems.ProblemReports;
 import org.apache.accumulo.server.problems.ProblemType;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,6 +95,9 @@ public class FileCompactor implements Callable<CompactionStats> {
   private static final Logger log = LoggerFactory.getLogger(FileCompactor.class);
   private static final AtomicLong nextCompactorID = new AtomicLong(0);
 
+  // the most index keys kept when choosing the rows a compaction is partitioned on
+  private static final int MAX_PARTITION_SAMPLES = 1 << 16;
+
   public static class CompactionCanceledException extends Exception {
     private static final long serialVersionUID = 1L;
   }
@@ -107,8 +129,15 @@ public class FileCompactor implements Callable<CompactionStats> {
   protected final KeyExtent extent;
   private final List<IteratorSetting> iterators;
 
+  // reads ahead in the input files when table.compaction.major.readahead is set
+  private ExecutorService readAheadPool = null;
+  private long readAheadSize = 0;
+
   // things to report
   private String currentLocalityGroup = "";
+  // incremented by each thread that finishes a group, groups may be compacted concurrently
+  private final AtomicInteger localityGroupsCompleted = new AtomicInteger(0);
+  private int localityGroupCount = 1;
   private final long startTime;
 
   private final AtomicLong entriesRead = new AtomicLong(0);
@@ -132,9 +161,18 @@ public class FileCompactor implements Callable<CompactionStats> {
     return currentLocalityGroup;
   }
 
+  int getLocalityGroupsCompleted() {
+    return localityGroupsCompleted.get();
+  }
+
+  synchronized int getLocalityGroupCount() {
+    return localityGroupCount;
+  }
+
   private void clearStats() {
     entriesRead.set(0);
     entriesWritten.set(0);
+    localityGroupsCompleted.set(0);
   }
 
   protected static final Set<FileCompactor> runningCompactions =
@@ -214,20 +252,46 @@ public class FileCompactor implements Callable<CompactionStats> {
 
       Map<String,Set<ByteSequence>> lGroups = getLocalityGroups(acuTableConf);
 
-      long t1 = System.currentTimeMillis();
+      List<Range> partitions = getPartitions();
 
-      HashSet<ByteSequence> allColumnFamilies = new HashSet<>();
+      boolean concurrentGroups = mfw.supportsLocalityGroups() && !lGroups.isEmpty()
+          && env.getIteratorScope() == IteratorScope.majc
+          && acuTableConf.getBoolean(Property.TABLE_MAJC_LOCALITY_GROUPS_CONCURRENT);
 
-      if (mfw.supportsLocalityGroups()) {
-        for (Entry<String,Set<ByteSequence>> entry : lGroups.entrySet()) {
-          setLocalityGroup(entry.getKey());
-          compactLocalityGroup(entry.getKey(), entry.getValue(), true, mfw, majCStats);
-          allColumnFamilies.addAll(entry.getValue());
-        }
+      long maxReadAhead = acuTableConf.getAsBytes(Property.TABLE_MAJC_READ_AHEAD);
+      if (maxReadAhead > 0 && !filesToCompact.isEmpty()
+          && env.getIteratorScope() == IteratorScope.majc) {
+        // each partition and concurrent locality group has its own reader on every input file
+        int readersPerFile = partitions.size() * (concurrentGroups ? lGroups.size() + 1 : 1);
+        readAheadSize = Math.max(1, maxReadAhead / readersPerFile);
+        readAheadPool =
+            ThreadPools.createFixedThreadPool(filesToCompact.size(), "compaction read ahead");
+      }
+
+      synchronized (this) {
+        localityGroupCount = (mfw.supportsLocalityGroups() ? lGroups.size() : 0) + 1;
       }
 
-      setLocalityGroup("");
-      compactLocalityGroup(null, allColumnFamilies, false, mfw, majCStats);
+      long t1 = System.currentTimeMillis();
+
+      if (concurrentGroups) {
+        compactLocalityGroupsConcurrently(lGroups, mfw, majCStats, partitions);
+      } else {
+        HashSet<ByteSequence> allColumnFamilies = new HashSet<>();
+
+        if (mfw.supportsLocalityGroups()) {
+          for (Entry<String,Set<ByteSequence>> entry : lGroups.entrySet()) {
+            setLocalityGroup(entry.getKey());
+            compactLocalityGroup(entry.getKey(), entry.getValue(), true, mfw, majCStats,
+                partitions, env::isCompactionEnabled);
+            allColumnFamilies.addAll(entry.getValue());
+          }
+        }
+
+        setLocalityGroup("");
+        compactLocalityGroup(null, allColumnFamilies, false, mfw, majCStats, partitions,
+            env::isCompactionEnabled);
+      }
 
       long t2 = System.currentTimeMillis();
 
@@ -258,6 +322,10 @@ public class FileCompactor implements Callable<CompactionStats> {
       log.error("{}", e.getMessage(), e);
       throw e;
     } finally {
+      if (readAheadPool != null) {
+        readAheadPool.shutdownNow();
+        readAheadPool = null;
+      }
       Thread.currentThread().setName(oldThreadName);
       if (remove) {
         thread = null;
@@ -295,7 +363,8 @@ public class FileCompactor implements Callable<CompactionStats> {
 
         reader = fileFactory.newReaderBuilder()
             .forFile(mapFile.getPathStr(), fs, fs.getConf(), context.getCryptoService())
-            .withTableConfiguration(acuTableConf).withRateLimiter(env.getReadLimiter()).build();
+            .withTableConfiguration(acuTableConf).withRateLimiter(env.getReadLimiter())
+            .withReadAhead(readAheadPool, readAheadSize).build();
 
         readers.add(reader);
 
@@ -334,8 +403,567 @@ public class FileCompactor implements Callable<CompactionStats> {
     return iters;
   }
 
+  /**
+   * Determines the row ranges of the tablet to compact concurrently. Large major compactions are
+   * split into ranges holding roughly the same number of index entries from the input files, which
+   * approximates equal amounts of data. Ranges fall on row boundaries so that iterators always see
+   * whole rows.
+   */
+  private List<Range> getPartitions() throws IOException {
+    int maxPartitions = acuTableConf.getCount(Property.TABLE_MAJC_PARTITIONS);
+    if (maxPartitions <= 1 || env.getIteratorScope() != IteratorScope.majc) {
+      return List.of(extent.toDataRange());
+    }
+
+    long inputSize = filesToCompact.values().stream().mapToLong(DataFileValue::getSize).sum();
+    long partitionSize = Math.max(1, acuTableConf.getAsBytes(Property.TABLE_MAJC_PARTITION_SIZE));
+    int numPartitions = (int) Math.min(maxPartitions, inputSize / partitionSize);
+    if (numPartitions <= 1) {
+      return List.of(extent.toDataRange());
+    }
+
+    List<Range> partitions = new ArrayList<>(numPartitions);
+    Text prevRow = extent.prevEndRow();
+    for (Text row : findPartitionRows(numPartitions)) {
+      partitions.add(new Range(prevRow, false, row, true));
+      prevRow = row;
+    }
+    partitions.add(new Range(prevRow, false, extent.endRow(), true));
+
+    log.debug("Compacting {} as {} partitions, input size {}", extent, partitions.size(),
+        inputSize);
+    return partitions;
+  }
+
+  private FileSKVIterator openIndex(TabletFile file) throws IOException {
+    FileSystem ns = fs.getFileSystemByPath(file.getPath());
+    return FileOperations.getInstance().newIndexReaderBuilder()
+        .forFile(file.getPathStr(), ns, ns.getConf(), context.getCryptoService())
+        .withTableConfiguration(acuTableConf).build();
+  }
+
+  private boolean inExtent(Key key) {
+    Text prevEndRow = extent.prevEndRow();
+    Text endRow = extent.endRow();
+    return (prevEndRow == null || key.compareRow(prevEndRow) > 0)
+        && (endRow == null || key.compareRow(endRow) <= 0);
+  }
+
+  /**
+   * Chooses the rows that split the tablet into partitions. The index of each input file is read
+   * once. Every key would be too many to keep, so an evenly spaced sample of the merged index keys
+   * is kept, and the partition rows are taken from the sample.
+   */
+  private List<Text> findPartitionRows(int numPartitions) throws IOException {
+    ArrayList<FileSKVIterator> readers = new ArrayList<>(filesToCompact.size());
+    try {
+      for (TabletFile file : filesToCompact.keySet()) {
+        readers.add(openIndex(file));
+      }
+
+      List<SortedKeyValueIterator<Key,Value>> iters = new ArrayList<>(readers);
+      MultiIterator mmfi = new MultiIterator(iters, true);
+
+      List<Text> samples = new ArrayList<>();
+      long stride = 1;
+      long keysRead = 0;
+      Text endRow = extent.endRow();
+      while (mmfi.hasTop()) {
+        Key key = mmfi.getTopKey();
+        if (endRow != null && key.compareRow(endRow) >= 0) {
+          break;
+        }
+
+        if (inExtent(key)) {
+          if (keysRead % stride == 0) {
+            samples.add(key.getRow());
+            if (samples.size() >= MAX_PARTITION_SAMPLES) {
+              // keep every other sample and sample half as often from here on
+              for (int i = 0; i < samples.size() / 2; i++) {
+                samples.set(i, samples.get(i * 2));
+              }
+              samples.subList(samples.size() / 2, samples.size()).clear();
+              stride *= 2;
+            }
+          }
+          keysRead++;
+        }
+        mmfi.next();
+      }
+
+      List<Text> rows = new ArrayList<>(numPartitions - 1);
+      Text lastRow = null;
+      for (int i = 1; i < numPartitions && !samples.isEmpty(); i++) {
+        Text row = samples.get((int) ((long) samples.size() * i / numPartitions));
+        if (lastRow == null || row.compareTo(lastRow) > 0) {
+          rows.add(row);
+          lastRow = row;
+        }
+      }
+      return rows;
+    } finally {
+      for (FileSKVIterator reader : readers) {
+        try {
+          reader.close();
+        } catch (IOException e) {
+          log.warn("Failed to close index of map file", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Compacts all locality groups at the same time, each with its own readers and iterator stack.
+   * The first group is written directly to the output file. The remaining groups, including the
+   * default group, are written to temporary files whose blocks are copied into the output file as
+   * each group is started, so encoding and compressing happens on the group threads.
+   */
+  private void compactLocalityGroupsConcurrently(Map<String,Set<ByteSequence>> lGroups,
+      FileSKVWriter mfw, CompactionStats majCStats, List<Range> partitions)
+      throws IOException, CompactionCanceledException {
+    List<String> groupNames = new ArrayList<>(lGroups.keySet());
+    HashSet<ByteSequence> allColumnFamilies = new HashSet<>();
+    lGroups.values().forEach(allColumnFamilies::addAll);
+
+    AtomicBoolean failed = new AtomicBoolean(false);
+    BooleanSupplier enabled = () -> !failed.get() && env.isCompactionEnabled();
+
+    List<Path> tmpFiles = new ArrayList<>(groupNames.size());
+    List<Future<CompactionStats>> futures = new ArrayList<>(groupNames.size());
+    ExecutorService pool =
+        ThreadPools.createFixedThreadPool(groupNames.size(), "locality group compaction");
+    try {
+      // the last temporary file holds the default locality group
+      for (int i = 1; i <= groupNames.size(); i++) {
+        Path tmpFile = getTmpFile("_lg" + i);
+        boolean inclusive = i < groupNames.size();
+        Set<ByteSequence> columnFamilies =
+            inclusive ? lGroups.get(groupNames.get(i)) : allColumnFamilies;
+        tmpFiles.add(tmpFile);
+        futures.add(pool.submit(() -> {
+          CompactionStats stats =
+              compactToFile(tmpFile, partitions, columnFamilies, inclusive, enabled);
+          localityGroupsCompleted.incrementAndGet();
+          return stats;
+        }));
+      }
+
+      try {
+        String firstGroup = groupNames.get(0);
+        setLocalityGroup(firstGroup);
+        compactLocalityGroup(firstGroup, lGroups.get(firstGroup), true, mfw, majCStats,
+            partitions, enabled);
+
+        for (int i = 0; i < futures.size(); i++) {
+          if (i + 1 < groupNames.size()) {
+            String lgName = groupNames.get(i + 1);
+            setLocalityGroup(lgName);
+            mfw.startNewLocalityGroup(lgName, lGroups.get(lgName));
+          } else {
+            setLocalityGroup("");
+            mfw.startDefaultLocalityGroup();
+          }
+          majCStats.add(getResult(futures.get(i)));
+          appendFile(tmpFiles.get(i), mfw, enabled);
+        }
+      } catch (IOException | RuntimeException | CompactionCanceledException e) {
+        failed.set(true);
+        throw e;
+      }
+    } finally {
+      cleanup(pool, tmpFiles);
+    }
+  }
+
   private void compactLocalityGroup(String lgName, Set<ByteSequence> columnFamilies,
-      boolean inclusive, FileSKVWriter mfw, CompactionStats majCStats)
+      boolean inclusive, FileSKVWriter mfw, CompactionStats majCStats, List<Range> partitions,
+      BooleanSupplier enabled) throws IOException, CompactionCanceledException {
+    if (inclusive) {
+      mfw.startNewLocalityGroup(lgName, columnFamilies);
+    } else {
+      mfw.startDefaultLocalityGroup();
+    }
+
+    try {
+      if (!inclusive && columnFamilies.isEmpty() && partitions.size() == 1
+          && copyBlocks(mfw, majCStats, enabled)) {
+        // all data was written by copying blocks
+      } else if (partitions.size() == 1) {
+        compactRange(partitions.get(0), columnFamilies, inclusive, mfw, majCStats, enabled);
+      } else {
+        compactPartitions(partitions, columnFamilies, inclusive, mfw, majCStats, enabled);
+      }
+      localityGroupsCompleted.incrementAndGet();
+    } catch (CompactionCanceledException e) {
+      // cancel major compaction operation
+      try {
+        try {
+          mfw.close();
+        } catch (IOException ioe) {
+          log.error("{}", ioe.getMessage(), ioe);
+        }
+        fs.deleteRecursively(outputFile.getPath());
+      } catch (Exception e2) {
+        log.warn("Failed to delete Canceled compaction output file {}", outputFile, e2);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Compacts each partition concurrently. The first partition is written directly to the output
+   * file, the others are written to temporary files whose blocks are copied into the output file in
+   * order as they complete.
+   */
+  private void compactPartitions(List<Range> partitions, Set<ByteSequence> columnFamilies,
+      boolean inclusive, FileSKVWriter mfw, CompactionStats majCStats, BooleanSupplier enabled)
+      throws IOException, CompactionCanceledException {
+    AtomicBoolean failed = new AtomicBoolean(false);
+    BooleanSupplier partitionsEnabled = () -> !failed.get() && enabled.getAsBoolean();
+
+    List<Path> tmpFiles = new ArrayList<>(partitions.size() - 1);
+    List<Future<CompactionStats>> futures = new ArrayList<>(partitions.size() - 1);
+    ExecutorService pool =
+        ThreadPools.createFixedThreadPool(partitions.size() - 1, "partitioned compaction");
+    try {
+      for (int i = 1; i < partitions.size(); i++) {
+        Path tmpFile = getTmpFile("_part" + i);
+        List<Range> range = List.of(partitions.get(i));
+        tmpFiles.add(tmpFile);
+        futures.add(pool.submit(() -> compactToFile(tmpFile, range, columnFamilies, inclusive,
+            partitionsEnabled)));
+      }
+
+      try {
+        compactRange(partitions.get(0), columnFamilies, inclusive, mfw, majCStats,
+            partitionsEnabled);
+        for (int i = 0; i < futures.size(); i++) {
+          majCStats.add(getResult(futures.get(i)));
+          appendFile(tmpFiles.get(i), mfw, partitionsEnabled);
+        }
+      } catch (IOException | RuntimeException | CompactionCanceledException e) {
+        failed.set(true);
+        throw e;
+      }
+    } finally {
+      cleanup(pool, tmpFiles);
+    }
+  }
+
+  /**
+   * Stops any concurrent work that may still be running and deletes its temporary files.
+   */
+  private void cleanup(ExecutorService pool, List<Path> tmpFiles) {
+    pool.shutdownNow();
+    try {
+      if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+        log.warn("Concurrent work for compaction of {} did not stop", extent);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    for (Path tmpFile : tmpFiles) {
+      try {
+        fs.deleteRecursively(tmpFile);
+      } catch (IOException e) {
+        log.warn("Failed to delete temporary compaction file {}", tmpFile, e);
+      }
+    }
+  }
+
+  private Path getTmpFile(String suffix) {
+    String name = outputFile.getFileName();
+    int dot = name.indexOf('.');
+    return new Path(outputFile.getPath().getParent(),
+        name.substring(0, dot) + suffix + name.substring(dot));
+  }
+
+  private static CompactionStats getResult(Future<CompactionStats> future)
+      throws IOException, CompactionCanceledException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted waiting on concurrent compaction", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof CompactionCanceledException) {
+        throw (CompactionCanceledException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException("Concurrent compaction failed", cause);
+    }
+  }
+
+  private CompactionStats compactToFile(Path file, List<Range> ranges,
+      Set<ByteSequence> columnFamilies, boolean inclusive, BooleanSupplier enabled)
+      throws IOException, CompactionCanceledException {
+    CompactionStats stats = new CompactionStats();
+    FileSystem ns = fs.getFileSystemByPath(file);
+    FileSKVWriter writer = FileOperations.getInstance().newWriterBuilder()
+        .forFile(file.toString(), ns, ns.getConf(), context.getCryptoService())
+        .withTableConfiguration(acuTableConf).withRateLimiter(env.getWriteLimiter()).build();
+    try {
+      writer.startDefaultLocalityGroup();
+      for (Range range : ranges) {
+        compactRange(range, columnFamilies, inclusive, writer, stats, enabled);
+      }
+    } finally {
+      writer.close();
+    }
+    return stats;
+  }
+
+  /**
+   * Appends a temporary file written by this compaction to the output file. The data blocks of the
+   * file are copied when possible, so its data is not encoded and compressed a second time on this
+   * thread.
+   */
+  private void appendFile(Path file, FileSKVWriter mfw, BooleanSupplier enabled)
+      throws IOException, CompactionCanceledException {
+    FileSystem ns = fs.getFileSystemByPath(file);
+    String name = file.getName();
+    String extension = name.substring(name.lastIndexOf('.') + 1);
+    if (extension.equals(RFile.EXTENSION) || extension.equals(RFile.EXTENSION + "_tmp")) {
+      try (RFile.Reader reader = new RFile.Reader(new CachableBuilder().fsPath(ns, file)
+          .conf(ns.getConf()).readLimiter(env.getReadLimiter())
+          .cryptoService(context.getCryptoService()))) {
+        RFile.RawBlockReader blocks = reader.getRawBlockReader();
+        if (blocks != null) {
+          while (blocks.hasNext()) {
+            if (!enabled.getAsBoolean()) {
+              throw new CompactionCanceledException();
+            }
+            appendBlock(blocks.next(), mfw);
+          }
+          return;
+        }
+      }
+    }
+
+    try (FileSKVIterator reader = FileOperations.getInstance().newReaderBuilder()
+        .forFile(file.toString(), ns, ns.getConf(), context.getCryptoService())
+        .withTableConfiguration(acuTableConf).withRateLimiter(env.getReadLimiter()).build()) {
+      reader.seek(new Range(), Set.of(), false);
+      while (reader.hasTop() && enabled.getAsBoolean()) {
+        mfw.append(reader.getTopKey(), reader.getTopValue());
+        reader.next();
+      }
+
+      if (reader.hasTop()) {
+        throw new CompactionCanceledException();
+      }
+    }
+  }
+
+  private static class CopySource {
+    final StoredTabletFile file;
+    final RFile.Reader reader;
+    final RFile.RawBlockReader blocks;
+    final Key firstKey;
+    final Key lastKey;
+
+    CopySource(StoredTabletFile file, RFile.Reader reader) throws IOException {
+      this.file = file;
+      this.reader = reader;
+      this.blocks = reader.getRawBlockReader();
+      this.firstKey = reader.getFirstKey();
+      this.lastKey = reader.getLastKey();
+    }
+  }
+
+  /**
+   * Decides if the majc iterators configured for a table leave the input files unchanged. Besides
+   * no iterators at all, a lone {@link VersioningIterator}, which every table has by default, is
+   * allowed unless a file was imported. Files written by minor and major compactions already went
+   * through the versioning iterator, and files that do not share a column can not hold more
+   * versions of a key between them than each holds alone. Imported files were written outside of
+   * Accumulo and may hold any number of versions.
+   */
+  static boolean canCopyBlocks(AccumuloConfiguration tableConf,
+      Collection<StoredTabletFile> files) {
+    List<IterInfo> iters =
+        IterConfigUtil.parseIterConf(IteratorScope.majc, List.of(), new HashMap<>(), tableConf);
+    if (iters.isEmpty()) {
+      return true;
+    }
+    // bulk and table imports name their files with this prefix
+    return iters.size() == 1
+        && iters.get(0).getClassName().equals(VersioningIterator.class.getName())
+        && files.stream().noneMatch(file -> file.getFileName().startsWith("I"));
+  }
+
+  /**
+   * Compacts by copying the data blocks of the input files into the output file without decoding
+   * and compressing them again. This only works when no iterators change the data and no two input
+   * files have keys in the same column, so that sorting the files by their first key sorts all of
+   * their keys. When a block holds deletes or keys outside the tablet, that block and the rest of
+   * its file are compacted normally.
+   *
+   * @return false if the files can not be compacted this way, in which case nothing was written
+   */
+  private boolean copyBlocks(FileSKVWriter mfw, CompactionStats majCStats,
+      BooleanSupplier enabled) throws IOException, CompactionCanceledException {
+    if (!acuTableConf.getBoolean(Property.TABLE_MAJC_COPY_BLOCKS)
+        || env.getIteratorScope() != IteratorScope.majc || !iterators.isEmpty()
+        || !canCopyBlocks(acuTableConf, filesToCompact.keySet())
+        || filesToCompact.values().stream().anyMatch(DataFileValue::isTimeSet)) {
+      return false;
+    }
+
+    List<RFile.Reader> readers = new ArrayList<>(filesToCompact.size());
+    try {
+      List<CopySource> sources = new ArrayList<>(filesToCompact.size());
+      for (StoredTabletFile file : filesToCompact.keySet()) {
+        if (!file.getFileName().endsWith("." + RFile.EXTENSION)) {
+          return false;
+        }
+
+        FileSystem ns = fs.getFileSystemByPath(file.getPath());
+        RFile.Reader reader =
+            new RFile.Reader(new CachableBuilder().fsPath(ns, file.getPath()).conf(ns.getConf())
+                .readLimiter(env.getReadLimiter()).cryptoService(context.getCryptoService())
+                .readAhead(readAheadPool, readAheadSize));
+        readers.add(reader);
+
+        CopySource source = new CopySource(file, reader);
+        if (source.blocks == null) {
+          return false;
+        }
+
+        // empty files have nothing to copy
+        if (source.firstKey != null) {
+          sources.add(source);
+        }
+      }
+
+      sources.sort(Comparator.comparing(source -> source.firstKey));
+
+      for (int i = 1; i < sources.size(); i++) {
+        // Deletes and versions only affect keys in the same column, so files that share a column
+        // must be merged.
+        if (sources.get(i - 1).lastKey.compareTo(sources.get(i).firstKey,
+            PartialKey.ROW_COLFAM_COLQUAL_COLVIS) >= 0) {
+          return false;
+        }
+      }
+
+      for (CopySource source : sources) {
+        copyBlocks(source, mfw, majCStats, enabled);
+      }
+
+      return true;
+    } finally {
+      for (RFile.Reader reader : readers) {
+        try {
+          reader.close();
+        } catch (IOException e) {
+          log.warn("Failed to close map file", e);
+        }
+      }
+    }
+  }
+
+  private void copyBlocks(CopySource source, FileSKVWriter mfw, CompactionStats majCStats,
+      BooleanSupplier enabled) throws IOException, CompactionCanceledException {
+    Range extentRange = extent.toDataRange();
+    // the last key copied from this file and how many times in a row it was copied
+    Key lastCopied = null;
+    int lastCopiedCount = 0;
+
+    while (source.blocks.hasNext()) {
+      if (!enabled.getAsBoolean()) {
+        throw new CompactionCanceledException();
+      }
+
+      RFile.RawBlock block = source.blocks.next();
+      if (extentRange.beforeStartKey(block.getLastKey())) {
+        // files shared after a split can have blocks that are entirely outside the tablet
+        continue;
+      }
+
+      if (block.hasDeletes() || !extentRange.contains(block.getFirstKey())
+          || !extentRange.contains(block.getLastKey())) {
+        // a delete can suppress keys in later blocks of the file, so compact the rest of the file
+        int copied = block.getFirstKey().equals(lastCopied) ? lastCopiedCount : 0;
+        compactRestOfFile(source, block.getFirstKey(), copied, mfw, majCStats, enabled);
+        return;
+      }
+
+      List<Key> keys = block.getKeys();
+      appendBlock(block, mfw);
+
+      int count = 0;
+      for (int i = keys.size() - 1; i >= 0 && keys.get(i).equals(block.getLastKey()); i--) {
+        count++;
+      }
+      if (count == keys.size() && block.getLastKey().equals(lastCopied)) {
+        count += lastCopiedCount;
+      }
+      lastCopied = block.getLastKey();
+      lastCopiedCount = count;
+
+      entriesRead.addAndGet(keys.size());
+      entriesWritten.addAndGet(keys.size());
+      majCStats.add(new CompactionStats(keys.size(), keys.size()));
+    }
+  }
+
+  private static void appendBlock(RFile.RawBlock block, FileSKVWriter mfw) throws IOException {
+    if (!mfw.appendRawBlock(block)) {
+      List<Key> keys = block.getKeys();
+      List<Value> values = block.getValues();
+      for (int i = 0; i < keys.size(); i++) {
+        mfw.append(keys.get(i), values.get(i));
+      }
+    }
+  }
+
+  /**
+   * Compacts a file through the normal iterator stack, starting at the given key.
+   *
+   * @param copied
+   *          the number of entries equal to the start key that were already copied
+   */
+  private void compactRestOfFile(CopySource source, Key startKey, int copied, FileSKVWriter mfw,
+      CompactionStats majCStats, BooleanSupplier enabled)
+      throws IOException, CompactionCanceledException {
+    SortedKeyValueIterator<Key,Value> iter = new ProblemReportingIterator(context,
+        extent.tableId(), source.file.getPathStr(), false, source.reader);
+    CountingIterator citr =
+        new CountingIterator(new MultiIterator(List.of(iter), extent.toDataRange()), entriesRead);
+    SortedKeyValueIterator<Key,Value> itr =
+        DeletingIterator.wrap(citr, propagateDeletes, DeletingIterator.getBehavior(acuTableConf));
+
+    itr.seek(new Range(startKey, true, null, false), Set.of(), false);
+
+    for (int i = 0; i < copied && itr.hasTop() && itr.getTopKey().equals(startKey); i++) {
+      itr.next();
+    }
+
+    long entriesCompacted = 0;
+    try {
+      while (itr.hasTop() && enabled.getAsBoolean()) {
+        mfw.append(itr.getTopKey(), itr.getTopValue());
+        itr.next();
+        entriesCompacted++;
+      }
+
+      if (itr.hasTop()) {
+        throw new CompactionCanceledException();
+      }
+    } finally {
+      entriesWritten.addAndGet(entriesCompacted);
+      majCStats.add(new CompactionStats(citr.getCount(), entriesCompacted));
+    }
+  }
+
+  private void compactRange(Range range, Set<ByteSequence> columnFamilies, boolean inclusive,
+      FileSKVWriter mfw, CompactionStats majCStats, BooleanSupplier enabled)
       throws IOException, CompactionCanceledException {
     ArrayList<FileSKVIterator> readers = new ArrayList<>(filesToCompact.size());
     Span compactSpan = TraceUtil.startSpan(this.getClass(), "compact");
@@ -361,17 +989,11 @@ public class FileCompactor implements Callable<CompactionStats> {
       SortedKeyValueIterator<Key,Value> itr = iterEnv.getTopLevelIterator(IterConfigUtil
           .convertItersAndLoad(env.getIteratorScope(), cfsi, acuTableConf, iterators, iterEnv));
 
-      itr.seek(extent.toDataRange(), columnFamilies, inclusive);
-
-      if (inclusive) {
-        mfw.startNewLocalityGroup(lgName, columnFamilies);
-      } else {
-        mfw.startDefaultLocalityGroup();
-      }
+      itr.seek(range, columnFamilies, inclusive);
 
       Span writeSpan = TraceUtil.startSpan(this.getClass(), "write");
       try (Scope write = writeSpan.makeCurrent()) {
-        while (itr.hasTop() && env.isCompactionEnabled()) {
+        while (itr.hasTop() && enabled.getAsBoolean()) {
           mfw.append(itr.getTopKey(), itr.getTopValue());
           itr.next();
           entriesCompacted++;
@@ -382,18 +1004,7 @@ public class FileCompactor implements Callable<CompactionStats> {
           }
         }
 
-        if (itr.hasTop() && !env.isCompactionEnabled()) {
-          // cancel major compaction operation
-          try {
-            try {
-              mfw.close();
-            } catch (IOException e) {
-              log.error("{}", e.getMessage(), e);
-            }
-            fs.deleteRecursively(outputFile.getPath());
-          } catch (Exception e) {
-            log.warn("Failed to delete Canceled compaction output file {}", outputFile, e);
-          }
+        if (itr.hasTop() && !enabled.getAsBoolean()) {
           throw new CompactionCanceledException();
         }
 
@@ -423,6 +1034,14 @@ public class FileCompactor implements Callable<CompactionStats> {
     return filesToCompact.keySet();
   }
 
+  long getEntriesToBeCompacted() {
+    return filesToCompact.values().stream().mapToLong(DataFileValue::getNumEntries).sum();
+  }
+
+  long getBytesToBeCompacted() {
+    return filesToCompact.values().stream().mapToLong(DataFileValue::getSize).sum();
+  }
+
   boolean hasIMM() {
     return env.getIteratorScope() == IteratorScope.minc;
   }
@@ -31,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.accumulo.core.Constants;
 import org.apache.accumulo.core.clientImpl.thrift.ThriftSecurityException;
+import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.master.thrift.TabletServerStatus;
@@ -246,8 +247,13 @@ public class LiveTServerSet implements Watcher {
   }
 
   public synchronized ZooCache getZooCache() {
-    if (zooCache == null)
-      zooCache = new ZooCache(context.getZooReaderWriter(), this);
+    if (zooCache == null) {
+      Set<String> persistentWatchRoots = Set.of();
+      if (context.getConfiguration().getBoolean(Property.INSTANCE_ZK_PERSISTENT_WATCHES)) {
+        persistentWatchRoots = Set.of(context.getZooKeeperRoot() + Constants.ZTSERVERS);
+      }
+      zooCache = new ZooCache(context.getZooReaderWriter(), this, persistentWatchRoots);
+    }
     return zooCache;
   }
 
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.logging.TabletLogger;
 import org.apache.accumulo.core.metadata.TServerInstance;
 import org.apache.accumulo.core.metadata.TabletLocationState;
@@ -49,6 +50,11 @@ class LoggingTabletStateStore implements TabletStateStore {
     return wrapped.iterator();
   }
 
+  @Override
+  public ClosableIterator<TabletLocationState> iterator(List<Range> ranges) {
+    return wrapped.iterator(ranges);
+  }
+
   @Override
   public void setFutureLocations(Collection<Assignment> assignments)
       throws DistributedStoreException {
@@ -23,6 +23,8 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.accumulo.core.clientImpl.ClientContext;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.metadata.MetadataTable;
 import org.apache.accumulo.core.metadata.TServerInstance;
 import org.apache.accumulo.core.metadata.TabletLocationState;
@@ -53,7 +55,17 @@ class MetaDataStateStore implements TabletStateStore {
 
   @Override
   public ClosableIterator<TabletLocationState> iterator() {
-    return new MetaDataTableScanner(context, TabletsSection.getRange(), state, targetTableName);
+    return iterator(List.of(TabletsSection.getRange()));
+  }
+
+  /**
+   * The batch scanner used splits the ranges at metadata tablet boundaries, so with enough threads
+   * every metadata tablet is scanned in parallel.
+   */
+  @Override
+  public ClosableIterator<TabletLocationState> iterator(List<Range> ranges) {
+    return new MetaDataTableScanner(context, ranges, state, targetTableName,
+        context.getConfiguration().getCount(Property.MANAGER_TABLET_WATCHER_SCAN_THREADS));
   }
 
   public void setLocations(Collection<Assignment> assignments) throws DistributedStoreException {
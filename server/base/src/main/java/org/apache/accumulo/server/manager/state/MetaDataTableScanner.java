@@ -60,6 +60,7 @@ import org.slf4j.LoggerFactory;
 
 public class MetaDataTableScanner implements ClosableIterator<TabletLocationState> {
   private static final Logger log = LoggerFactory.getLogger(MetaDataTableScanner.class);
+  private static final int DEFAULT_THREADS = 8;
 
   private final Cleanable cleanable;
   private final BatchScanner mdScanner;
@@ -67,16 +68,25 @@ public class MetaDataTableScanner implements ClosableIterator<TabletLocationStat
   private final AtomicBoolean closed = new AtomicBoolean(false);
 
   MetaDataTableScanner(ClientContext context, Range range, CurrentState state, String tableName) {
+    this(context, Collections.singletonList(range), state, tableName, DEFAULT_THREADS);
+  }
+
+  /**
+   * @param threads
+   *          the number of metadata tablets to scan in parallel
+   */
+  MetaDataTableScanner(ClientContext context, List<Range> ranges, CurrentState state,
+      String tableName, int threads) {
     // scan over metadata table, looking for tablets in the wrong state based on the live servers
     // and online tables
     try {
-      mdScanner = context.createBatchScanner(tableName, Authorizations.EMPTY, 8);
+      mdScanner = context.createBatchScanner(tableName, Authorizations.EMPTY, threads);
     } catch (TableNotFoundException e) {
       throw new IllegalStateException("Metadata table " + tableName + " should exist", e);
     }
     cleanable = CleanerUtil.unclosed(this, MetaDataTableScanner.class, closed, log, mdScanner);
     configureScanner(mdScanner, state);
-    mdScanner.setRanges(Collections.singletonList(range));
+    mdScanner.setRanges(ranges);
     iter = mdScanner.iterator();
   }
 
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.accumulo.core.clientImpl.ClientContext;
+import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.metadata.TServerInstance;
 import org.apache.accumulo.core.metadata.TabletLocationState;
@@ -47,6 +48,17 @@ public interface TabletStateStore extends Iterable<TabletLocationState> {
   @Override
   ClosableIterator<TabletLocationState> iterator();
 
+  /**
+   * Scan the information about the tablets covered by this store whose metadata rows fall within
+   * the given ranges. Stores that are cheap to scan may return all of their tablets.
+   *
+   * @param ranges
+   *          a non-empty list of ranges of metadata rows
+   */
+  default ClosableIterator<TabletLocationState> iterator(List<Range> ranges) {
+    return iterator();
+  }
+
   /**
    * Store the assigned locations in the data store.
    */
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.metadata;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.MetadataTable;
+import org.apache.accumulo.core.metadata.schema.Ample;
+import org.apache.accumulo.core.metadata.schema.Ample.TabletsMutator;
+import org.apache.accumulo.server.ServerContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A {@link TabletsMutator} that can be shared by many threads updating user tablets at the same
+ * time. Like {@link Ample#mutateTablet(KeyExtent)}, {@link Ample.TabletMutator#mutate()} returns
+ * once the mutation is written. However, mutations from threads that arrive while a batch is being
+ * written are written together in the next batch, so many concurrent tablet updates share a few
+ * round trips to the metadata table instead of each creating its own batch writer.
+ *
+ * <p>
+ * If a batch fails, each of its mutations is written again on its own so that one bad tablet
+ * update does not fail the others.
+ */
+public class GroupCommitTabletsMutator implements TabletsMutator {
+
+  private static final Logger log = LoggerFactory.getLogger(GroupCommitTabletsMutator.class);
+
+  private static class Batch {
+    final List<Mutation> mutations = new ArrayList<>();
+    boolean done = false;
+    boolean failed = false;
+  }
+
+  private final ServerContext context;
+
+  private Batch pending = new Batch();
+  private boolean writing = false;
+
+  public GroupCommitTabletsMutator(ServerContext context) {
+    this.context = context;
+  }
+
+  @Override
+  public Ample.TabletMutator mutateTablet(KeyExtent extent) {
+    Preconditions.checkArgument(!extent.isMeta(), "Only user tablets are supported %s", extent);
+    return new TabletMutatorBase(context, extent) {
+      @Override
+      public void mutate() {
+        write(getMutation());
+      }
+    };
+  }
+
+  void writeBatch(List<Mutation> mutations) throws Exception {
+    try (BatchWriter writer = context.createBatchWriter(MetadataTable.NAME)) {
+      writer.addMutations(mutations);
+    }
+  }
+
+  void write(Mutation mutation) {
+    Batch batch;
+    boolean leader = false;
+    synchronized (this) {
+      batch = pending;
+      batch.mutations.add(mutation);
+
+      // wait for the batch before this one to be written
+      while (writing && !batch.done) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException(e);
+        }
+      }
+
+      if (!batch.done) {
+        // this thread writes the batch for every thread that added to it
+        writing = true;
+        leader = true;
+        pending = new Batch();
+      }
+    }
+
+    if (leader) {
+      // anything but a successful write, including an Error, leaves the followers to write their
+      // mutations individually
+      boolean failed = true;
+      try {
+        writeBatch(batch.mutations);
+        failed = false;
+      } catch (Exception e) {
+        log.debug("Failed to write batch of {} metadata mutations, writing them individually",
+            batch.mutations.size(), e);
+      } finally {
+        synchronized (this) {
+          batch.failed = failed;
+          batch.done = true;
+          writing = false;
+          notifyAll();
+        }
+      }
+    }
+
+    boolean failed;
+    synchronized (this) {
+      failed = batch.failed;
+    }
+
+    if (failed) {
+      try {
+        writeBatch(List.of(mutation));
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  synchronized int getPendingCount() {
+    return pending.mutations.size();
+  }
+
+  @Override
+  public void close() {
+    // nothing is held between batches
+  }
+}
@@ -30,6 +30,7 @@ import java.util.Set;
 import org.apache.accumulo.core.Constants;
 import org.apache.accumulo.core.client.NamespaceNotFoundException;
 import org.apache.accumulo.core.clientImpl.Tables;
+import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.data.NamespaceId;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.manager.state.tables.TableState;
@@ -102,7 +103,11 @@ public class TableManager {
     zkRoot = context.getZooKeeperRoot();
     instanceID = context.getInstanceID();
     zoo = context.getZooReaderWriter();
-    zooStateCache = new ZooCache(zoo, new TableStateWatcher());
+    Set<String> persistentWatchRoots = Set.of();
+    if (context.getConfiguration().getBoolean(Property.INSTANCE_ZK_PERSISTENT_WATCHES)) {
+      persistentWatchRoots = Set.of(zkRoot + Constants.ZTABLES);
+    }
+    zooStateCache = new ZooCache(zoo, new TableStateWatcher(), persistentWatchRoots);
     updateTableStateCache();
   }
 
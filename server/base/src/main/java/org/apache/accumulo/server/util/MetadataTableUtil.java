@@ -69,6 +69,7 @@ import org.apache.accumulo.core.metadata.TabletFile;
 import org.apache.accumulo.core.metadata.TabletFileUtil;
 import org.apache.accumulo.core.metadata.schema.Ample;
 import org.apache.accumulo.core.metadata.schema.Ample.TabletMutator;
+import org.apache.accumulo.core.metadata.schema.Ample.TabletsMutator;
 import org.apache.accumulo.core.metadata.schema.DataFileValue;
 import org.apache.accumulo.core.metadata.schema.ExternalCompactionId;
 import org.apache.accumulo.core.metadata.schema.MetadataSchema.BlipSection;
@@ -191,7 +192,23 @@ public class MetadataTableUtil {
   public static Map<StoredTabletFile,DataFileValue> updateTabletDataFile(long tid, KeyExtent extent,
       Map<TabletFile,DataFileValue> estSizes, MetadataTime time, ServerContext context,
       ServiceLock zooLock) {
-    TabletMutator tablet = context.getAmple().mutateTablet(extent);
+    return updateTabletDataFile(tid, context.getAmple().mutateTablet(extent), estSizes, time,
+        zooLock);
+  }
+
+  /**
+   * Adds bulk imported files to a tablet using the given mutator, which allows the updates of many
+   * tablets to be written together.
+   */
+  public static Map<StoredTabletFile,DataFileValue> updateTabletDataFile(long tid,
+      TabletsMutator mutator, KeyExtent extent, Map<TabletFile,DataFileValue> estSizes,
+      MetadataTime time, ServiceLock zooLock) {
+    return updateTabletDataFile(tid, mutator.mutateTablet(extent), estSizes, time, zooLock);
+  }
+
+  private static Map<StoredTabletFile,DataFileValue> updateTabletDataFile(long tid,
+      TabletMutator tablet, Map<TabletFile,DataFileValue> estSizes, MetadataTime time,
+      ServiceLock zooLock) {
     tablet.putTime(time);
 
     Map<StoredTabletFile,DataFileValue> newFiles = new HashMap<>(estSizes.size());
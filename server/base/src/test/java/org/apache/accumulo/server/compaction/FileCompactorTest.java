@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.compaction;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.apache.accumulo.core.conf.ConfigurationCopy;
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.conf.IterConfigUtil;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.iterators.user.SummingCombiner;
+import org.apache.accumulo.core.metadata.StoredTabletFile;
+import org.junit.Test;
+
+public class FileCompactorTest {
+
+  private static final List<StoredTabletFile> COMPACTED_FILES =
+      List.of(new StoredTabletFile("hdfs://nn/accumulo/tables/1/t-0001/F0001.rf"),
+          new StoredTabletFile("hdfs://nn/accumulo/tables/1/t-0001/A0002.rf"));
+
+  @Test
+  public void testCopyBlocksNoIterators() {
+    var conf = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    assertTrue(FileCompactor.canCopyBlocks(conf, COMPACTED_FILES));
+  }
+
+  @Test
+  public void testCopyBlocksDefaultTable() {
+    var conf = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    IterConfigUtil.generateInitialTableProperties(true).forEach(conf::set);
+    assertTrue(FileCompactor.canCopyBlocks(conf, COMPACTED_FILES));
+
+    // imported files may hold more versions than the table keeps
+    var files = List.of(new StoredTabletFile("hdfs://nn/accumulo/tables/1/t-0001/F0001.rf"),
+        new StoredTabletFile("hdfs://nn/accumulo/tables/1/t-0001/I0002.rf"));
+    assertFalse(FileCompactor.canCopyBlocks(conf, files));
+  }
+
+  @Test
+  public void testCopyBlocksOtherIterators() {
+    var conf = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    IterConfigUtil.generateInitialTableProperties(true).forEach(conf::set);
+    conf.set(Property.TABLE_ITERATOR_PREFIX.getKey() + "majc.sum",
+        "10," + SummingCombiner.class.getName());
+    assertFalse(FileCompactor.canCopyBlocks(conf, COMPACTED_FILES));
+
+    // the versioning iterator is only allowed on its own
+    conf = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    conf.set(Property.TABLE_ITERATOR_PREFIX.getKey() + "majc.sum",
+        "10," + SummingCombiner.class.getName());
+    assertFalse(FileCompactor.canCopyBlocks(conf, COMPACTED_FILES));
+  }
+}
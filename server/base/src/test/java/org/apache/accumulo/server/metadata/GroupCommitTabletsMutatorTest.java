@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.metadata;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.apache.accumulo.core.data.Mutation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GroupCommitTabletsMutatorTest {
+
+  private static class TestMutator extends GroupCommitTabletsMutator {
+    final List<Set<String>> batches = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+
+    TestMutator() {
+      super(null);
+    }
+
+    @Override
+    void writeBatch(List<Mutation> mutations) throws Exception {
+      Set<String> rows = rows(mutations);
+      batches.add(rows);
+      if (firstBatchStarted.getCount() > 0) {
+        firstBatchStarted.countDown();
+        releaseFirstBatch.await();
+      }
+      if (rows.contains("bad")) {
+        throw new IOException("bad mutation in batch " + rows);
+      }
+      if (rows.contains("error")) {
+        throw new Error("error in batch " + rows);
+      }
+    }
+  }
+
+  private ExecutorService executor;
+
+  @Before
+  public void setup() {
+    executor = Executors.newFixedThreadPool(8);
+  }
+
+  @After
+  public void teardown() {
+    executor.shutdownNow();
+  }
+
+  private static Set<String> rows(List<Mutation> mutations) {
+    return mutations.stream().map(m -> new String(m.getRow(), UTF_8)).collect(Collectors.toSet());
+  }
+
+  private static Set<String> rows(String... rows) {
+    return Set.of(rows);
+  }
+
+  private Future<?> write(TestMutator mutator, String row) {
+    return executor.submit(() -> mutator.write(new Mutation(row)));
+  }
+
+  /**
+   * Holds the first batch while the given rows are written, so they all end up in the next batch.
+   */
+  private List<Future<?>> writeWhileFirstBatchHeld(TestMutator mutator, String... rows)
+      throws Exception {
+    List<Future<?>> futures = new ArrayList<>();
+    futures.add(write(mutator, "first"));
+    mutator.firstBatchStarted.await();
+
+    for (String row : rows) {
+      futures.add(write(mutator, row));
+    }
+    while (mutator.getPendingCount() < rows.length) {
+      Thread.sleep(10);
+    }
+    mutator.releaseFirstBatch.countDown();
+    return futures;
+  }
+
+  @Test
+  public void testGroupCommit() throws Exception {
+    TestMutator mutator = new TestMutator();
+    for (Future<?> future : writeWhileFirstBatchHeld(mutator, "r1", "r2", "r3", "r4")) {
+      future.get();
+    }
+
+    // the mutations that arrived while the first batch was written share one batch
+    assertEquals(List.of(rows("first"), rows("r1", "r2", "r3", "r4")), mutator.batches);
+  }
+
+  @Test
+  public void testFailedBatch() throws Exception {
+    TestMutator mutator = new TestMutator();
+    List<Future<?>> futures = writeWhileFirstBatchHeld(mutator, "r1", "bad", "r2");
+
+    futures.get(0).get();
+    futures.get(1).get();
+    var e = assertThrows(ExecutionException.class, () -> futures.get(2).get());
+    assertEquals(RuntimeException.class, e.getCause().getClass());
+    futures.get(3).get();
+
+    // the failed batch is written again one mutation at a time, so only the bad one fails
+    assertEquals(rows("first"), mutator.batches.get(0));
+    assertEquals(rows("r1", "bad", "r2"), mutator.batches.get(1));
+    assertEquals(Set.of(rows("r1"), rows("bad"), rows("r2")),
+        Set.copyOf(mutator.batches.subList(2, mutator.batches.size())));
+    assertEquals(5, mutator.batches.size());
+  }
+
+  @Test
+  public void testBatchThrowsError() throws Exception {
+    TestMutator mutator = new TestMutator();
+    List<Future<?>> futures = writeWhileFirstBatchHeld(mutator, "r1", "error", "r2");
+
+    // the leader of the batch rethrows the error, but must still release the other writers
+    for (Future<?> future : futures) {
+      try {
+        future.get(1, MINUTES);
+      } catch (ExecutionException e) {
+        assertEquals(Error.class, e.getCause().getClass());
+      }
+    }
+    var e = assertThrows(ExecutionException.class, () -> futures.get(2).get());
+    assertEquals(Error.class, e.getCause().getClass());
+
+    // later writes are not stuck behind the failed batch
+    write(mutator, "r3").get(1, MINUTES);
+    assertEquals(rows("r3"), mutator.batches.get(mutator.batches.size() - 1));
+  }
+}
@@ -20,8 +20,11 @@ package org.apache.accumulo.coordinator;
 
 import static org.apache.accumulo.fate.util.UtilWaitThread.sleepUninterruptibly;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.UnknownHostException;
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -69,6 +72,7 @@ import org.apache.accumulo.server.AbstractServer;
 import org.apache.accumulo.server.GarbageCollectionLogger;
 import org.apache.accumulo.server.ServerContext;
 import org.apache.accumulo.server.ServerOpts;
+import org.apache.accumulo.server.fs.VolumeManager;
 import org.apache.accumulo.server.manager.LiveTServerSet;
 import org.apache.accumulo.server.manager.LiveTServerSet.TServerConnection;
 import org.apache.accumulo.server.rpc.ServerAddress;
@@ -77,6 +81,7 @@ import org.apache.accumulo.server.rpc.TServerUtils;
 import org.apache.accumulo.server.rpc.ThriftServerType;
 import org.apache.accumulo.server.security.AuditedSecurityOperation;
 import org.apache.accumulo.server.security.SecurityOperation;
+import org.apache.hadoop.fs.Path;
 import org.apache.thrift.TException;
 import org.apache.thrift.transport.TTransport;
 import org.apache.thrift.transport.TTransportException;
@@ -97,6 +102,8 @@ public class CompactionCoordinator extends AbstractServer
 
   protected static final QueueSummaries QUEUE_SUMMARIES = new QueueSummaries();
 
+  protected static final SpeculativeCompactions SPECULATIVE = new SpeculativeCompactions();
+
   /* Map of compactionId to RunningCompactions */
   protected static final Map<ExternalCompactionId,RunningCompaction> RUNNING =
       new ConcurrentHashMap<>();
@@ -278,12 +285,17 @@ public class CompactionCoordinator extends AbstractServer
         update.setState(TCompactionState.IN_PROGRESS);
         update.setMessage("Coordinator restarted, compaction found in progress");
         rc.addUpdate(System.currentTimeMillis(), update);
-        RUNNING.put(ExternalCompactionId.of(rc.getJob().getExternalCompactionId()), rc);
+        var ecid = ExternalCompactionId.of(rc.getJob().getExternalCompactionId());
+        RUNNING.put(ecid, rc);
+        if (rc.getJob().isSetDuplicateOf()) {
+          SPECULATIVE.addDuplicate(ExternalCompactionId.of(rc.getJob().getDuplicateOf()), ecid);
+        }
       });
     }
 
     tserverSet.startListeningForTabletServerChanges();
     startDeadCompactionDetector();
+    startSpeculativeCompactionDetector();
 
     LOG.info("Starting loop to check tservers for compaction summaries");
     while (!shutdown) {
@@ -368,6 +380,61 @@ public class CompactionCoordinator extends AbstractServer
     new DeadCompactionDetector(getContext(), this, schedExecutor).start();
   }
 
+  protected void startSpeculativeCompactionDetector() {
+    long interval =
+        aconf.getTimeInMillis(Property.COMPACTION_COORDINATOR_SPECULATIVE_CHECK_INTERVAL);
+    schedExecutor.scheduleWithFixedDelay(() -> {
+      try {
+        detectStragglers();
+      } catch (RuntimeException e) {
+        LOG.warn("Failed to look for straggling compactions", e);
+      }
+    }, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Queues external compactions that have run far longer than expected to be duplicated on another
+   * compactor.
+   */
+  private void detectStragglers() {
+    if (!aconf.getBoolean(Property.COMPACTION_COORDINATOR_SPECULATIVE_ENABLED)) {
+      return;
+    }
+    double slowdown = aconf.getFraction(Property.COMPACTION_COORDINATOR_SPECULATIVE_SLOWDOWN);
+    long minRuntime =
+        aconf.getTimeInMillis(Property.COMPACTION_COORDINATOR_SPECULATIVE_MIN_RUNTIME);
+    long now = System.currentTimeMillis();
+
+    RUNNING.forEach((ecid, rc) -> {
+      Long started = getStartTime(rc);
+      if (started == null || rc.getJob().isSetDuplicateOf() || SPECULATIVE.isDuplicated(ecid)) {
+        return;
+      }
+      long runtime = now - started;
+      long expected = SPECULATIVE.getExpectedDuration(rc.getQueueName(),
+          SpeculativeCompactions.getInputSize(rc.getJob()));
+      if (SpeculativeCompactions.isStraggler(runtime, expected, slowdown, minRuntime)
+          && SPECULATIVE.addStraggler(rc.getQueueName(), ecid)) {
+        LOG.info("Compaction {} on {} has run for {}ms but was expected to take {}ms, it will be"
+            + " duplicated on another compactor", ecid, rc.getCompactorAddress(), runtime,
+            expected);
+      }
+    });
+  }
+
+  private static Long getStartTime(RunningCompaction rc) {
+    return rc.getUpdates().keySet().stream().min(Long::compare).orElse(null);
+  }
+
+  /**
+   * @return the id of the compaction the tablet knows about for the given running compaction,
+   *         which differs from the given id for duplicates of straggling compactions
+   */
+  ExternalCompactionId getOriginal(ExternalCompactionId ecid) {
+    RunningCompaction rc = RUNNING.get(ecid);
+    return SpeculativeCompactions.getOriginal(rc == null ? null : rc.getJob(), ecid);
+  }
+
   protected long getMissingCompactorWarningTime() {
     return FIFTEEN_MINUTES;
   }
@@ -423,9 +490,13 @@ public class CompactionCoordinator extends AbstractServer
     LOG.trace("getCompactionJob called for queue {} by compactor {}", queue, compactorAddress);
     TIME_COMPACTOR_LAST_CHECKED.put(queue, System.currentTimeMillis());
 
-    TExternalCompactionJob result = null;
+    TExternalCompactionJob result = getDuplicateJob(queue, compactorAddress, externalCompactionId);
+    if (result != null) {
+      return result;
+    }
 
-    PrioTserver prioTserver = QUEUE_SUMMARIES.getNextTserver(queue);
+    final long deadline = System.currentTimeMillis() + getJobWaitTime();
+    PrioTserver prioTserver = waitForNextTserver(queue, deadline);
 
     while (prioTserver != null) {
       TServerInstance tserver = prioTserver.tserver;
@@ -443,7 +514,7 @@ public class CompactionCoordinator extends AbstractServer
               tserver.getHostAndPort(), compactorAddress);
 
           QUEUE_SUMMARIES.removeSummary(tserver, queue, prioTserver.prio);
-          prioTserver = QUEUE_SUMMARIES.getNextTserver(queue);
+          prioTserver = waitForNextTserver(queue, deadline);
           continue;
         }
         RUNNING.put(ExternalCompactionId.of(job.getExternalCompactionId()),
@@ -455,7 +526,7 @@ public class CompactionCoordinator extends AbstractServer
         LOG.warn("Error from tserver {} while trying to reserve compaction, trying next tserver",
             ExternalCompactionUtil.getHostPortString(tserver.getHostAndPort()), e);
         QUEUE_SUMMARIES.removeSummary(tserver, queue, prioTserver.prio);
-        prioTserver = QUEUE_SUMMARIES.getNextTserver(queue);
+        prioTserver = waitForNextTserver(queue, deadline);
       } finally {
         ThriftUtil.returnClient(client, getContext());
       }
@@ -471,6 +542,50 @@ public class CompactionCoordinator extends AbstractServer
 
   }
 
+  /**
+   * @return a duplicate of a straggling compaction running on another compactor, or null if there
+   *         is none to duplicate
+   */
+  private TExternalCompactionJob getDuplicateJob(String queue, String compactorAddress,
+      String externalCompactionId) {
+    ExternalCompactionId original = SPECULATIVE.takeStraggler(queue, ecid -> {
+      RunningCompaction rc = RUNNING.get(ecid);
+      return rc != null && !rc.getCompactorAddress().equals(compactorAddress);
+    });
+    if (original == null) {
+      return null;
+    }
+
+    RunningCompaction rc = RUNNING.get(original);
+    ExternalCompactionId ecid = ExternalCompactionId.of(externalCompactionId);
+    if (rc == null || !SPECULATIVE.addDuplicate(original, ecid)) {
+      return null;
+    }
+
+    TExternalCompactionJob job = rc.getJob().deepCopy();
+    job.setExternalCompactionId(externalCompactionId);
+    job.setOutputFile(SpeculativeCompactions.getDuplicateOutputFile(job.getOutputFile()));
+    job.setDuplicateOf(original.canonical());
+    RUNNING.put(ecid, new RunningCompaction(job, compactorAddress, queue));
+    LOG.info("Duplicating straggling compaction {} running on {} as {} on {}", original,
+        rc.getCompactorAddress(), ecid, compactorAddress);
+    return job;
+  }
+
+  private PrioTserver waitForNextTserver(String queue, long deadline) {
+    try {
+      return QUEUE_SUMMARIES.waitForNextTserver(queue, deadline);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.debug("Interrupted waiting on work for queue {}", queue);
+      return null;
+    }
+  }
+
+  protected long getJobWaitTime() {
+    return this.aconf.getTimeInMillis(Property.COMPACTION_COORDINATOR_JOB_WAIT_MAX);
+  }
+
   /**
    * Return the Thrift client for the TServer
    *
@@ -519,11 +634,40 @@ public class CompactionCoordinator extends AbstractServer
     LOG.info("Compaction completed, id: {}, stats: {}, extent: {}", externalCompactionId, stats,
         extent);
     final var ecid = ExternalCompactionId.of(externalCompactionId);
-    compactionFinalizer.commitCompaction(ecid, extent, stats.fileSize, stats.entriesWritten);
     // It's possible that RUNNING might not have an entry for this ecid in the case
     // of a coordinator restart when the Coordinator can't find the TServer for the
     // corresponding external compaction.
     final RunningCompaction rc = RUNNING.get(ecid);
+    final var original = SpeculativeCompactions.getOriginal(rc == null ? null : rc.getJob(), ecid);
+
+    // the duplicate of a straggling compaction that finishes first replaces the output of the
+    // straggler and is committed under the id the tablet knows about. The straggler's output is
+    // moved aside before the duplicate is recorded as the winner, so a straggler that reports in
+    // the meantime deletes the file that was moved aside instead of missing it.
+    boolean won = SPECULATIVE.finish(original, ecid, () -> {
+      if (!original.equals(ecid)) {
+        LOG.info("Duplicate {} of straggling compaction {} finished first", ecid, original);
+        replaceOutputFile(rc.getJob().getOutputFile(),
+            SpeculativeCompactions.getOriginalOutputFile(rc.getJob().getOutputFile()));
+      }
+    });
+    if (won) {
+      compactionFinalizer.commitCompaction(original, extent, stats.fileSize,
+          stats.entriesWritten);
+      if (null != rc) {
+        Long started = getStartTime(rc);
+        if (started != null) {
+          SPECULATIVE.compactionCompleted(rc.getQueueName(),
+              SpeculativeCompactions.getInputSize(rc.getJob()),
+              System.currentTimeMillis() - started);
+        }
+      }
+    } else {
+      LOG.info("Ignoring completion of {}, another copy of compaction {} finished first", ecid,
+          original);
+      deleteLosingOutputFile(rc, original, ecid);
+    }
+
     if (null != rc) {
       RUNNING.remove(ecid, rc);
       COMPLETED.put(ecid, rc);
@@ -548,7 +692,30 @@ public class CompactionCoordinator extends AbstractServer
   }
 
   void compactionFailed(Map<ExternalCompactionId,KeyExtent> compactions) {
-    compactionFinalizer.failCompactions(compactions);
+    Map<ExternalCompactionId,KeyExtent> toFail = new HashMap<>();
+    compactions.forEach((ecid, extent) -> {
+      final RunningCompaction rc = RUNNING.get(ecid);
+      final var original =
+          SpeculativeCompactions.getOriginal(rc == null ? null : rc.getJob(), ecid);
+      if (SPECULATIVE.lost(original, ecid)) {
+        LOG.debug("Compaction {} stopped after another copy of {} finished first", ecid, original);
+        deleteLosingOutputFile(rc, original, ecid);
+      } else if (!original.equals(ecid)) {
+        // the tablet does not know about duplicates, so there is nothing to fail
+        LOG.info("Duplicate {} of straggling compaction {} failed", ecid, original);
+        SPECULATIVE.failed(original, ecid);
+        if (null != rc) {
+          deleteOutputFile(rc.getJob().getOutputFile());
+        }
+      } else {
+        var duplicate = SPECULATIVE.failed(original, ecid);
+        if (duplicate != null) {
+          LOG.info("Compaction {} failed, its duplicate {} will be canceled", ecid, duplicate);
+        }
+        toFail.put(ecid, extent);
+      }
+    });
+    compactionFinalizer.failCompactions(toFail);
     compactions.forEach((k, v) -> {
       final RunningCompaction rc = RUNNING.get(k);
       if (null != rc) {
@@ -657,6 +824,59 @@ public class CompactionCoordinator extends AbstractServer
     return result;
   }
 
+  /**
+   * Moves the output of a duplicate compaction to where the tablet expects the output of the
+   * original compaction. What the original compaction wrote so far is moved aside instead of being
+   * deleted because it may still be writing it, and is deleted once the original compaction stops.
+   */
+  private void replaceOutputFile(String duplicateFile, String originalFile) {
+    try {
+      VolumeManager fs = getContext().getVolumeManager();
+      Path source = new Path(duplicateFile);
+      Path dest = new Path(originalFile);
+      if (!fs.exists(source) && fs.exists(dest)) {
+        // already replaced by an earlier attempt to report completion
+        return;
+      }
+      if (fs.exists(dest)) {
+        Path abandoned = new Path(SpeculativeCompactions.getAbandonedOutputFile(originalFile));
+        if (!fs.rename(dest, abandoned)) {
+          throw new IOException("Failed to rename " + dest + " to " + abandoned);
+        }
+      }
+      if (!fs.rename(source, dest)) {
+        throw new IOException("Failed to rename " + source + " to " + dest);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Deletes what a copy of a compaction wrote after another copy finished first.
+   */
+  private void deleteLosingOutputFile(RunningCompaction rc, ExternalCompactionId original,
+      ExternalCompactionId ecid) {
+    if (null == rc) {
+      return;
+    }
+    String outputFile = rc.getJob().getOutputFile();
+    if (original.equals(ecid)) {
+      // the output of the duplicate replaced the output of the original
+      deleteOutputFile(SpeculativeCompactions.getAbandonedOutputFile(outputFile));
+    } else {
+      deleteOutputFile(outputFile);
+    }
+  }
+
+  private void deleteOutputFile(String file) {
+    try {
+      getContext().getVolumeManager().delete(new Path(file));
+    } catch (IOException e) {
+      LOG.warn("Failed to delete output file {} of abandoned compaction", file, e);
+    }
+  }
+
   private void deleteEmpty(ZooReaderWriter zoorw, String path)
       throws KeeperException, InterruptedException {
     try {
@@ -18,8 +18,8 @@
  */
 package org.apache.accumulo.coordinator;
 
-import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
@@ -92,8 +92,11 @@ public class DeadCompactionDetector {
     // In order for this overall algorithm to be correct and avoid race conditions, the compactor
     // must return ids covering the time period from before reservation until after commit. If the
     // ids do not cover this time period then legitimate running compactions could be canceled.
-    Collection<ExternalCompactionId> running =
-        ExternalCompactionUtil.getCompactionIdsRunningOnCompactors(context);
+    Set<ExternalCompactionId> running =
+        new HashSet<>(ExternalCompactionUtil.getCompactionIdsRunningOnCompactors(context));
+    // a running duplicate of a straggling compaction keeps the compaction the tablet knows about
+    // alive
+    Set.copyOf(running).forEach(ecid -> running.add(coordinator.getOriginal(ecid)));
 
     running.forEach((ecid) -> {
       if (tabletCompactions.remove(ecid) != null) {
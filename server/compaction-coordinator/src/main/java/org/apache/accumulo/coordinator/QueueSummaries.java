@@ -30,6 +30,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.accumulo.core.metadata.TServerInstance;
 import org.apache.accumulo.core.tabletserver.thrift.TCompactionQueueSummary;
@@ -135,6 +136,27 @@ public class QueueSummaries {
     return result;
   }
 
+  /**
+   * Waits for a tablet server to report work for the queue. Compactors use this to hold their
+   * request for a job open until work shows up instead of repeatedly polling.
+   *
+   * @return the next tablet server with work for the queue, or null if none reported work before
+   *         the deadline
+   */
+  synchronized PrioTserver waitForNextTserver(String queue, long deadlineMillis)
+      throws InterruptedException {
+    PrioTserver next = getNextTserver(queue);
+    while (next == null) {
+      long remaining = deadlineMillis - System.currentTimeMillis();
+      if (remaining <= 0) {
+        break;
+      }
+      TimeUnit.MILLISECONDS.timedWait(this, remaining);
+      next = getNextTserver(queue);
+    }
+    return next;
+  }
+
   synchronized void update(TServerInstance tsi, List<TCompactionQueueSummary> summaries) {
 
     if (log.isTraceEnabled()) {
@@ -152,6 +174,7 @@ public class QueueSummaries {
     });
 
     Set<QueueAndPriority> currentQP = INDEX.getOrDefault(tsi, Set.of());
+    boolean newWork = !currentQP.containsAll(newQP);
 
     // remove anything the tserver did not report
     for (QueueAndPriority qp : List.copyOf(Sets.difference(currentQP, newQP))) {
@@ -164,6 +187,11 @@ public class QueueSummaries {
       QUEUES.computeIfAbsent(qp.getQueue(), k -> new TreeMap<>(Comparator.reverseOrder()))
           .computeIfAbsent(qp.getPriority(), k -> new TreeSet<>()).add(tsi);
     });
+
+    if (newWork) {
+      // wake up any compactors waiting on work
+      notifyAll();
+    }
   }
 
   synchronized void removeSummary(TServerInstance tsi, String queue, short priority) {
@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.coordinator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.apache.accumulo.core.metadata.schema.ExternalCompactionId;
+import org.apache.accumulo.core.tabletserver.thrift.InputFile;
+import org.apache.accumulo.core.tabletserver.thrift.TExternalCompactionJob;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.base.Preconditions;
+
+/**
+ * Tracks external compactions that are running far longer than expected so that a duplicate can be
+ * run on another compactor. Whichever copy of a compaction finishes first is committed, the other
+ * copy is ignored and ends up canceled once the tablet no longer references the compaction.
+ *
+ * <p>
+ * How long a compaction is expected to take is based on the size of its input files and the
+ * throughput of compactions that recently completed in the same queue.
+ */
+public class SpeculativeCompactions {
+
+  // weight given to the most recently completed compaction when estimating a queue's throughput
+  static final double THROUGHPUT_WEIGHT = 0.2;
+
+  private static final String TMP_SUFFIX = "_tmp";
+  // markers are added before the extension, files are opened based on their extension
+  private static final String DUPLICATE_MARKER = "_dup";
+  private static final String ABANDONED_MARKER = "_abandoned";
+
+  /* Map of queue name to the estimated bytes compacted per millisecond */
+  private final Map<String,Double> throughput = new HashMap<>();
+
+  /* Map of queue name to straggling compactions waiting for a compactor to duplicate them */
+  private final Map<String,Deque<ExternalCompactionId>> stragglers = new HashMap<>();
+
+  /* Map of straggling compaction id to the id of its running duplicate */
+  private final Map<ExternalCompactionId,ExternalCompactionId> duplicates = new HashMap<>();
+
+  /* Map of recently finished compaction id to the id of the copy that finished first */
+  private final Cache<ExternalCompactionId,ExternalCompactionId> finished =
+      Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(1, TimeUnit.HOURS).build();
+
+  static long getInputSize(TExternalCompactionJob job) {
+    return job.getFiles() == null ? 0
+        : job.getFiles().stream().mapToLong(InputFile::getSize).sum();
+  }
+
+  /**
+   * @return the id of the compaction the tablet knows about, which differs from the given id when
+   *         the job is a duplicate
+   */
+  static ExternalCompactionId getOriginal(TExternalCompactionJob job, ExternalCompactionId ecid) {
+    return job != null && job.isSetDuplicateOf() ? ExternalCompactionId.of(job.getDuplicateOf())
+        : ecid;
+  }
+
+  /**
+   * @return the file a duplicate of a compaction writing the given file should write, the
+   *         duplicate's file is renamed to the original if the duplicate finishes first
+   */
+  static String getDuplicateOutputFile(String outputFile) {
+    return addMarker(outputFile, DUPLICATE_MARKER);
+  }
+
+  /**
+   * @return the file the original compaction writes, given the file written by its duplicate
+   */
+  static String getOriginalOutputFile(String duplicateFile) {
+    int dot = getExtensionStart(duplicateFile);
+    String name = duplicateFile.substring(0, dot);
+    Preconditions.checkArgument(name.endsWith(DUPLICATE_MARKER),
+        "Expected duplicate compaction file %s to end with %s before its extension",
+        duplicateFile, DUPLICATE_MARKER);
+    return name.substring(0, name.length() - DUPLICATE_MARKER.length())
+        + duplicateFile.substring(dot);
+  }
+
+  /**
+   * @return where the output of a straggling compaction is moved when its duplicate finishes first,
+   *         the straggler may still be writing it
+   */
+  static String getAbandonedOutputFile(String outputFile) {
+    return addMarker(outputFile, ABANDONED_MARKER);
+  }
+
+  private static String addMarker(String outputFile, String marker) {
+    int dot = getExtensionStart(outputFile);
+    return outputFile.substring(0, dot) + marker + outputFile.substring(dot);
+  }
+
+  private static int getExtensionStart(String tmpFile) {
+    Preconditions.checkArgument(tmpFile.endsWith(TMP_SUFFIX),
+        "Expected compaction tmp file %s to have suffix %s", tmpFile, TMP_SUFFIX);
+    int dot = tmpFile.lastIndexOf('.');
+    Preconditions.checkArgument(dot > tmpFile.lastIndexOf('/'),
+        "Expected compaction tmp file %s to have an extension", tmpFile);
+    return dot;
+  }
+
+  static boolean isStraggler(long runtime, long expected, double slowdown, long minRuntime) {
+    return expected >= 0 && runtime >= minRuntime && runtime > expected * slowdown;
+  }
+
+  /**
+   * Updates the throughput estimate of a queue with a compaction that completed in it.
+   */
+  public synchronized void compactionCompleted(String queue, long inputSize, long duration) {
+    if (inputSize <= 0 || duration <= 0) {
+      return;
+    }
+    double observed = inputSize / (double) duration;
+    throughput.merge(queue, observed,
+        (old, obs) -> old * (1 - THROUGHPUT_WEIGHT) + obs * THROUGHPUT_WEIGHT);
+  }
+
+  /**
+   * @return how long, in milliseconds, a compaction of the given size is expected to run in the
+   *         queue, or -1 if nothing has completed in the queue yet
+   */
+  public synchronized long getExpectedDuration(String queue, long inputSize) {
+    Double bytesPerMs = throughput.get(queue);
+    if (bytesPerMs == null || bytesPerMs <= 0) {
+      return -1;
+    }
+    return Math.round(inputSize / bytesPerMs);
+  }
+
+  /**
+   * Queues a straggling compaction to be duplicated by the next compactor that asks for work in
+   * the queue, unless it was already duplicated.
+   *
+   * @return true if the compaction was queued
+   */
+  public synchronized boolean addStraggler(String queue, ExternalCompactionId ecid) {
+    Deque<ExternalCompactionId> queued = stragglers.computeIfAbsent(queue, q -> new ArrayDeque<>());
+    if (duplicates.containsKey(ecid) || finished.getIfPresent(ecid) != null
+        || queued.contains(ecid)) {
+      return false;
+    }
+    return queued.add(ecid);
+  }
+
+  /**
+   * Removes and returns the first straggler in the queue that the predicate accepts.
+   */
+  public synchronized ExternalCompactionId takeStraggler(String queue,
+      Predicate<ExternalCompactionId> canDuplicate) {
+    Deque<ExternalCompactionId> queued = stragglers.get(queue);
+    if (queued == null) {
+      return null;
+    }
+    Iterator<ExternalCompactionId> iter = queued.iterator();
+    while (iter.hasNext()) {
+      ExternalCompactionId ecid = iter.next();
+      if (canDuplicate.test(ecid)) {
+        iter.remove();
+        return ecid;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Records that a duplicate of a compaction is running.
+   *
+   * @return false if the compaction already finished or has another duplicate
+   */
+  public synchronized boolean addDuplicate(ExternalCompactionId original,
+      ExternalCompactionId duplicate) {
+    if (finished.getIfPresent(original) != null || duplicates.containsKey(original)) {
+      return false;
+    }
+    duplicates.put(original, duplicate);
+    return true;
+  }
+
+  public synchronized ExternalCompactionId getDuplicate(ExternalCompactionId original) {
+    return duplicates.get(original);
+  }
+
+  public synchronized boolean isDuplicated(ExternalCompactionId original) {
+    return duplicates.containsKey(original) || finished.getIfPresent(original) != null;
+  }
+
+  /**
+   * Records that a copy of a compaction finished.
+   *
+   * @return true if the copy is the first to finish and should be committed
+   */
+  public synchronized boolean finish(ExternalCompactionId original, ExternalCompactionId ecid) {
+    var winner = finished.getIfPresent(original);
+    if (winner != null) {
+      return winner.equals(ecid);
+    }
+    duplicates.remove(original);
+    finished.put(original, ecid);
+    removeStraggler(original);
+    return true;
+  }
+
+  /**
+   * Records that a copy of a compaction finished, first running the given action if the copy is
+   * the first to finish. The action runs while holding the lock, so a copy that reports at the same
+   * time only learns it lost once the action is done. When the action throws, no copy is recorded
+   * as finished.
+   *
+   * @return true if the copy is the first to finish and should be committed
+   */
+  public synchronized boolean finish(ExternalCompactionId original, ExternalCompactionId ecid,
+      Runnable beforeWinning) {
+    var winner = finished.getIfPresent(original);
+    if (winner != null) {
+      return winner.equals(ecid);
+    }
+    beforeWinning.run();
+    return finish(original, ecid);
+  }
+
+  /**
+   * @return true if the given copy of a compaction lost to another copy that finished first
+   */
+  public synchronized boolean lost(ExternalCompactionId original, ExternalCompactionId ecid) {
+    var winner = finished.getIfPresent(original);
+    return winner != null && !winner.equals(ecid);
+  }
+
+  /**
+   * Forgets about a failed copy of a compaction.
+   *
+   * @return the running duplicate when the original compaction failed, which should be abandoned
+   *         as well
+   */
+  public synchronized ExternalCompactionId failed(ExternalCompactionId original,
+      ExternalCompactionId ecid) {
+    if (original.equals(ecid)) {
+      removeStraggler(original);
+      return duplicates.remove(original);
+    }
+    duplicates.remove(original, ecid);
+    return null;
+  }
+
+  private void removeStraggler(ExternalCompactionId ecid) {
+    stragglers.values().forEach(queued -> queued.remove(ecid));
+  }
+}
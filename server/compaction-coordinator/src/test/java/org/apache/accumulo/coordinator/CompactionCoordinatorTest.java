@@ -102,6 +102,9 @@ public class CompactionCoordinatorTest {
     @Override
     protected void startDeadCompactionDetector() {}
 
+    @Override
+    protected void startSpeculativeCompactionDetector() {}
+
     @Override
     protected long getTServerCheckInterval() {
       this.shutdown = true;
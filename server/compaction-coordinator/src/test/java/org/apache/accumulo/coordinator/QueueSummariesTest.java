@@ -24,6 +24,7 @@ import static org.junit.Assert.assertNull;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.accumulo.coordinator.QueueSummaries.PrioTserver;
 import org.apache.accumulo.core.metadata.TServerInstance;
@@ -191,4 +192,27 @@ public class QueueSummariesTest {
       assertNull(queueSum.getNextTserver("q3"));
     }
   }
+
+  @Test
+  public void testWaitForNextTserver() throws Exception {
+    QueueSummaries queueSum = new QueueSummaries();
+
+    update(queueSum, "ts1", "q1", "5");
+
+    assertEquals(npt("ts1", (short) 5), queueSum.waitForNextTserver("q1", 0));
+    assertNull(queueSum.waitForNextTserver("q2", System.currentTimeMillis() + 10));
+
+    var future = CompletableFuture.supplyAsync(() -> {
+      try {
+        return queueSum.waitForNextTserver("q2", System.currentTimeMillis() + 60_000);
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+
+    // work for another queue should not satisfy the waiter
+    update(queueSum, "ts2", "q1", "5");
+    update(queueSum, "ts2", "q1", "5", "q2", "3");
+    assertEquals(npt("ts2", (short) 3), future.get());
+  }
 }
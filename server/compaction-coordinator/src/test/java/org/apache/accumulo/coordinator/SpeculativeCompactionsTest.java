@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.coordinator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.crypto.CryptoServiceFactory;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.file.FileOperations;
+import org.apache.accumulo.core.file.FileSKVWriter;
+import org.apache.accumulo.core.metadata.schema.ExternalCompactionId;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SpeculativeCompactionsTest {
+
+  @Rule
+  public TemporaryFolder tempFolder =
+      new TemporaryFolder(new File(System.getProperty("user.dir") + "/target"));
+
+  private static ExternalCompactionId newId() {
+    return ExternalCompactionId.generate(UUID.randomUUID());
+  }
+
+  @Test
+  public void testExpectedDuration() {
+    SpeculativeCompactions sc = new SpeculativeCompactions();
+    assertEquals(-1, sc.getExpectedDuration("q1", 1000));
+
+    sc.compactionCompleted("q1", 1000, 100);
+    assertEquals(100, sc.getExpectedDuration("q1", 1000));
+    assertEquals(-1, sc.getExpectedDuration("q2", 1000));
+
+    // a slower compaction only moves the estimate part of the way
+    sc.compactionCompleted("q1", 1000, 1000);
+    double bytesPerMs = 10 * (1 - SpeculativeCompactions.THROUGHPUT_WEIGHT)
+        + 1 * SpeculativeCompactions.THROUGHPUT_WEIGHT;
+    assertEquals(Math.round(1000 / bytesPerMs), sc.getExpectedDuration("q1", 1000));
+  }
+
+  @Test
+  public void testIsStraggler() {
+    assertFalse(SpeculativeCompactions.isStraggler(10_000, -1, 4, 0));
+    assertFalse(SpeculativeCompactions.isStraggler(300, 100, 4, 0));
+    assertTrue(SpeculativeCompactions.isStraggler(500, 100, 4, 0));
+    assertFalse(SpeculativeCompactions.isStraggler(500, 100, 4, 1000));
+  }
+
+  @Test
+  public void testOutputFiles() {
+    String file = "hdfs://nn/accumulo/tables/1/t-0001/A0000abc.rf_tmp";
+    String dup = SpeculativeCompactions.getDuplicateOutputFile(file);
+    assertEquals("hdfs://nn/accumulo/tables/1/t-0001/A0000abc_dup.rf_tmp", dup);
+    assertEquals(file, SpeculativeCompactions.getOriginalOutputFile(dup));
+    assertEquals("hdfs://nn/accumulo/tables/1/t-0001/A0000abc_abandoned.rf_tmp",
+        SpeculativeCompactions.getAbandonedOutputFile(file));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> SpeculativeCompactions.getOriginalOutputFile(file));
+    assertThrows(IllegalArgumentException.class,
+        () -> SpeculativeCompactions.getDuplicateOutputFile("hdfs://nn/a.b/A0000abc_tmp"));
+  }
+
+  @Test
+  public void testWriteOutputFiles() throws Exception {
+    Configuration conf = new Configuration();
+    FileSystem fs = FileSystem.getLocal(conf);
+    String file = new File(tempFolder.getRoot(), "A0000abc.rf_tmp").getAbsolutePath();
+
+    // the compactor must be able to write the duplicate and abandoned files
+    for (String outputFile : List.of(SpeculativeCompactions.getDuplicateOutputFile(file),
+        SpeculativeCompactions.getAbandonedOutputFile(file))) {
+      FileSKVWriter writer = FileOperations.getInstance().newWriterBuilder()
+          .forFile(outputFile, fs, conf, CryptoServiceFactory.newDefaultInstance())
+          .withTableConfiguration(DefaultConfiguration.getInstance()).build();
+      writer.startDefaultLocalityGroup();
+      writer.append(new Key("r1", "f1", "q1"), new Value("v1"));
+      writer.close();
+      assertTrue(new File(outputFile).exists());
+    }
+  }
+
+  @Test
+  public void testDuplicateFinishesFirst() {
+    SpeculativeCompactions sc = new SpeculativeCompactions();
+    var original = newId();
+    var duplicate = newId();
+
+    assertTrue(sc.addStraggler("q1", original));
+    assertFalse(sc.addStraggler("q1", original));
+    assertNull(sc.takeStraggler("q2", ecid -> true));
+    assertNull(sc.takeStraggler("q1", ecid -> false));
+    assertEquals(original, sc.takeStraggler("q1", ecid -> true));
+
+    assertTrue(sc.addDuplicate(original, duplicate));
+    assertFalse(sc.addDuplicate(original, newId()));
+    assertTrue(sc.isDuplicated(original));
+    assertEquals(duplicate, sc.getDuplicate(original));
+
+    assertTrue(sc.finish(original, duplicate));
+    assertFalse(sc.finish(original, original));
+    assertTrue(sc.lost(original, original));
+    assertFalse(sc.lost(original, duplicate));
+    assertNull(sc.getDuplicate(original));
+  }
+
+  @Test
+  public void testFinishRunsActionBeforeWinning() {
+    SpeculativeCompactions sc = new SpeculativeCompactions();
+    var original = newId();
+    var duplicate = newId();
+    assertTrue(sc.addDuplicate(original, duplicate));
+
+    // a failed action leaves both copies able to finish
+    assertThrows(IllegalStateException.class, () -> sc.finish(original, duplicate, () -> {
+      throw new IllegalStateException();
+    }));
+    assertFalse(sc.lost(original, original));
+
+    // the action sees no winner yet, and only the winner runs it
+    assertTrue(sc.finish(original, duplicate, () -> assertFalse(sc.lost(original, original))));
+    assertFalse(sc.finish(original, original, () -> {
+      throw new IllegalStateException();
+    }));
+    assertTrue(sc.lost(original, original));
+  }
+
+  @Test
+  public void testFailures() {
+    SpeculativeCompactions sc = new SpeculativeCompactions();
+    var original = newId();
+    var duplicate = newId();
+
+    // a failed duplicate allows the straggler to be duplicated again
+    assertTrue(sc.addDuplicate(original, duplicate));
+    assertNull(sc.failed(original, duplicate));
+    assertFalse(sc.isDuplicated(original));
+    assertTrue(sc.addStraggler("q1", original));
+
+    // a failed original abandons its duplicate
+    var duplicate2 = newId();
+    assertEquals(original, sc.takeStraggler("q1", ecid -> true));
+    assertTrue(sc.addDuplicate(original, duplicate2));
+    assertEquals(duplicate2, sc.failed(original, original));
+    assertFalse(sc.lost(original, duplicate2));
+  }
+}
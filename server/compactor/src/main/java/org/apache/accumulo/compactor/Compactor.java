@@ -74,6 +74,7 @@ import org.apache.accumulo.core.util.Halt;
 import org.apache.accumulo.core.util.HostAndPort;
 import org.apache.accumulo.core.util.ServerServices;
 import org.apache.accumulo.core.util.ServerServices.Service;
+import org.apache.accumulo.core.util.compaction.CompactionProgress;
 import org.apache.accumulo.core.util.compaction.ExternalCompactionUtil;
 import org.apache.accumulo.core.util.threads.ThreadPools;
 import org.apache.accumulo.core.util.threads.Threads;
@@ -204,7 +205,9 @@ public class Compactor extends AbstractServer implements MetricsProducer, Compac
     if (job != null) {
       try {
         var extent = KeyExtent.fromThrift(job.getExtent());
-        var ecid = ExternalCompactionId.of(job.getExternalCompactionId());
+        // a duplicate of a straggling compaction is tracked by the tablet under the original id
+        var ecid = ExternalCompactionId
+            .of(job.isSetDuplicateOf() ? job.getDuplicateOf() : job.getExternalCompactionId());
 
         TabletMetadata tabletMeta =
             getContext().getAmple().readTablet(extent, ColumnType.ECOMP, ColumnType.PREV_ROW);
@@ -659,10 +662,17 @@ public class Compactor extends AbstractServer implements MetricsProducer, Compac
 
         TExternalCompactionJob job;
         try {
+          long requestStart = System.currentTimeMillis();
           job = getNextJob(getNextId());
           if (!job.isSetExternalCompactionId()) {
             LOG.trace("No external compactions in queue {}", this.queueName);
-            UtilWaitThread.sleep(getWaitTimeBetweenCompactionChecks());
+            // the coordinator may have held the request open waiting for work, count that time
+            // towards the time between checks
+            long waited = System.currentTimeMillis() - requestStart;
+            long sleepTime = getWaitTimeBetweenCompactionChecks() - waited;
+            if (sleepTime > 0) {
+              UtilWaitThread.sleep(sleepTime);
+            }
             continue;
           }
           if (!job.getExternalCompactionId().equals(currentCompactionId.get().toString())) {
@@ -701,14 +711,23 @@ public class Compactor extends AbstractServer implements MetricsProducer, Compac
               // Compaction has started. There should only be one in the list
               CompactionInfo info = running.get(0);
               if (info != null) {
+                String eta = "unknown";
                 if (inputEntries > 0) {
                   percentComplete =
                       Float.toString((info.getEntriesRead() / (float) inputEntries) * 100);
+                  long remaining = CompactionProgress.getEstimatedTimeRemaining(
+                      info.getEntriesRead(), inputEntries, info.getAge());
+                  if (remaining >= 0) {
+                    eta = remaining + "ms";
+                  }
                 }
                 String message = String.format(
-                    "Compaction in progress, read %d of %d input entries ( %s %s ), written %d entries",
+                    "Compaction in progress, read %d of %d input entries ( %s %s ),"
+                        + " written %d entries, %.0f entries/sec, %d of %d locality groups done,"
+                        + " estimated time remaining %s",
                     info.getEntriesRead(), inputEntries, percentComplete, "%",
-                    info.getEntriesWritten());
+                    info.getEntriesWritten(), info.getEntriesPerSecond(),
+                    info.getLocalityGroupsCompleted(), info.getLocalityGroupCount(), eta);
                 watcher.run();
                 try {
                   LOG.debug("Updating coordinator with compaction progress: {}.", message);
@@ -18,13 +18,39 @@
  */
 package org.apache.accumulo.manager;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class EventCoordinator {
 
   private static final Logger log = LoggerFactory.getLogger(EventCoordinator.class);
+
+  // how many of the most recent tablet events are kept for listeners that have not seen them yet
+  private static final int MAX_TABLET_EVENTS = 10_000;
+
   long eventCounter = 0;
+  // the last event that could have affected any tablet
+  private long lastGeneralEvent = 0;
+  // the last tablet event that was dropped before every listener saw it
+  private long lastDroppedEvent = 0;
+  private final ArrayDeque<TabletEvent> tabletEvents = new ArrayDeque<>();
+
+  private static class TabletEvent {
+    final long id;
+    final List<KeyExtent> extents;
+
+    TabletEvent(long id, List<KeyExtent> extents) {
+      this.id = id;
+      this.extents = extents;
+    }
+  }
 
   synchronized long waitForEvents(long millis, long lastEvent) {
     // Did something happen since the last time we waited?
@@ -41,26 +67,88 @@ public class EventCoordinator {
     return eventCounter;
   }
 
+  /**
+   * Signals an event that may have affected any tablet.
+   */
   public synchronized void event(String msg, Object... args) {
     log.info(String.format(msg, args));
     eventCounter++;
+    lastGeneralEvent = eventCounter;
+    notifyAll();
+  }
+
+  /**
+   * Signals an event that only affected the given tablets. An extent with no previous end row and
+   * no end row stands for all the tablets of its table. An empty collection wakes up listeners
+   * without pointing them at any tablets.
+   */
+  public synchronized void event(Collection<KeyExtent> extents, String msg, Object... args) {
+    log.info(String.format(msg, args));
+    tabletEvent(extents);
+  }
+
+  /**
+   * Same as {@link #event(Collection, String, Object...)}, but logs the message at debug, for
+   * events that can be signaled often.
+   */
+  public synchronized void debugEvent(Collection<KeyExtent> extents, String msg,
+      Object... args) {
+    if (log.isDebugEnabled()) {
+      log.debug(String.format(msg, args));
+    }
+    tabletEvent(extents);
+  }
+
+  private void tabletEvent(Collection<KeyExtent> extents) {
+    eventCounter++;
+    tabletEvents.addLast(new TabletEvent(eventCounter, List.copyOf(extents)));
+    while (tabletEvents.size() > MAX_TABLET_EVENTS) {
+      lastDroppedEvent = tabletEvents.removeFirst().id;
+    }
     notifyAll();
   }
 
+  private synchronized Set<KeyExtent> getChangedTablets(long since) {
+    if (lastGeneralEvent > since || lastDroppedEvent > since) {
+      return null;
+    }
+    Set<KeyExtent> changed = new HashSet<>();
+    for (TabletEvent event : tabletEvents) {
+      if (event.id > since) {
+        changed.addAll(event.extents);
+      }
+    }
+    return changed;
+  }
+
   public Listener getListener() {
     return new Listener();
   }
 
   public class Listener {
     long lastEvent;
+    long lastChanges;
 
     Listener() {
       lastEvent = eventCounter;
+      lastChanges = eventCounter;
     }
 
     public void waitForEvents(long millis) {
       lastEvent = EventCoordinator.this.waitForEvents(millis, lastEvent);
     }
+
+    /**
+     * @return the tablets affected by the events since the last call, or null if one of those
+     *         events could have affected any tablet
+     */
+    public Set<KeyExtent> takeChangedTablets() {
+      synchronized (EventCoordinator.this) {
+        Set<KeyExtent> changed = getChangedTablets(lastChanges);
+        lastChanges = eventCounter;
+        return changed;
+      }
+    }
   }
 
 }
@@ -95,8 +95,10 @@ import org.apache.accumulo.core.trace.TraceUtil;
 import org.apache.accumulo.core.util.Halt;
 import org.apache.accumulo.core.util.threads.ThreadPools;
 import org.apache.accumulo.core.util.threads.Threads;
+import org.apache.accumulo.fate.AccumuloStore;
 import org.apache.accumulo.fate.AgeOffStore;
 import org.apache.accumulo.fate.Fate;
+import org.apache.accumulo.fate.TStore;
 import org.apache.accumulo.fate.util.Retry;
 import org.apache.accumulo.fate.zookeeper.ServiceLock;
 import org.apache.accumulo.fate.zookeeper.ServiceLock.LockLossReason;
@@ -867,6 +869,7 @@ public class Manager extends AbstractServer
       BalanceParamsImpl params = BalanceParamsImpl.fromThrift(tserverStatusForBalancer,
           tserverStatus, migrationsSnapshot());
       long wait = tabletBalancer.balance(params);
+      List<KeyExtent> migrating = new ArrayList<>();
 
       for (TabletMigration m : checkMigrationSanity(tserverStatusForBalancer.keySet(),
           params.migrationsOut())) {
@@ -877,6 +880,7 @@ public class Manager extends AbstractServer
         }
         TServerInstance tserverInstance = TabletServerIdImpl.toThrift(m.getNewTabletServer());
         migrations.put(ke, tserverInstance);
+        migrating.add(ke);
         log.debug("migration {}", m);
       }
       if (params.migrationsOut().isEmpty()) {
@@ -884,8 +888,8 @@ public class Manager extends AbstractServer
           balancedNotifier.notifyAll();
         }
       } else {
-        nextEvent.event("Migrating %d more tablets, %d total", params.migrationsOut().size(),
-            migrations.size());
+        nextEvent.event(migrating, "Migrating %d more tablets, %d total",
+            params.migrationsOut().size(), migrations.size());
       }
       return wait;
     }
@@ -1096,7 +1100,7 @@ public class Manager extends AbstractServer
     }
 
     watchers.add(new TabletGroupWatcher(this,
-        TabletStateStore.getStoreForLevel(DataLevel.USER, context, this), null) {
+        TabletStateStore.getStoreForLevel(DataLevel.USER, context, this), DataLevel.USER, null) {
       @Override
       boolean canSuspendTablets() {
         // Always allow user data tablets to enter suspended state.
@@ -1105,7 +1109,8 @@ public class Manager extends AbstractServer
     });
 
     watchers.add(new TabletGroupWatcher(this,
-        TabletStateStore.getStoreForLevel(DataLevel.METADATA, context, this), watchers.get(0)) {
+        TabletStateStore.getStoreForLevel(DataLevel.METADATA, context, this), DataLevel.METADATA,
+        watchers.get(0)) {
       @Override
       boolean canSuspendTablets() {
         // Allow metadata tablets to enter suspended state only if so configured. Generally
@@ -1117,7 +1122,8 @@ public class Manager extends AbstractServer
     });
 
     watchers.add(new TabletGroupWatcher(this,
-        TabletStateStore.getStoreForLevel(DataLevel.ROOT, context), watchers.get(1)) {
+        TabletStateStore.getStoreForLevel(DataLevel.ROOT, context), DataLevel.ROOT,
+        watchers.get(1)) {
       @Override
       boolean canSuspendTablets() {
         // Never allow root tablet to enter suspended state.
@@ -1140,9 +1146,15 @@ public class Manager extends AbstractServer
       throw new IllegalStateException("Metadata upgrade failed", e);
     }
 
+    TStore<Manager> fateStore;
     try {
-      final AgeOffStore<Manager> store = new AgeOffStore<>(new org.apache.accumulo.fate.ZooStore<>(
-          getZooKeeperRoot() + Constants.ZFATE, context.getZooReaderWriter()), 1000 * 60 * 60 * 8);
+      if (getConfiguration().getBoolean(Property.MANAGER_FATE_STORE_METADATA)) {
+        fateStore = new AccumuloStore<>(context, MetadataTable.NAME);
+      } else {
+        fateStore = new org.apache.accumulo.fate.ZooStore<>(getZooKeeperRoot() + Constants.ZFATE,
+            context.getZooReaderWriter());
+      }
+      final AgeOffStore<Manager> store = new AgeOffStore<>(fateStore, 1000 * 60 * 60 * 8);
 
       fate = new Fate<>(this, store, TraceRepo::toLogString);
       fate.startTransactionRunners(getConfiguration());
@@ -1219,6 +1231,9 @@ public class Manager extends AbstractServer
     }
     log.info("Shutting down fate.");
     fate.shutdown();
+    if (fateStore instanceof AccumuloStore) {
+      ((AccumuloStore<Manager>) fateStore).close();
+    }
 
     final long deadline = System.currentTimeMillis() + MAX_CLEANUP_WAIT_TIME;
     try {
@@ -1532,7 +1547,12 @@ public class Manager extends AbstractServer
           }
         }
       }
-      nextEvent.event("There are now %d tablet servers", current.size());
+      List<KeyExtent> affected = added.isEmpty() ? getHostedTables(deleted) : null;
+      if (affected == null) {
+        nextEvent.event("There are now %d tablet servers", current.size());
+      } else {
+        nextEvent.event(affected, "There are now %d tablet servers", current.size());
+      }
     }
 
     // clear out any servers that are no longer current
@@ -1541,6 +1561,24 @@ public class Manager extends AbstractServer
     serversToShutdown.retainAll(current.getCurrentServers());
   }
 
+  /**
+   * @return an extent covering each table the given servers last reported hosting tablets for, or
+   *         null if the last status of a server is not known
+   */
+  private List<KeyExtent> getHostedTables(Set<TServerInstance> servers) {
+    SortedMap<TServerInstance,TabletServerStatus> lastStatus = tserverStatus;
+    Set<TableId> tables = new HashSet<>();
+    for (TServerInstance server : servers) {
+      TabletServerStatus status = lastStatus.get(server);
+      if (status == null || status.getTableMap() == null) {
+        return null;
+      }
+      status.getTableMap().keySet().forEach(tableId -> tables.add(TableId.of(tableId)));
+    }
+    return tables.stream().map(tableId -> new KeyExtent(tableId, null, null))
+        .collect(Collectors.toList());
+  }
+
   private static void cleanListByHostAndPort(Collection<TServerInstance> badServers,
       Set<TServerInstance> deleted, Set<TServerInstance> added) {
     Iterator<TServerInstance> badIter = badServers.iterator();
@@ -1563,7 +1601,8 @@ public class Manager extends AbstractServer
 
   @Override
   public void stateChanged(TableId tableId, TableState state) {
-    nextEvent.event("Table state in zookeeper changed for %s to %s", tableId, state);
+    nextEvent.event(List.of(new KeyExtent(tableId, null, null)),
+        "Table state in zookeeper changed for %s to %s", tableId, state);
     if (state == TableState.OFFLINE) {
       clearMigrations(tableId);
     }
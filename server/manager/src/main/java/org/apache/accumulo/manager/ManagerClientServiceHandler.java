@@ -292,7 +292,7 @@ public class ManagerClientServiceHandler extends FateServiceHandler
     }
     for (TServerInstance instance : manager.tserverSet.getCurrentServers()) {
       if (serverName.equals(instance.getHostPort())) {
-        manager.nextEvent.event("%s reported split %s, %s", serverName,
+        manager.nextEvent.event(List.of(oldTablet), "%s reported split %s, %s", serverName,
             KeyExtent.fromThrift(split.newTablets.get(0)),
             KeyExtent.fromThrift(split.newTablets.get(1)));
         return;
@@ -311,10 +311,11 @@ public class ManagerClientServiceHandler extends FateServiceHandler
         Manager.log.error("{} reports assignment failed for tablet {}", serverName, tablet);
         break;
       case LOADED:
-        manager.nextEvent.event("tablet %s was loaded on %s", tablet, serverName);
+        manager.nextEvent.event(List.of(tablet), "tablet %s was loaded on %s", tablet, serverName);
         break;
       case UNLOADED:
-        manager.nextEvent.event("tablet %s was unloaded from %s", tablet, serverName);
+        manager.nextEvent.event(List.of(tablet), "tablet %s was unloaded from %s", tablet,
+            serverName);
         break;
       case UNLOAD_ERROR:
         Manager.log.error("{} reports unload failed for tablet {}", serverName, tablet);
@@ -23,6 +23,7 @@ import static org.apache.accumulo.fate.util.UtilWaitThread.sleepUninterruptibly;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -36,7 +37,9 @@ import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+import org.apache.accumulo.core.Constants;
 import org.apache.accumulo.core.client.AccumuloClient;
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.BatchWriter;
@@ -44,6 +47,8 @@ import org.apache.accumulo.core.client.MutationsRejectedException;
 import org.apache.accumulo.core.client.RowIterator;
 import org.apache.accumulo.core.client.Scanner;
 import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.clientImpl.TabletLocationChanges;
+import org.apache.accumulo.core.conf.AccumuloConfiguration;
 import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Mutation;
@@ -64,6 +69,7 @@ import org.apache.accumulo.core.metadata.TabletLocationState;
 import org.apache.accumulo.core.metadata.TabletLocationState.BadLocationStateException;
 import org.apache.accumulo.core.metadata.TabletState;
 import org.apache.accumulo.core.metadata.schema.Ample;
+import org.apache.accumulo.core.metadata.schema.Ample.DataLevel;
 import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection;
 import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.ChoppedColumnFamily;
 import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.CurrentLocationColumnFamily;
@@ -75,6 +81,7 @@ import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.Ta
 import org.apache.accumulo.core.metadata.schema.MetadataTime;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.accumulo.core.tabletserver.thrift.NotServingTabletException;
+import org.apache.accumulo.fate.zookeeper.ZooUtil.NodeExistsPolicy;
 import org.apache.accumulo.manager.Manager.TabletGoalState;
 import org.apache.accumulo.manager.state.MergeStats;
 import org.apache.accumulo.manager.state.TableCounts;
@@ -96,6 +103,7 @@ import org.apache.accumulo.server.util.MetadataTableUtil;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.Text;
 import org.apache.thrift.TException;
+import org.apache.zookeeper.KeeperException;
 
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Iterators;
@@ -105,13 +113,20 @@ abstract class TabletGroupWatcher extends Thread {
 
   private final Manager manager;
   private final TabletStateStore store;
+  private final DataLevel level;
   private final TabletGroupWatcher dependentWatcher;
   final TableStats stats = new TableStats();
   private SortedSet<TServerInstance> lastScanServers = Collections.emptySortedSet();
+  // The states of the tablets returned by the last full scan, kept up to date by incremental scans
+  // so that the stats always cover every tablet that is not where it should be
+  private final Map<KeyExtent,TabletState> lastStates = new HashMap<>();
+  private long lastFullScan = 0;
 
-  TabletGroupWatcher(Manager manager, TabletStateStore store, TabletGroupWatcher dependentWatcher) {
+  TabletGroupWatcher(Manager manager, TabletStateStore store, DataLevel level,
+      TabletGroupWatcher dependentWatcher) {
     this.manager = manager;
     this.store = store;
+    this.level = level;
     this.dependentWatcher = dependentWatcher;
     setName("Watching " + store.name());
     setDaemon(true);
@@ -136,6 +151,50 @@ abstract class TabletGroupWatcher extends Thread {
     return candidates.equals(lastScanServers);
   }
 
+  /**
+   * Decides if every tablet has to be scanned, or if only the tablets affected by recent events
+   * need to be re-examined. Merges and any manager state other than normal need to see every
+   * tablet.
+   *
+   * @param changed
+   *          the tablets affected by events since the last scan, or null if any tablet may have
+   *          been affected
+   */
+  private boolean needsFullScan(Set<KeyExtent> changed, Map<TableId,MergeStats> currentMerges) {
+    AccumuloConfiguration conf = manager.getConfiguration();
+    boolean incrementalAllowed = conf.getBoolean(Property.MANAGER_TABLET_WATCHER_INCREMENTAL)
+        && currentMerges.isEmpty() && manager.getManagerState() == ManagerState.NORMAL
+        && manager.serversToShutdown.isEmpty();
+    return needsFullScan(incrementalAllowed, changed, lastFullScan, System.currentTimeMillis(),
+        conf.getTimeInMillis(Property.MANAGER_TABLET_WATCHER_SWEEP_INTERVAL));
+  }
+
+  static boolean needsFullScan(boolean incrementalAllowed, Set<KeyExtent> changed,
+      long lastFullScan, long now, long sweepInterval) {
+    return !incrementalAllowed || changed == null || lastFullScan == 0
+        || now - lastFullScan >= sweepInterval;
+  }
+
+  /**
+   * @return the tablets an incremental scan re-examines. Tablets that were not settled after the
+   *         last scan are always included, because some of them need more work without any event
+   *         being signaled, for example after a failed load or when no destination was found.
+   */
+  static Set<KeyExtent> getTabletsToExamine(Set<KeyExtent> changed, Set<KeyExtent> unsettled) {
+    Set<KeyExtent> tablets = new HashSet<>(changed);
+    tablets.addAll(unsettled);
+    return tablets;
+  }
+
+  /**
+   * @return the ranges of metadata rows of the level's tablets that overlap the changed tablets
+   */
+  static List<Range> getMetadataRanges(DataLevel level, Set<KeyExtent> changed) {
+    List<Range> ranges = changed.stream().filter(extent -> DataLevel.of(extent.tableId()) == level)
+        .map(KeyExtent::toMetaRange).collect(Collectors.toList());
+    return ranges.isEmpty() ? ranges : Range.mergeOverlapping(ranges);
+  }
+
   /**
    * Collection of data structures used to track Tablet assignments
    */
@@ -145,6 +204,7 @@ abstract class TabletGroupWatcher extends Thread {
     private final List<TabletLocationState> assignedToDeadServers = new ArrayList<>();
     private final List<TabletLocationState> suspendedToGoneServers = new ArrayList<>();
     private final Map<KeyExtent,TServerInstance> unassigned = new HashMap<>();
+    private final Map<KeyExtent,TServerInstance> migrated = new HashMap<>();
     private final Map<TServerInstance,List<Path>> logsForDeadServers = new TreeMap<>();
     // read only lists of tablet servers
     private final SortedMap<TServerInstance,TabletServerStatus> currentTServers;
@@ -164,12 +224,15 @@ abstract class TabletGroupWatcher extends Thread {
       assignedToDeadServers.clear();
       suspendedToGoneServers.clear();
       unassigned.clear();
+      migrated.clear();
     }
   }
 
   @Override
   public void run() {
     int[] oldCounts = new int[TabletState.values().length];
+    // the counts of the last pass of either kind, to tell if an incremental pass changed anything
+    int[] lastPassCounts = new int[TabletState.values().length];
     EventCoordinator.Listener eventListener = this.manager.nextEvent.getListener();
 
     WalStateManager wals = new WalStateManager(manager.getContext());
@@ -206,13 +269,28 @@ abstract class TabletGroupWatcher extends Thread {
 
         TabletLists tLists = new TabletLists(manager, currentTServers);
 
+        final Set<KeyExtent> events = eventListener.takeChangedTablets();
+        final boolean fullScan = needsFullScan(events, currentMerges);
+        final Set<KeyExtent> changed =
+            fullScan ? Set.of() : getTabletsToExamine(events, lastStates.keySet());
+        final long scanStart = System.currentTimeMillis();
+
         ManagerState managerState = manager.getManagerState();
         int[] counts = new int[TabletState.values().length];
+        Map<KeyExtent,TabletState> states = new HashMap<>();
         stats.begin();
         // Walk through the tablets in our store, and work tablets
-        // towards their goal
-        iter = store.iterator();
-        while (iter.hasNext()) {
+        // towards their goal. Unless a full scan is needed, only the tablets affected by recent
+        // events are re-examined.
+        if (fullScan) {
+          iter = store.iterator();
+        } else {
+          List<Range> ranges = getMetadataRanges(level, changed);
+          if (!ranges.isEmpty()) {
+            iter = store.iterator(ranges);
+          }
+        }
+        while (iter != null && iter.hasNext()) {
           TabletLocationState tls = iter.next();
           if (tls == null) {
             continue;
@@ -244,7 +322,7 @@ abstract class TabletGroupWatcher extends Thread {
           TabletLogger.missassigned(tls.extent, goal.toString(), state.toString(), tls.future,
               tls.current, tls.walogs.size());
 
-          stats.update(tableId, state);
+          states.put(tls.extent, state);
           mergeStats.update(tls.extent, state, tls.chopped, !tls.walogs.isEmpty());
           sendChopRequest(mergeStats.getMergeInfo(), state, tls);
           sendSplitRequest(mergeStats.getMergeInfo(), state, tls);
@@ -268,8 +346,10 @@ abstract class TabletGroupWatcher extends Thread {
               continue;
             switch (state) {
               case HOSTED:
-                if (location.equals(manager.migrations.get(tls.extent)))
+                if (location.equals(manager.migrations.get(tls.extent))) {
                   manager.migrations.remove(tls.extent);
+                  tLists.migrated.put(tls.extent, location);
+                }
                 break;
               case ASSIGNED_TO_DEAD_SERVER:
                 hostDeadTablet(tLists, tls, location, wals);
@@ -318,25 +398,40 @@ abstract class TabletGroupWatcher extends Thread {
 
         flushChanges(tLists, wals);
 
+        // every unsettled tablet was examined by this pass, so states holds all that are left
+        lastStates.clear();
+        lastStates.putAll(states);
+        if (fullScan) {
+          lastFullScan = scanStart;
+        }
+
         // provide stats after flushing changes to avoid race conditions w/ delete table
+        lastStates.forEach((extent, state) -> stats.update(extent.tableId(), state));
         stats.end(managerState);
 
-        // Report changes
-        for (TabletState state : TabletState.values()) {
-          int i = state.ordinal();
-          if (counts[i] > 0 && counts[i] != oldCounts[i]) {
-            manager.nextEvent.event("[%s]: %d tablets are %s", store.name(), counts[i],
-                state.name());
+        if (fullScan) {
+          // Report changes
+          for (TabletState state : TabletState.values()) {
+            int i = state.ordinal();
+            if (counts[i] > 0 && counts[i] != oldCounts[i]) {
+              manager.nextEvent.event("[%s]: %d tablets are %s", store.name(), counts[i],
+                  state.name());
+            }
+          }
+          Manager.log.debug(String.format("[%s]: scan time %.2f seconds", store.name(),
+              stats.getScanTime() / 1000.));
+          oldCounts = counts;
+          if (totalUnloaded > 0) {
+            manager.nextEvent.event("[%s]: %d tablets unloaded", store.name(), totalUnloaded);
           }
-        }
-        Manager.log.debug(String.format("[%s]: scan time %.2f seconds", store.name(),
-            stats.getScanTime() / 1000.));
-        oldCounts = counts;
-        if (totalUnloaded > 0) {
-          manager.nextEvent.event("[%s]: %d tablets unloaded", store.name(), totalUnloaded);
-        }
 
-        updateMergeState(mergeStatsCache);
+          updateMergeState(mergeStatsCache);
+        } else if (!Arrays.equals(counts, lastPassCounts)) {
+          // wake up anything waiting on the stats, without making the other watchers rescan
+          manager.nextEvent.debugEvent(Set.of(), "[%s]: %d tablets are not settled, %d unloaded",
+              store.name(), states.size(), totalUnloaded);
+        }
+        lastPassCounts = counts;
 
         synchronized (this) {
           lastScanServers = ImmutableSortedSet.copyOf(currentTServers.keySet());
@@ -349,6 +444,8 @@ abstract class TabletGroupWatcher extends Thread {
           Manager.log.info("Detected change in current tserver set, re-running state machine.");
         }
       } catch (Exception ex) {
+        // the changes taken for this scan may not have been handled, so scan everything next time
+        lastFullScan = 0;
         Manager.log.error("Error processing table state for store " + store.name(), ex);
         if (ex.getCause() != null && ex.getCause() instanceof BadLocationStateException) {
           repairMetadata(((BadLocationStateException) ex.getCause()).getEncodedEndRow());
@@ -933,6 +1030,48 @@ abstract class TabletGroupWatcher extends Thread {
       }
       manager.assignedTablet(a.tablet);
     }
+
+    publishMigrations(tLists.migrated);
+  }
+
+  /**
+   * Publishes the new locations of tablets whose migrations completed, so clients watching for
+   * tablet location changes can update their caches before they send to the old tablet server.
+   * Locations are only published once a tablet is hosted at its destination, because clients that
+   * used a location before then would fail against a server that has not loaded the tablet yet. A
+   * client that sent to the old server while the tablet was moving still recovers the usual way,
+   * by invalidating its cache when the request fails. Nothing is published unless
+   * {@link Property#MANAGER_TABLET_LOCATION_NOTIFICATIONS} is set.
+   */
+  private void publishMigrations(Map<KeyExtent,TServerInstance> migrated) {
+    if (migrated.isEmpty() || !manager.getConfiguration()
+        .getBoolean(Property.MANAGER_TABLET_LOCATION_NOTIFICATIONS)) {
+      return;
+    }
+
+    Map<KeyExtent,TServerInstance> changes = new HashMap<>();
+    for (Entry<KeyExtent,TServerInstance> entry : migrated.entrySet()) {
+      if (changes.size() >= TabletLocationChanges.MAX_CHANGES) {
+        break;
+      }
+      changes.put(entry.getKey(), entry.getValue());
+    }
+
+    if (changes.size() < migrated.size()) {
+      Manager.log.debug("Only publishing {} of {} tablet location changes, clients will find the"
+          + " other {} tablets when their requests fail", changes.size(), migrated.size(),
+          migrated.size() - changes.size());
+    }
+
+    String path = manager.getContext().getZooKeeperRoot() + Constants.ZTABLET_LOCATION_CHANGES;
+    try {
+      manager.getContext().getZooReaderWriter().putPersistentData(path,
+          TabletLocationChanges.encode(changes), NodeExistsPolicy.OVERWRITE);
+    } catch (KeeperException e) {
+      Manager.log.debug("Failed to publish {} tablet location changes", changes.size(), e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
   }
 
   private static void markDeadServerLogsAsClosed(WalStateManager mgr,
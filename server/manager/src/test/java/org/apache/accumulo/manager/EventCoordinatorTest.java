@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.manager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+public class EventCoordinatorTest {
+
+  private static final KeyExtent E1 = new KeyExtent(TableId.of("1"), new Text("m"), null);
+  private static final KeyExtent E2 = new KeyExtent(TableId.of("2"), null, null);
+
+  @Test
+  public void testChangedTablets() {
+    EventCoordinator coordinator = new EventCoordinator();
+    EventCoordinator.Listener listener = coordinator.getListener();
+
+    assertTrue(listener.takeChangedTablets().isEmpty());
+
+    coordinator.event(List.of(E1), "tablet %s loaded", E1);
+    coordinator.event(List.of(E2), "table %s changed", E2.tableId());
+    coordinator.event(Set.of(), "wake up");
+    assertEquals(Set.of(E1, E2), listener.takeChangedTablets());
+    assertTrue(listener.takeChangedTablets().isEmpty());
+
+    // a listener created later only sees later events
+    EventCoordinator.Listener other = coordinator.getListener();
+    coordinator.event(List.of(E1), "tablet %s loaded", E1);
+    assertEquals(Set.of(E1), other.takeChangedTablets());
+
+    // an event that is not tied to tablets means anything may have changed
+    coordinator.event("something happened");
+    coordinator.event(List.of(E2), "table %s changed", E2.tableId());
+    assertNull(listener.takeChangedTablets());
+    assertNull(other.takeChangedTablets());
+    assertTrue(listener.takeChangedTablets().isEmpty());
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.manager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.schema.Ample.DataLevel;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+public class TabletGroupWatcherTest {
+
+  private static KeyExtent nke(String table, String endRow, String prevEndRow) {
+    return new KeyExtent(TableId.of(table), endRow == null ? null : new Text(endRow),
+        prevEndRow == null ? null : new Text(prevEndRow));
+  }
+
+  @Test
+  public void testNeedsFullScan() {
+    Set<KeyExtent> changed = Set.of(nke("1", "m", null));
+
+    assertFalse(TabletGroupWatcher.needsFullScan(true, changed, 1000, 2000, 5000));
+    assertFalse(TabletGroupWatcher.needsFullScan(true, Set.of(), 1000, 2000, 5000));
+
+    // incremental scans are turned off, or not allowed in the current manager state
+    assertTrue(TabletGroupWatcher.needsFullScan(false, changed, 1000, 2000, 5000));
+    // any tablet may have changed
+    assertTrue(TabletGroupWatcher.needsFullScan(true, null, 1000, 2000, 5000));
+    // no full scan was done yet
+    assertTrue(TabletGroupWatcher.needsFullScan(true, changed, 0, 2000, 5000));
+    // time for the periodic sweep
+    assertTrue(TabletGroupWatcher.needsFullScan(true, changed, 1000, 6000, 5000));
+  }
+
+  @Test
+  public void testUnsettledTabletsReexamined() {
+    KeyExtent changed = nke("1", "m", null);
+    KeyExtent unsettled = nke("1", null, "m");
+    KeyExtent otherLevel = nke("!0", null, null);
+
+    // the unsettled tablet had no event, for example its load failed, but it is still examined
+    Set<KeyExtent> tablets =
+        TabletGroupWatcher.getTabletsToExamine(Set.of(changed), Set.of(unsettled, otherLevel));
+    assertEquals(Set.of(changed, unsettled, otherLevel), tablets);
+
+    List<Range> ranges = TabletGroupWatcher.getMetadataRanges(DataLevel.USER, tablets);
+    assertEquals(Range.mergeOverlapping(List.of(changed.toMetaRange(), unsettled.toMetaRange())),
+        ranges);
+
+    // nothing changed, but unsettled tablets are still examined on the next scan
+    assertEquals(List.of(unsettled.toMetaRange()), TabletGroupWatcher.getMetadataRanges(
+        DataLevel.USER, TabletGroupWatcher.getTabletsToExamine(Set.of(), Set.of(unsettled))));
+  }
+}
@@ -112,6 +112,7 @@ import org.apache.accumulo.server.log.SortedLogState;
 import org.apache.accumulo.server.log.WalStateManager;
 import org.apache.accumulo.server.log.WalStateManager.WalMarkerException;
 import org.apache.accumulo.server.manager.recovery.RecoveryPath;
+import org.apache.accumulo.server.metadata.GroupCommitTabletsMutator;
 import org.apache.accumulo.server.rpc.ServerAddress;
 import org.apache.accumulo.server.rpc.TCredentialsUpdatingWrapper;
 import org.apache.accumulo.server.rpc.TServerUtils;
@@ -129,6 +130,7 @@ import org.apache.accumulo.tserver.TabletServerResourceManager.TabletResourceMan
 import org.apache.accumulo.tserver.TabletStatsKeeper.Operation;
 import org.apache.accumulo.tserver.compactions.Compactable;
 import org.apache.accumulo.tserver.compactions.CompactionManager;
+import org.apache.accumulo.tserver.compactions.CompactionRateTuner;
 import org.apache.accumulo.tserver.log.DfsLogger;
 import org.apache.accumulo.tserver.log.LogSorter;
 import org.apache.accumulo.tserver.log.MutationReceiver;
@@ -203,6 +205,7 @@ public class TabletServer extends AbstractServer {
 
   final TabletServerResourceManager resourceManager;
   private final SecurityOperation security;
+  private final GroupCommitTabletsMutator bulkMetadataMutator;
 
   private final BlockingDeque<ManagerMessage> managerMessages = new LinkedBlockingDeque<>();
 
@@ -345,7 +348,10 @@ public class TabletServer extends AbstractServer {
     logger = new TabletServerLogger(this, walMaxSize, syncCounter, flushCounter,
         walCreationRetryFactory, walWritingRetryFactory, walMaxAge);
     this.resourceManager = new TabletServerResourceManager(context);
+    this.compactionRateTuner = new CompactionRateTuner(context, resourceManager::holdTime,
+        resourceManager::getScansQueued);
     this.security = AuditedSecurityOperation.getInstance(context);
+    this.bulkMetadataMutator = new GroupCommitTabletsMutator(context);
 
     context.getScheduledExecutor().scheduleWithFixedDelay(TabletLocator::clearLocators, jitter(),
         jitter(), TimeUnit.MILLISECONDS);
@@ -387,6 +393,7 @@ public class TabletServer extends AbstractServer {
   private ThriftClientHandler clientHandler;
   private final ServerBulkImportStatus bulkImportStatus = new ServerBulkImportStatus();
   private CompactionManager compactionManager;
+  final CompactionRateTuner compactionRateTuner;
 
   String getLockID() {
     return lockID;
@@ -637,6 +644,14 @@ public class TabletServer extends AbstractServer {
     return tabletServerLock;
   }
 
+  /**
+   * @return the mutator used to add bulk imported files to tablets, shared so that tablets loading
+   *         files at the same time write their metadata updates together
+   */
+  public GroupCommitTabletsMutator getBulkMetadataMutator() {
+    return bulkMetadataMutator;
+  }
+
   private void announceExistence() {
     ZooReaderWriter zoo = getContext().getZooReaderWriter();
     try {
@@ -751,13 +766,15 @@ public class TabletServer extends AbstractServer {
     ceMetrics = new CompactionExecutorsMetrics();
     MetricsUtil.initializeProducers(metrics, updateMetrics, scanMetrics, mincMetrics, ceMetrics);
 
+    compactionRateTuner.start();
+
     this.compactionManager = new CompactionManager(new Iterable<Compactable>() {
       @Override
       public Iterator<Compactable> iterator() {
         return Iterators.transform(onlineTablets.snapshot().values().iterator(),
             Tablet::asCompactable);
       }
-    }, getContext(), ceMetrics);
+    }, getContext(), ceMetrics, compactionRateTuner);
     compactionManager.start();
 
     try {
@@ -73,6 +73,7 @@ import org.apache.accumulo.server.fs.FileManager;
 import org.apache.accumulo.server.fs.FileManager.ScanFileManager;
 import org.apache.accumulo.tserver.memory.LargestFirstMemoryManager;
 import org.apache.accumulo.tserver.memory.TabletMemoryReport;
+import org.apache.accumulo.tserver.scan.ScanResultCache;
 import org.apache.accumulo.tserver.session.ScanSession;
 import org.apache.accumulo.tserver.tablet.Tablet;
 import org.slf4j.Logger;
@@ -102,6 +103,7 @@ public class TabletServerResourceManager {
   private final ExecutorService summaryRetrievalPool;
   private final ExecutorService summaryPartitionPool;
   private final ExecutorService summaryRemotePool;
+  private final ExecutorService bulkLoadPool;
 
   private final Map<String,ExecutorService> scanExecutors;
   private final Map<String,ScanExecutor> scanExecutorChoices;
@@ -118,6 +120,7 @@ public class TabletServerResourceManager {
   private final BlockCache _dCache;
   private final BlockCache _iCache;
   private final BlockCache _sCache;
+  private final ScanResultCache scanResultCache;
   private final ServerContext context;
 
   private Cache<String,Long> fileLenCache;
@@ -274,22 +277,28 @@ public class TabletServerResourceManager {
     long iCacheSize = _iCache.getMaxHeapSize();
     long sCacheSize = _sCache.getMaxHeapSize();
 
+    long srCacheSize = acuConf.getAsBytes(Property.TSERV_SCAN_RESULT_CACHE_SIZE);
+    scanResultCache = srCacheSize > 0 ? new ScanResultCache(srCacheSize) : null;
+
     Runtime runtime = Runtime.getRuntime();
     if (usingNativeMap) {
       // Still check block cache sizes when using native maps.
-      if (dCacheSize + iCacheSize + sCacheSize + totalQueueSize > runtime.maxMemory()) {
+      if (dCacheSize + iCacheSize + sCacheSize + srCacheSize + totalQueueSize
+          > runtime.maxMemory()) {
         throw new IllegalArgumentException(String.format(
-            "Block cache sizes %,d" + " and mutation queue size %,d is too large for this JVM"
+            "Cache sizes %,d" + " and mutation queue size %,d is too large for this JVM"
                 + " configuration %,d",
-            dCacheSize + iCacheSize + sCacheSize, totalQueueSize, runtime.maxMemory()));
+            dCacheSize + iCacheSize + sCacheSize + srCacheSize, totalQueueSize,
+            runtime.maxMemory()));
       }
-    } else if (maxMemory + dCacheSize + iCacheSize + sCacheSize + totalQueueSize
+    } else if (maxMemory + dCacheSize + iCacheSize + sCacheSize + srCacheSize + totalQueueSize
         > runtime.maxMemory()) {
       throw new IllegalArgumentException(String.format(
           "Maximum tablet server"
-              + " map memory %,d block cache sizes %,d and mutation queue size %,d is"
+              + " map memory %,d cache sizes %,d and mutation queue size %,d is"
               + " too large for this JVM configuration %,d",
-          maxMemory, dCacheSize + iCacheSize + sCacheSize, totalQueueSize, runtime.maxMemory()));
+          maxMemory, dCacheSize + iCacheSize + sCacheSize + srCacheSize, totalQueueSize,
+          runtime.maxMemory()));
     }
     runtime.gc();
 
@@ -354,6 +363,11 @@ public class TabletServerResourceManager {
         () -> context.getConfiguration().getCount(Property.TSERV_SUMMARY_PARTITION_THREADS),
         "summary partition", (ThreadPoolExecutor) summaryPartitionPool);
 
+    bulkLoadPool = ThreadPools.createExecutorService(acuConf, Property.TSERV_BULK_LOAD_THREADS);
+    modifyThreadPoolSizesAtRuntime(
+        () -> context.getConfiguration().getCount(Property.TSERV_BULK_LOAD_THREADS),
+        "bulk loader", (ThreadPoolExecutor) bulkLoadPool);
+
     Collection<ScanExecutorConfig> scanExecCfg = acuConf.getScanExecutors();
     Map<String,Queue<Runnable>> scanExecQueues = new HashMap<>();
     scanExecutors = scanExecCfg.stream().collect(
@@ -614,6 +628,13 @@ public class TabletServerResourceManager {
     }
   }
 
+  /**
+   * @return the number of scans waiting for a thread across all scan executors
+   */
+  public int getScansQueued() {
+    return scanExecutorChoices.values().stream().mapToInt(ScanExecutor::getQueued).sum();
+  }
+
   public long holdTime() {
     if (!holdCommits) {
       return 0;
@@ -850,6 +871,13 @@ public class TabletServerResourceManager {
     return _sCache;
   }
 
+  /**
+   * @return the cache for scan results or null when the cache is disabled
+   */
+  public ScanResultCache getScanResultCache() {
+    return scanResultCache;
+  }
+
   public Cache<String,Long> getFileLenCache() {
     return fileLenCache;
   }
@@ -865,4 +893,8 @@ public class TabletServerResourceManager {
   public ExecutorService getSummaryRemoteExecutor() {
     return summaryRemotePool;
   }
+
+  public ExecutorService getBulkLoadExecutor() {
+    return bulkLoadPool;
+  }
 }
@@ -136,6 +136,7 @@ import org.apache.accumulo.tserver.data.ServerConditionalMutation;
 import org.apache.accumulo.tserver.scan.LookupTask;
 import org.apache.accumulo.tserver.scan.NextBatchTask;
 import org.apache.accumulo.tserver.scan.ScanParameters;
+import org.apache.accumulo.tserver.scan.ScanResultCache;
 import org.apache.accumulo.tserver.session.ConditionalSession;
 import org.apache.accumulo.tserver.session.MultiScanSession;
 import org.apache.accumulo.tserver.session.SingleScanSession;
@@ -235,7 +236,10 @@ public class ThriftClientHandler extends ClientServiceHandler implements TabletC
     }
 
     transactionWatcher.runQuietly(Constants.BULK_ARBITRATOR_TYPE, tid, () -> {
-      tabletImports.forEach((tke, fileMap) -> {
+      // load tablets in parallel, their metadata updates are written together
+      ExecutorService executor = server.resourceManager.getBulkLoadExecutor();
+      List<Future<?>> loads = new ArrayList<>(tabletImports.size());
+      tabletImports.forEach((tke, fileMap) -> loads.add(executor.submit(() -> {
         Map<TabletFile,MapFileInfo> newFileMap = new HashMap<>();
 
         for (Entry<String,MapFileInfo> mapping : fileMap.entrySet()) {
@@ -260,7 +264,36 @@ public class ThriftClientHandler extends ClientServiceHandler implements TabletC
             server.removeBulkImportState(files);
           }
         }
-      });
+      })));
+
+      // wait for every load, the transaction must stay active while any tablet is still updating
+      // its metadata
+      RuntimeException failure = null;
+      boolean interrupted = false;
+      for (Future<?> load : loads) {
+        while (true) {
+          try {
+            load.get();
+            break;
+          } catch (InterruptedException e) {
+            interrupted = true;
+          } catch (ExecutionException e) {
+            if (failure == null) {
+              failure = new RuntimeException(e.getCause());
+            } else {
+              failure.addSuppressed(e.getCause());
+            }
+            break;
+          }
+        }
+      }
+
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      if (failure != null) {
+        throw failure;
+      }
     });
 
   }
@@ -334,8 +367,30 @@ public class ThriftClientHandler extends ClientServiceHandler implements TabletC
 
     final SingleScanSession scanSession =
         new SingleScanSession(credentials, extent, scanParams, readaheadThreshold, executionHints);
-    scanSession.scanner =
-        tablet.createScanner(new Range(range), scanParams, scanSession.interruptFlag);
+    final Range scanRange = new Range(range);
+
+    ScanResultCache scanResultCache = server.resourceManager.getScanResultCache();
+    ScanResultCache.CacheKey cacheKey = null;
+    long dataVersion = 0;
+    long configVersion = 0;
+    if (scanResultCache != null
+        && tablet.getTableConfiguration().getBoolean(Property.TABLE_SCAN_RESULT_CACHE_ENABLED)) {
+      cacheKey = new ScanResultCache.CacheKey(extent, scanRange, scanParams);
+      // must get the versions before reading any data, so that any changes made while the scan is
+      // running cause the cached results to be ignored
+      dataVersion = tablet.getDataVersion();
+      configVersion = tablet.getTableConfiguration().getUpdateCount();
+      List<TKeyValue> cached = scanResultCache.get(cacheKey, dataVersion, configVersion);
+      if (cached != null) {
+        long sid = server.sessionManager.createSession(scanSession, false);
+        scanSession.entriesReturned = cached.size();
+        scanSession.batchCount = 1;
+        closeScan(tinfo, sid);
+        return new InitialScan(sid, new ScanResult(cached, false));
+      }
+    }
+
+    scanSession.scanner = tablet.createScanner(scanRange, scanParams, scanSession.interruptFlag);
 
     long sid = server.sessionManager.createSession(scanSession, true);
 
@@ -349,6 +404,10 @@ public class ThriftClientHandler extends ClientServiceHandler implements TabletC
       server.sessionManager.unreserveSession(sid);
     }
 
+    if (cacheKey != null && !scanResult.more && scanSession.batchCount == 1) {
+      scanResultCache.put(cacheKey, dataVersion, configVersion, scanResult.results);
+    }
+
     return new InitialScan(sid, scanResult);
   }
 
@@ -382,8 +441,10 @@ public class ThriftClientHandler extends ClientServiceHandler implements TabletC
 
     ScanBatch bresult;
     try {
+      long t1 = System.currentTimeMillis();
       bresult = scanSession.nextBatchTask.get(MAX_TIME_TO_WAIT_FOR_SCAN_RESULT_MILLIS,
           TimeUnit.MILLISECONDS);
+      server.compactionRateTuner.recordScanLatency(System.currentTimeMillis() - t1);
       scanSession.nextBatchTask = null;
     } catch (ExecutionException e) {
       server.sessionManager.removeSession(scanID);
@@ -564,8 +625,10 @@ public class ThriftClientHandler extends ClientServiceHandler implements TabletC
     }
 
     try {
+      long t1 = System.currentTimeMillis();
       MultiScanResult scanResult =
           session.lookupTask.get(MAX_TIME_TO_WAIT_FOR_SCAN_RESULT_MILLIS, TimeUnit.MILLISECONDS);
+      server.compactionRateTuner.recordScanLatency(System.currentTimeMillis() - t1);
       session.lookupTask = null;
       return scanResult;
     } catch (ExecutionException e) {
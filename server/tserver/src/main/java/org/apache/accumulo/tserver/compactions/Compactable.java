@@ -25,9 +25,12 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.apache.accumulo.core.client.admin.compaction.CompactableFile;
+import org.apache.accumulo.core.client.summary.SummarizerConfiguration;
+import org.apache.accumulo.core.client.summary.Summary;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.metadata.CompactableFileImpl;
@@ -104,6 +107,13 @@ public interface Compactable {
 
   double getCompactionRatio();
 
+  double getScanRate();
+
+  double getIngestRate();
+
+  Collection<Summary> getSummaries(Collection<CompactableFile> files,
+      Predicate<SummarizerConfiguration> summarySelector);
+
   ExternalCompactionJob reserveExternalCompaction(CompactionServiceId service, CompactionJob job,
       String compactorId, ExternalCompactionId externalCompactionId);
 
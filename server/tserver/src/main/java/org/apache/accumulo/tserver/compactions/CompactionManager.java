@@ -73,6 +73,8 @@ public class CompactionManager {
 
   private CompactionExecutorsMetrics ceMetrics;
 
+  private CompactionRateTuner rateTuner;
+
   private String lastDeprecationWarning = "";
 
   private Map<CompactionExecutorId,ExternalCompactionExecutor> externalExecutors;
@@ -181,7 +183,7 @@ public class CompactionManager {
   }
 
   public CompactionManager(Iterable<Compactable> compactables, ServerContext context,
-      CompactionExecutorsMetrics ceMetrics) {
+      CompactionExecutorsMetrics ceMetrics, CompactionRateTuner rateTuner) {
     this.compactables = compactables;
 
     this.currentCfg =
@@ -191,6 +193,8 @@ public class CompactionManager {
 
     this.ceMetrics = ceMetrics;
 
+    this.rateTuner = rateTuner;
+
     this.externalExecutors = new ConcurrentHashMap<>();
 
     this.runningExternalCompactions = new ConcurrentHashMap<>();
@@ -203,7 +207,7 @@ public class CompactionManager {
             new CompactionService(serviceName, plannerClassName,
                 currentCfg.getRateLimit(serviceName),
                 currentCfg.getOptions().getOrDefault(serviceName, Map.of()), context, ceMetrics,
-                this::getExternalExecutor));
+                this::getExternalExecutor, rateTuner));
       } catch (RuntimeException e) {
         log.error("Failed to create compaction service {} with planner:{} options:{}", serviceName,
             plannerClassName, currentCfg.getOptions().getOrDefault(serviceName, Map.of()), e);
@@ -248,7 +252,7 @@ public class CompactionManager {
                   new CompactionService(serviceName, plannerClassName,
                       tmpCfg.getRateLimit(serviceName),
                       tmpCfg.getOptions().getOrDefault(serviceName, Map.of()), context, ceMetrics,
-                      this::getExternalExecutor));
+                      this::getExternalExecutor, rateTuner));
             } else {
               service.configurationChanged(plannerClassName, tmpCfg.getRateLimit(serviceName),
                   tmpCfg.getOptions().getOrDefault(serviceName, Map.of()));
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.compactions;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+import org.apache.accumulo.core.conf.AccumuloConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.util.threads.Threads;
+import org.apache.accumulo.server.ServerContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scales the rate limits of the compaction services of a tablet server based on how loaded the
+ * tablet server is. Compactions are slowed down when scans wait too long for results or when
+ * writes are held, and are sped up again when scans are fast and nothing is queued. The rate is
+ * lowered quickly and raised slowly, so compactions back off as soon as they start to hurt scans
+ * or writes.
+ *
+ * <p>
+ * Only compaction services with a rate limit are tuned. The tuned rate stays between the
+ * configured minimum and maximum multiples of the rate limit.
+ */
+public class CompactionRateTuner {
+
+  private static final Logger log = LoggerFactory.getLogger(CompactionRateTuner.class);
+
+  private static final long UPDATE_INTERVAL_MS = 5000;
+  private static final int MAX_LATENCY_SAMPLES = 1024;
+
+  static final double INCREASE = 0.1;
+  static final double DECREASE = 0.5;
+
+  private final ServerContext context;
+  private final LongSupplier holdTime;
+  private final IntSupplier scansQueued;
+
+  private final long[] latencies = new long[MAX_LATENCY_SAMPLES];
+  private int numLatencies = 0;
+
+  private volatile boolean enabled = false;
+  private volatile double factor = 1.0;
+
+  /**
+   * @param holdTime
+   *          supplies how long, in milliseconds, writes to the tablet server have been held
+   * @param scansQueued
+   *          supplies the number of scans waiting for a thread
+   */
+  public CompactionRateTuner(ServerContext context, LongSupplier holdTime,
+      IntSupplier scansQueued) {
+    this.context = context;
+    this.holdTime = holdTime;
+    this.scansQueued = scansQueued;
+  }
+
+  public void start() {
+    context.getScheduledExecutor().scheduleWithFixedDelay(
+        Threads.createNamedRunnable("compaction rate tuner", this::update), UPDATE_INTERVAL_MS,
+        UPDATE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Records how long a scan waited for a batch of results.
+   */
+  public void recordScanLatency(long millis) {
+    synchronized (latencies) {
+      latencies[numLatencies % MAX_LATENCY_SAMPLES] = millis;
+      numLatencies++;
+    }
+  }
+
+  /**
+   * @return the rate a compaction service with the given rate limit should currently use
+   */
+  public long getRate(long rateLimit) {
+    if (!enabled || rateLimit <= 0) {
+      return rateLimit;
+    }
+    return Math.max(1, Math.round(rateLimit * factor));
+  }
+
+  private long takeScanLatencyP99() {
+    long[] samples;
+    synchronized (latencies) {
+      samples = Arrays.copyOf(latencies, Math.min(numLatencies, MAX_LATENCY_SAMPLES));
+      numLatencies = 0;
+    }
+    return percentile99(samples);
+  }
+
+  private void update() {
+    AccumuloConfiguration conf = context.getConfiguration();
+    long scanLatency = takeScanLatencyP99();
+
+    if (!conf.getBoolean(Property.TSERV_COMPACTION_AUTOTUNE_ENABLED)) {
+      enabled = false;
+      factor = 1.0;
+      return;
+    }
+
+    double newFactor = adjust(factor, scanLatency,
+        conf.getTimeInMillis(Property.TSERV_COMPACTION_AUTOTUNE_SCAN_LATENCY),
+        scansQueued.getAsInt(), holdTime.getAsLong(),
+        conf.getFraction(Property.TSERV_COMPACTION_AUTOTUNE_MIN),
+        conf.getFraction(Property.TSERV_COMPACTION_AUTOTUNE_MAX));
+
+    if (newFactor != factor) {
+      log.debug("Compaction rate limits scaled from {} to {} (scan p99:{}ms queued:{} hold:{}ms)",
+          factor, newFactor, scanLatency, scansQueued.getAsInt(), holdTime.getAsLong());
+    }
+
+    factor = newFactor;
+    enabled = true;
+  }
+
+  static long percentile99(long[] samples) {
+    if (samples.length == 0) {
+      return 0;
+    }
+    Arrays.sort(samples);
+    return samples[(samples.length * 99 + 99) / 100 - 1];
+  }
+
+  /**
+   * Computes the next multiple of the compaction rate limits. Compactions are slowed when writes
+   * are held or scans are slower than the target, and sped up when scans are well under the target
+   * and none are queued.
+   */
+  static double adjust(double factor, long scanLatency, long targetScanLatency, int scansQueued,
+      long holdTime, double min, double max) {
+    if (holdTime > 0 || scanLatency > targetScanLatency) {
+      factor = factor * DECREASE;
+    } else if (scansQueued == 0 && scanLatency <= targetScanLatency / 2) {
+      factor = factor + INCREASE;
+    }
+    return Math.max(min, Math.min(max, factor));
+  }
+}
@@ -38,8 +38,11 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.apache.accumulo.core.client.admin.compaction.CompactableFile;
+import org.apache.accumulo.core.client.summary.SummarizerConfiguration;
+import org.apache.accumulo.core.client.summary.Summary;
 import org.apache.accumulo.core.conf.ConfigurationTypeHelper;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
@@ -90,7 +93,8 @@ public class CompactionService {
   public CompactionService(String serviceName, String plannerClass, Long maxRate,
       Map<String,String> plannerOptions, ServerContext context,
       CompactionExecutorsMetrics ceMetrics,
-      Function<CompactionExecutorId,ExternalCompactionExecutor> externExecutorSupplier) {
+      Function<CompactionExecutorId,ExternalCompactionExecutor> externExecutorSupplier,
+      CompactionRateTuner rateTuner) {
 
     Preconditions.checkArgument(maxRate >= 0);
 
@@ -111,9 +115,9 @@ public class CompactionService {
     this.rateLimit.set(maxRate);
 
     this.readLimiter = SharedRateLimiterFactory.getInstance(this.context.getConfiguration())
-        .create("CS_" + serviceName + "_read", () -> rateLimit.get());
+        .create("CS_" + serviceName + "_read", () -> rateTuner.getRate(rateLimit.get()));
     this.writeLimiter = SharedRateLimiterFactory.getInstance(this.context.getConfiguration())
-        .create("CS_" + serviceName + "_write", () -> rateLimit.get());
+        .create("CS_" + serviceName + "_write", () -> rateTuner.getRate(rateLimit.get()));
 
     initParams.getRequestedExecutors().forEach((ceid, numThreads) -> {
       tmpExecutors.put(ceid,
@@ -260,6 +264,22 @@ public class CompactionService {
         return Map.of();
     }
 
+    @Override
+    public double getScanRate() {
+      return comp.getScanRate();
+    }
+
+    @Override
+    public double getIngestRate() {
+      return comp.getIngestRate();
+    }
+
+    @Override
+    public Collection<Summary> getSummaries(Collection<CompactableFile> files,
+        Predicate<SummarizerConfiguration> summarySelector) {
+      return comp.getSummaries(files, summarySelector);
+    }
+
     @Override
     public CompactionPlan.Builder createPlanBuilder() {
       return new CompactionPlanImpl.BuilderImpl(kind, files.allFiles, files.candidates);
@@ -27,12 +27,15 @@ import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
 import org.apache.accumulo.core.metrics.MetricsProducer;
 import org.apache.accumulo.core.spi.compaction.CompactionExecutorId;
 import org.apache.accumulo.core.util.threads.ThreadPools;
+import org.apache.accumulo.server.compaction.CompactionInfo;
+import org.apache.accumulo.server.compaction.FileCompactor;
 import org.apache.accumulo.tserver.compactions.CompactionManager.ExtCompMetric;
 
 import com.google.common.collect.Sets;
@@ -47,6 +50,8 @@ public class CompactionExecutorsMetrics implements MetricsProducer {
   private volatile List<CeMetrics> ceMetricsList = List.of();
   private final Map<CompactionExecutorId,CeMetrics> ceMetricsMap = new HashMap<>();
   private final Map<CompactionExecutorId,ExMetrics> exCeMetricsMap = new HashMap<>();
+  private final AtomicLong throughput = new AtomicLong(0);
+  private final AtomicLong timeRemaining = new AtomicLong(0);
   private MeterRegistry registry = null;
 
   private static class CeMetrics {
@@ -144,6 +149,22 @@ public class CompactionExecutorsMetrics implements MetricsProducer {
       cem.running.set(cem.runningSupplier.getAsInt());
       cem.queued.set(cem.queuedSupplier.getAsInt());
     });
+
+    updateProgress(FileCompactor.getRunningCompactions());
+  }
+
+  private void updateProgress(List<CompactionInfo> running) {
+    double entriesPerSecond = 0;
+    long maxRemaining = 0;
+    for (CompactionInfo info : running) {
+      // minor compactions have no input files
+      if (info.getEntriesToBeCompacted() > 0) {
+        entriesPerSecond += info.getEntriesPerSecond();
+        maxRemaining = Math.max(maxRemaining, info.getEstimatedTimeRemaining());
+      }
+    }
+    throughput.set(Math.round(entriesPerSecond));
+    timeRemaining.set(maxRemaining);
   }
 
   public void setExternalMetricsSupplier(Supplier<Collection<ExtCompMetric>> ems) {
@@ -155,6 +176,8 @@ public class CompactionExecutorsMetrics implements MetricsProducer {
     // Meters are registered dynamically. Save off the reference to the
     // registry to use at that time.
     this.registry = registry;
+    registry.gauge(METRICS_MAJC_THROUGHPUT, throughput);
+    registry.gauge(METRICS_MAJC_TIME_REMAINING, timeRemaining);
   }
 
 }
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.scan;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.accumulo.core.data.Column;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.dataImpl.thrift.IterInfo;
+import org.apache.accumulo.core.dataImpl.thrift.TKey;
+import org.apache.accumulo.core.dataImpl.thrift.TKeyValue;
+import org.apache.accumulo.core.sample.impl.SamplerConfigurationImpl;
+import org.apache.accumulo.core.security.Authorizations;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Caches the encoded results of scans that completed in a single batch. Entries are tagged with the
+ * data version of the tablet at the time the scan started and are only served while the tablet
+ * still has that version, so any write, flush, compaction or bulk import invalidates them. Entries
+ * are also tagged with the version of the table configuration, because table configured scan
+ * iterators and their class loader context influence the results too.
+ */
+public class ScanResultCache {
+
+  // rough per entry overhead of the thrift objects
+  private static final int KV_OVERHEAD = 64;
+
+  /**
+   * Everything that can influence the results of a scan of a tablet.
+   */
+  public static class CacheKey {
+    private final KeyExtent extent;
+    private final Range range;
+    private final Set<Column> columns;
+    private final List<IterInfo> ssiList;
+    private final Map<String,Map<String,String>> ssio;
+    private final Authorizations authorizations;
+    private final SamplerConfigurationImpl samplerConfig;
+    private final String classLoaderContext;
+    private final int maxEntries;
+    private final int hashCode;
+
+    public CacheKey(KeyExtent extent, Range range, ScanParameters scanParams) {
+      this.extent = extent;
+      this.range = range;
+      this.columns = scanParams.getColumnSet();
+      this.ssiList = scanParams.getSsiList();
+      this.ssio = scanParams.getSsio();
+      this.authorizations = scanParams.getAuthorizations();
+      this.samplerConfig = scanParams.getSamplerConfigurationImpl();
+      this.classLoaderContext = scanParams.getClassLoaderContext();
+      this.maxEntries = scanParams.getMaxEntries();
+      this.hashCode = Objects.hash(extent, range, columns, ssiList, ssio, authorizations,
+          samplerConfig, classLoaderContext, maxEntries);
+    }
+
+    public KeyExtent getExtent() {
+      return extent;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o instanceof CacheKey) {
+        CacheKey ock = (CacheKey) o;
+        return hashCode == ock.hashCode && maxEntries == ock.maxEntries
+            && extent.equals(ock.extent) && range.equals(ock.range)
+            && columns.equals(ock.columns) && ssiList.equals(ock.ssiList)
+            && ssio.equals(ock.ssio) && authorizations.equals(ock.authorizations)
+            && Objects.equals(samplerConfig, ock.samplerConfig)
+            && Objects.equals(classLoaderContext, ock.classLoaderContext);
+      }
+      return false;
+    }
+  }
+
+  private static class CachedResults {
+    final long dataVersion;
+    final long configVersion;
+    final List<TKeyValue> results;
+    final int weight;
+
+    CachedResults(long dataVersion, long configVersion, List<TKeyValue> results) {
+      this.dataVersion = dataVersion;
+      this.configVersion = configVersion;
+      this.results = List.copyOf(results);
+      this.weight = estimateSize(results);
+    }
+  }
+
+  private final Cache<CacheKey,CachedResults> cache;
+  private final long maxEntrySize;
+
+  public ScanResultCache(long maxSize) {
+    this.cache = CacheBuilder.newBuilder().maximumWeight(maxSize)
+        .weigher((CacheKey k, CachedResults v) -> v.weight).build();
+    // guava evicts within segments, so do not bother caching anything that would take up a large
+    // fraction of the cache
+    this.maxEntrySize = Math.max(1, maxSize / 16);
+  }
+
+  /**
+   * @return the cached results for the key if they were computed against the given data and table
+   *         configuration versions, otherwise null
+   */
+  public List<TKeyValue> get(CacheKey key, long dataVersion, long configVersion) {
+    CachedResults cached = cache.getIfPresent(key);
+    if (cached == null) {
+      return null;
+    }
+
+    if (cached.dataVersion != dataVersion || cached.configVersion != configVersion) {
+      // the tablet or its table changed, this entry will never be valid again
+      cache.asMap().remove(key, cached);
+      return null;
+    }
+
+    return cached.results;
+  }
+
+  public void put(CacheKey key, long dataVersion, long configVersion, List<TKeyValue> results) {
+    CachedResults cached = new CachedResults(dataVersion, configVersion, results);
+    if (cached.weight <= maxEntrySize) {
+      cache.put(key, cached);
+    }
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  private static int remaining(ByteBuffer buffer) {
+    return buffer == null ? 0 : buffer.remaining();
+  }
+
+  static int estimateSize(List<TKeyValue> results) {
+    long size = 0;
+    for (TKeyValue tkv : results) {
+      TKey tkey = tkv.key;
+      size += KV_OVERHEAD + remaining(tkey.row) + remaining(tkey.colFamily)
+          + remaining(tkey.colQualifier) + remaining(tkey.colVisibility) + remaining(tkv.value);
+    }
+    return (int) Math.min(Integer.MAX_VALUE, size);
+  }
+}
@@ -39,12 +39,15 @@ import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.admin.CompactionConfig;
 import org.apache.accumulo.core.client.admin.compaction.CompactableFile;
+import org.apache.accumulo.core.client.summary.SummarizerConfiguration;
+import org.apache.accumulo.core.client.summary.Summary;
 import org.apache.accumulo.core.conf.AccumuloConfiguration.Deriver;
 import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.data.TableId;
@@ -1479,6 +1482,22 @@ public class CompactableImpl implements Compactable {
     return tablet.getTableConfiguration().getFraction(Property.TABLE_MAJC_RATIO);
   }
 
+  @Override
+  public double getScanRate() {
+    return tablet.scanRate();
+  }
+
+  @Override
+  public double getIngestRate() {
+    return tablet.ingestRate();
+  }
+
+  @Override
+  public Collection<Summary> getSummaries(Collection<CompactableFile> files,
+      Predicate<SummarizerConfiguration> summarySelector) {
+    return CompactableUtils.getSummaries(tablet, files, summarySelector);
+  }
+
   public boolean isMajorCompactionRunning() {
     // this method intentionally not synchronized because its called by stats code.
     return compactionRunning;
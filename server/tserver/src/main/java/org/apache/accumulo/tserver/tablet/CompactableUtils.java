@@ -276,6 +276,27 @@ public class CompactableUtils {
     }
   }
 
+  static Collection<Summary> getSummaries(Tablet tablet, Collection<CompactableFile> files,
+      Predicate<SummarizerConfiguration> summarySelector) {
+    var context = tablet.getContext();
+    var tsrm = tablet.getTabletResources().getTabletServerResourceManager();
+
+    SummaryCollection sc = new SummaryCollection();
+    SummarizerFactory factory = new SummarizerFactory(tablet.getTableConfiguration());
+    for (CompactableFile cf : files) {
+      var file = CompactableFileImpl.toStoredTabletFile(cf);
+      FileSystem fs = context.getVolumeManager().getFileSystemByPath(file.getPath());
+      Configuration conf = context.getHadoopConf();
+      SummaryCollection fsc = SummaryReader
+          .load(fs, conf, factory, file.getPath(), summarySelector, tsrm.getSummaryCache(),
+              tsrm.getIndexCache(), tsrm.getFileLenCache(), context.getCryptoService())
+          .getSummaries(Collections.singletonList(new Gatherer.RowRange(tablet.getExtent())));
+      sc.merge(fsc, factory);
+    }
+
+    return sc.getSummaries();
+  }
+
   static Set<StoredTabletFile> selectFiles(Tablet tablet,
       SortedMap<StoredTabletFile,DataFileValue> datafiles, PluginConfig selectorConfig) {
 
@@ -316,24 +337,7 @@ public class CompactableUtils {
       @Override
       public Collection<Summary> getSummaries(Collection<CompactableFile> files,
           Predicate<SummarizerConfiguration> summarySelector) {
-
-        var context = tablet.getContext();
-        var tsrm = tablet.getTabletResources().getTabletServerResourceManager();
-
-        SummaryCollection sc = new SummaryCollection();
-        SummarizerFactory factory = new SummarizerFactory(tablet.getTableConfiguration());
-        for (CompactableFile cf : files) {
-          var file = CompactableFileImpl.toStoredTabletFile(cf);
-          FileSystem fs = context.getVolumeManager().getFileSystemByPath(file.getPath());
-          Configuration conf = context.getHadoopConf();
-          SummaryCollection fsc = SummaryReader
-              .load(fs, conf, factory, file.getPath(), summarySelector, tsrm.getSummaryCache(),
-                  tsrm.getIndexCache(), tsrm.getFileLenCache(), context.getCryptoService())
-              .getSummaries(Collections.singletonList(new Gatherer.RowRange(tablet.getExtent())));
-          sc.merge(fsc, factory);
-        }
-
-        return sc.getSummaries();
+        return CompactableUtils.getSummaries(tablet, files, summarySelector);
       }
 
       @Override
@@ -254,6 +254,7 @@ class DatafileManager {
         datafileSizes.put(tpath.getKey(), tpath.getValue());
       }
       updateCount++;
+      tablet.incrementDataVersion();
 
       tablet.getTabletResources().importedMapFiles();
 
@@ -381,6 +382,7 @@ class DatafileManager {
         }
         datafileSizes.put(newFileStored, dfv);
         updateCount++;
+        tablet.incrementDataVersion();
       }
 
       tablet.flushComplete(flushId);
@@ -452,6 +454,7 @@ class DatafileManager {
         // could be used by a follow on compaction in a multipass compaction
       }
       updateCount++;
+      tablet.incrementDataVersion();
 
       tablet.computeNumEntries();
 
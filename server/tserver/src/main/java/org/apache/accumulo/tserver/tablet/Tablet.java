@@ -173,6 +173,24 @@ public class Tablet {
     return dataSourceDeletions.get();
   }
 
+  // Data versions are drawn from a counter shared by all tablets so that a version seen for one
+  // instance of a tablet is never reused after the tablet is unloaded and loaded again.
+  private static final AtomicLong nextDataVersion = new AtomicLong(0);
+
+  private volatile long dataVersion = nextDataVersion.incrementAndGet();
+
+  /**
+   * @return a number that changes whenever data is written to the tablet or its set of files
+   *         changes. Can be used to determine if the results of a scan are still current.
+   */
+  public long getDataVersion() {
+    return dataVersion;
+  }
+
+  void incrementDataVersion() {
+    dataVersion = nextDataVersion.incrementAndGet();
+  }
+
   private final Set<ScanDataSource> activeScans = new HashSet<>();
 
   private enum CloseState {
@@ -1195,6 +1213,7 @@ public class Tablet {
     }
 
     getTabletMemory().mutate(commitSession, mutations, totalCount);
+    incrementDataVersion();
 
     synchronized (this) {
       if (isCloseComplete()) {
@@ -2216,9 +2235,9 @@ public class Tablet {
         persistedTime = bulkTime;
       }
 
-      return MetadataTableUtil.updateTabletDataFile(tid, extent, paths,
-          tabletTime.getMetadataTime(persistedTime), getTabletServer().getContext(),
-          getTabletServer().getLock());
+      return MetadataTableUtil.updateTabletDataFile(tid,
+          getTabletServer().getBulkMetadataMutator(), extent, paths,
+          tabletTime.getMetadataTime(persistedTime), getTabletServer().getLock());
     }
 
   }
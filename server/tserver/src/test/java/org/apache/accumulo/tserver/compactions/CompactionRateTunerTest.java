@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.compactions;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+
+public class CompactionRateTunerTest {
+
+  private static final double DELTA = 0.000001;
+
+  @Test
+  public void testPercentile() {
+    assertEquals(0, CompactionRateTuner.percentile99(new long[0]));
+    assertEquals(7, CompactionRateTuner.percentile99(new long[] {7}));
+    assertEquals(98, CompactionRateTuner.percentile99(LongStream.range(0, 100).toArray()));
+    assertEquals(989, CompactionRateTuner.percentile99(LongStream.range(0, 1000).toArray()));
+  }
+
+  @Test
+  public void testAdjust() {
+    // idle tablet server speeds up compactions
+    assertEquals(1.1, CompactionRateTuner.adjust(1.0, 10, 100, 0, 0, .25, 4), DELTA);
+    assertEquals(4, CompactionRateTuner.adjust(3.95, 10, 100, 0, 0, .25, 4), DELTA);
+
+    // queued scans or latency close to the target leaves the rate alone
+    assertEquals(1.0, CompactionRateTuner.adjust(1.0, 10, 100, 3, 0, .25, 4), DELTA);
+    assertEquals(1.0, CompactionRateTuner.adjust(1.0, 80, 100, 0, 0, .25, 4), DELTA);
+
+    // slow scans or held writes slow down compactions
+    assertEquals(.5, CompactionRateTuner.adjust(1.0, 200, 100, 0, 0, .25, 4), DELTA);
+    assertEquals(.5, CompactionRateTuner.adjust(1.0, 0, 100, 0, 5000, .25, 4), DELTA);
+    assertEquals(.25, CompactionRateTuner.adjust(.3, 200, 100, 0, 0, .25, 4), DELTA);
+  }
+}
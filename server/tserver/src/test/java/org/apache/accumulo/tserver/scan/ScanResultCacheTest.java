@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.scan;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.accumulo.core.conf.ConfigurationCopy;
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.Column;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.dataImpl.thrift.TKeyValue;
+import org.apache.accumulo.core.iterators.user.VersioningIterator;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.accumulo.tserver.tablet.KVEntry;
+import org.junit.Test;
+
+public class ScanResultCacheTest {
+
+  private static final KeyExtent EXTENT = new KeyExtent(TableId.of("1"), null, null);
+
+  private static ScanParameters newParams(Authorizations auths, int batchSize) {
+    return new ScanParameters(batchSize, auths, Set.of(), List.of(), Map.of(), false, null, 0,
+        null);
+  }
+
+  private static List<TKeyValue> newResults(String... rows) {
+    KVEntry[] entries = new KVEntry[rows.length];
+    for (int i = 0; i < rows.length; i++) {
+      entries[i] = new KVEntry(new Key(rows[i], "f", "q"), new Value("v" + i));
+    }
+    return Key.compress(List.of(entries));
+  }
+
+  @Test
+  public void testVersioning() {
+    ScanResultCache cache = new ScanResultCache(1 << 20);
+    var key = new ScanResultCache.CacheKey(EXTENT, new Range("a", "c"),
+        newParams(Authorizations.EMPTY, 100));
+
+    assertNull(cache.get(key, 5, 1));
+
+    List<TKeyValue> results = newResults("a", "b");
+    cache.put(key, 5, 1, results);
+    assertEquals(results, cache.get(key, 5, 1));
+
+    // tablet data changed, so the entry should be dropped
+    assertNull(cache.get(key, 6, 1));
+    assertEquals(0, cache.size());
+    assertNull(cache.get(key, 5, 1));
+  }
+
+  @Test
+  public void testConfigVersioning() {
+    ScanResultCache cache = new ScanResultCache(1 << 20);
+    var key = new ScanResultCache.CacheKey(EXTENT, new Range("a", "c"),
+        newParams(Authorizations.EMPTY, 100));
+
+    ConfigurationCopy tableConf = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    long configVersion = tableConf.getUpdateCount();
+
+    List<TKeyValue> results = newResults("a", "b");
+    cache.put(key, 5, configVersion, results);
+    assertEquals(results, cache.get(key, 5, configVersion));
+
+    // adding a scan iterator to the table changes the results of the scan even though the tablet
+    // data did not change, so the entry should be dropped
+    tableConf.set(Property.TABLE_ITERATOR_PREFIX.getKey() + "scan.vers",
+        "20," + VersioningIterator.class.getName());
+    assertNotEquals(configVersion, tableConf.getUpdateCount());
+    assertNull(cache.get(key, 5, tableConf.getUpdateCount()));
+    assertEquals(0, cache.size());
+    assertNull(cache.get(key, 5, configVersion));
+  }
+
+  @Test
+  public void testKeys() {
+    Range range = new Range("a", "c");
+    var key1 = new ScanResultCache.CacheKey(EXTENT, range, newParams(Authorizations.EMPTY, 100));
+    var key2 = new ScanResultCache.CacheKey(EXTENT, new Range("a", "c"),
+        newParams(Authorizations.EMPTY, 100));
+    assertEquals(key1, key2);
+    assertEquals(key1.hashCode(), key2.hashCode());
+
+    assertNotEquals(key1, new ScanResultCache.CacheKey(EXTENT, range,
+        newParams(new Authorizations("A"), 100)));
+    assertNotEquals(key1,
+        new ScanResultCache.CacheKey(EXTENT, range, newParams(Authorizations.EMPTY, 10)));
+    assertNotEquals(key1, new ScanResultCache.CacheKey(EXTENT, new Range("a", "d"),
+        newParams(Authorizations.EMPTY, 100)));
+    assertNotEquals(key1, new ScanResultCache.CacheKey(new KeyExtent(TableId.of("2"), null, null),
+        range, newParams(Authorizations.EMPTY, 100)));
+
+    Set<Column> columns = Set.of(new Column("f".getBytes(UTF_8), null, null));
+    var params = new ScanParameters(100, Authorizations.EMPTY, columns, List.of(), Map.of(), false,
+        null, 0, null);
+    assertNotEquals(key1, new ScanResultCache.CacheKey(EXTENT, range, params));
+  }
+
+  @Test
+  public void testLargeResultsNotCached() {
+    ScanResultCache cache = new ScanResultCache(1000);
+    var key = new ScanResultCache.CacheKey(EXTENT, new Range(), newParams(Authorizations.EMPTY,
+        100));
+    cache.put(key, 1, 1, newResults("a", "b", "c", "d"));
+    assertNull(cache.get(key, 1, 1));
+  }
+}
@@ -86,10 +86,13 @@ class ActiveCompactionHelper {
 
     String host = ac.getHost().getAddress() + ":" + ac.getHost().getPort() + hostSuffix;
 
+    long remaining = ac.getEstimatedTimeRemaining();
+    String eta = remaining < 0 ? "-" : Duration.format(remaining, "", "-");
+
     try {
       return String.format(
-          "%21s | %9s | %5s | %6s | %5s | %5s | %15s | %-40s | %5s | %35s | %9s | %s", host,
-          Duration.format(ac.getAge(), "", "-"), ac.getType(), ac.getReason(),
+          "%21s | %9s | %9s | %5s | %6s | %5s | %5s | %15s | %-40s | %5s | %35s | %9s | %s",
+          host, Duration.format(ac.getAge(), "", "-"), eta, ac.getType(), ac.getReason(),
           shortenCount(ac.getEntriesRead()), shortenCount(ac.getEntriesWritten()), ac.getTable(),
           ac.getTablet(), ac.getInputFiles().size(), output, iterList, iterOpts);
     } catch (TableNotFoundException e) {
@@ -99,9 +102,10 @@ class ActiveCompactionHelper {
 
   public static Stream<String> appendHeader(Stream<String> stream) {
     Stream<String> header = Stream.of(String.format(
-        " %-21s| %-9s | %-5s | %-6s | %-5s | %-5s | %-15s | %-40s | %-5s | %-35s | %-9s | %s",
-        "SERVER", "AGE", "TYPE", "REASON", "READ", "WROTE", "TABLE", "TABLET", "INPUT", "OUTPUT",
-        "ITERATORS", "ITERATOR OPTIONS"));
+        " %-21s| %-9s | %-9s | %-5s | %-6s | %-5s | %-5s | %-15s | %-40s | %-5s | %-35s | %-9s"
+            + " | %s",
+        "SERVER", "AGE", "ETA", "TYPE", "REASON", "READ", "WROTE", "TABLE", "TABLET", "INPUT",
+        "OUTPUT", "ITERATORS", "ITERATOR OPTIONS"));
     return Stream.concat(header, stream);
   }
 